@@ -1,17 +1,31 @@
 package org.idea.fithub.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.idea.fithub.FithubApplication;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.security.auth.authorization.RoleAuthorizationManager;
+import org.idea.fithub.security.auth.ratelimit.AuthRateLimitFilter;
+import org.idea.fithub.security.auth.utils.BoundedPasswordEncoder;
 import org.idea.fithub.user.domain.UserService;
 import org.idea.fithub.security.auth.jwt.JwtAuthorizationFilter;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
-import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -35,17 +49,45 @@ public class SecurityConfig {
 
     private final JwtAuthorizationFilter jwtFilter;
     private final UserService userDetailsService;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${fithub.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${fithub.password.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${fithub.password.hashing-queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${fithub.password.hashing-timeout:5000}")
+    private long hashingTimeout;
+
+    @Value("${fithub.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${fithub.rate-limit.routes:signin:20/60:5/60,signup:10/60:3/60,google:20/60:-,forgot-password:5/60:3/900}")
+    private String rateLimitRoutes;
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(userDetailsService);
         authenticationProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashea en el login cuando el hash guardado usa un coste menor al configurado
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
         return authenticationProvider;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength),
+                threads,
+                hashingQueueCapacity,
+                hashingTimeout,
+                meterRegistry());
     }
 
     @Bean
@@ -55,6 +97,11 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // No se registra como bean para que Spring Boot no lo añada también como filtro de servlet
+        if (rateLimitEnabled)
+            http.addFilterBefore(new AuthRateLimitFilter(rateLimitRoutes, objectMapper, meterRegistry()),
+                    UsernamePasswordAuthenticationFilter.class);
+
         return http
                 .cors(cors->cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
@@ -71,19 +118,20 @@ public class SecurityConfig {
                 .build();
     }
 
-    @Bean
-    static RoleHierarchy roleHierarchy() {
-        RoleHierarchyImpl roleHierarchy = new RoleHierarchyImpl();
-        roleHierarchy.setHierarchy("ADMIN > TRAINER \\n ADMIN > LEARNER");//Jerarquia de Roles
-
-        return roleHierarchy;
+    private MeterRegistry meterRegistry() {
+        return meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
     }
 
+    // @RequireRoles se resuelve con máscaras de bits compiladas al arrancar, sin SpEL ni RoleHierarchy
     @Bean
-    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(RoleHierarchy roleHierarchy) {
-        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
-        expressionHandler.setRoleHierarchy(roleHierarchy);
-        return expressionHandler;
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requireRolesAuthorizationAdvisor() {
+        Pointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(null, RequireRoles.class, true))
+                .union(new AnnotationMatchingPointcut(RequireRoles.class, true));
+        var interceptor = new AuthorizationManagerBeforeMethodInterceptor(pointcut,
+                RoleAuthorizationManager.scan(FithubApplication.class.getPackageName()));
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
     }
 
     @Bean
@@ -0,0 +1,11 @@
+package org.idea.fithub.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS, reason = "Too Many Requests")
+public class TooManyRequestsException extends FitHubException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
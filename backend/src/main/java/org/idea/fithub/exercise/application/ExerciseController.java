@@ -6,14 +6,18 @@ import org.idea.fithub.exercise.domain.ExerciseService;
 import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.exercise.dto.ExerciseRequestDto;
 import org.idea.fithub.exercise.dto.ExerciseResponseDto;
+import org.idea.fithub.exercise.dto.ExerciseSearchResponseDto;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.user.domain.Role;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.Set;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/exercises")
@@ -22,7 +26,7 @@ public class ExerciseController {
     private final ModelMapper modelMapper;
 
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN', 'LEARNER','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER, Role.TRAINER})
     public ResponseEntity<Page<ExerciseResponseDto>> getAllExercises(
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size) {
@@ -30,15 +34,25 @@ public class ExerciseController {
                 exerciseService.getAllExercises(PageRequest.of(page, size)));
     }
 
+    @GetMapping("/search")
+    @RequireRoles({Role.ADMIN, Role.LEARNER, Role.TRAINER})
+    public ResponseEntity<ExerciseSearchResponseDto> searchExercises(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Set<Muscle> muscle,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        return ResponseEntity.ok(
+                exerciseService.searchExercises(q, muscle, limit));
+    }
+
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'LEARNER','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER, Role.TRAINER})
     public ResponseEntity<ExerciseResponseDto> getExercise(@PathVariable Long id) {
         return ResponseEntity.ok(
                 exerciseService.getExercise(id));
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRoles(Role.ADMIN)
     public ResponseEntity<ExerciseResponseDto> createExercise(@Valid @RequestBody
                                                    ExerciseRequestDto exerciseRequestDto) {
         var exercise = exerciseService.createExercise(exerciseRequestDto);
@@ -54,7 +68,7 @@ public class ExerciseController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRoles(Role.ADMIN)
     public ResponseEntity<ExerciseResponseDto> updateExercise(@PathVariable Long id,
                                                               @Valid @RequestBody
                                                               ExerciseRequestDto exerciseRequestDto) {
@@ -63,7 +77,7 @@ public class ExerciseController {
     }
 
     @PatchMapping("/{id}/muscle")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRoles(Role.ADMIN)
     public ResponseEntity<ExerciseResponseDto> updateExercise(@PathVariable Long id,
                                                               @RequestParam Muscle muscle) {
         return ResponseEntity.ok(
@@ -71,7 +85,7 @@ public class ExerciseController {
     }
 
     @PatchMapping("/{id}/asset")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRoles(Role.ADMIN)
     public ResponseEntity<ExerciseResponseDto> updateExercise(@PathVariable Long id,
                                                               @RequestParam String asset) {
         return ResponseEntity.ok(
@@ -79,7 +93,7 @@ public class ExerciseController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRoles(Role.ADMIN)
     public ResponseEntity<Void> deleteExercise(@PathVariable Long id) {
         exerciseService.deleteExercise(id);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,7 @@
+package org.idea.fithub.exercise.domain;
+
+/**
+ * Copia inmutable de un ejercicio dentro de una instantánea del catálogo.
+ */
+public record CatalogExercise(Long id, String name, String asset, String description, Muscle muscle) {
+}
@@ -0,0 +1,169 @@
+package org.idea.fithub.exercise.domain;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.idea.fithub.exercise.infrastructure.ExerciseRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catálogo de ejercicios en memoria. Las lecturas usan una instantánea
+ * inmutable indexada por id y por nombre, sin ir a la BD. Cada alta, cambio
+ * o baja sube la versión al confirmar su transacción y reconstruye ahí la
+ * instantánea, antes de responder al cliente que hizo el cambio. Una lectura
+ * que ve una versión más nueva que la publicada espera a la reconstrucción
+ * en vez de servir la anterior. La versión es local a cada nodo. La búsqueda
+ * por texto usa el índice de la misma instantánea.
+ */
+@Component
+@Slf4j
+public class ExerciseCatalog {
+    private final ExerciseRepository exerciseRepository;
+    private final Timer rebuildTimer;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // null hasta la primera construcción
+    private volatile Snapshot snapshot;
+
+    public ExerciseCatalog(ExerciseRepository exerciseRepository, MeterRegistry meterRegistry) {
+        this.exerciseRepository = exerciseRepository;
+        this.rebuildTimer = Timer.builder("exercise.catalog.rebuild")
+                .description("Time to load and index the exercise catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("exercise.catalog.size", this, ExerciseCatalog::size)
+                .description("Exercises in the current catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    public Page<CatalogExercise> findAll(Pageable pageable) {
+        var exercises = current().exercises();
+        if (pageable.isUnpaged())
+            return new PageImpl<>(exercises, pageable, exercises.size());
+
+        int from = (int) Math.min(pageable.getOffset(), exercises.size());
+        int to = Math.min(from + pageable.getPageSize(), exercises.size());
+        return new PageImpl<>(exercises.subList(from, to), pageable, exercises.size());
+    }
+
+    public Optional<CatalogExercise> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(current().byId().get(id));
+    }
+
+    public Optional<CatalogExercise> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(current().byName().get(name));
+    }
+
+    // El índice de búsqueda se reconstruye con la instantánea y caduca con ella
+    public ExerciseSearchIndex.Result search(String query, Set<Muscle> muscles, int limit) {
+        return current().searchIndex().search(query, muscles, limit);
+    }
+
+    // La instantánea solo caduca si la transacción que cambió ejercicios confirma
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(version.incrementAndGet());
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(version.incrementAndGet());
+            }
+        });
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            current();
+        } catch (RuntimeException e) {
+            log.error("No se pudo construir el catálogo de ejercicios: {}", e.getMessage());
+        }
+    }
+
+    int size() {
+        var current = snapshot;
+        return current == null ? 0 : current.exercises().size();
+    }
+
+    // El cambio ya está confirmado: si falla, la siguiente lectura lo reintenta
+    private void refresh(long changed) {
+        if (snapshot == null)
+            return;
+
+        try {
+            rebuild(changed);
+        } catch (RuntimeException e) {
+            log.error("No se pudo reconstruir el catálogo de ejercicios: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        var current = snapshot;
+        long latest = version.get();
+        if (current != null && current.version() >= latest)
+            return current;
+        return rebuild(latest);
+    }
+
+    // Varios cambios seguidos se resuelven con una sola reconstrucción
+    private Snapshot rebuild(long atLeast) {
+        rebuildLock.lock();
+        try {
+            var current = snapshot;
+            if (current != null && current.version() >= atLeast)
+                return current;
+
+            // La versión se lee antes que la BD: un cambio posterior vuelve a caducarla
+            long wanted = version.get();
+            var next = rebuildTimer.record(() -> load(wanted));
+            snapshot = next;
+            log.debug("Catálogo de ejercicios v{}: {} ejercicios", wanted, next.exercises().size());
+            return next;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot load(long wanted) {
+        var exercises = exerciseRepository.findAllSummaries().stream()
+                .map(row -> new CatalogExercise(
+                        row.getId(), row.getName(), row.getAsset(), row.getDescription(), row.getMuscle()))
+                .toList();
+
+        Map<Long, CatalogExercise> byId = new LinkedHashMap<>();
+        Map<String, CatalogExercise> byName = new LinkedHashMap<>();
+        for (var exercise : exercises) {
+            byId.put(exercise.id(), exercise);
+            // Con nombres repetidos gana el más antiguo
+            byName.putIfAbsent(exercise.name(), exercise);
+        }
+        return new Snapshot(wanted, exercises, Map.copyOf(byId), Map.copyOf(byName),
+                ExerciseSearchIndex.build(exercises));
+    }
+
+    private record Snapshot(long version, List<CatalogExercise> exercises,
+                            Map<Long, CatalogExercise> byId, Map<String, CatalogExercise> byName,
+                            ExerciseSearchIndex searchIndex) {
+    }
+}
@@ -0,0 +1,410 @@
+package org.idea.fithub.exercise.domain;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido e inmutable sobre nombre y descripción de los ejercicios
+ * de una instantánea del catálogo.
+ * - Los términos están ordenados: un prefijo es un rango por búsqueda binaria.
+ * - Las erratas (una edición) se resuelven con borrados precalculados, sin
+ *   recorrer el diccionario.
+ * - Todas las palabras de la consulta deben coincidir; el nombre pesa más
+ *   que la descripción y exacto > prefijo > errata.
+ * - Las facetas cuentan por músculo ignorando el filtro de músculos.
+ */
+public final class ExerciseSearchIndex {
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Muscle[] MUSCLES = Muscle.values();
+
+    private static final float EXACT = 10f;
+    private static final float PREFIX = 6f;
+    private static final float FUZZY = 4f;
+    private static final float DESCRIPTION = 0.3f;
+    // Por debajo de esta longitud una errata coincide con demasiados términos
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final List<CatalogExercise> exercises;
+    private final byte[] muscles;
+    private final int[] byName;
+    private final int[] nameRank;
+    private final int[] muscleTotals;
+    private final String[] terms;
+    private final int[][] namePostings;
+    private final int[][] descriptionPostings;
+    private final Map<String, int[]> deletions;
+    // Buffers por documento reutilizados entre búsquedas: uno por búsqueda concurrente
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    private ExerciseSearchIndex(List<CatalogExercise> exercises, byte[] muscles, int[] byName, int[] nameRank,
+                                int[] muscleTotals, String[] terms, int[][] namePostings,
+                                int[][] descriptionPostings, Map<String, int[]> deletions) {
+        this.exercises = exercises;
+        this.muscles = muscles;
+        this.byName = byName;
+        this.nameRank = nameRank;
+        this.muscleTotals = muscleTotals;
+        this.terms = terms;
+        this.namePostings = namePostings;
+        this.descriptionPostings = descriptionPostings;
+        this.deletions = deletions;
+    }
+
+    public static ExerciseSearchIndex build(List<CatalogExercise> exercises) {
+        int size = exercises.size();
+        var muscles = new byte[size];
+        var muscleTotals = new int[MUSCLES.length];
+        Map<String, Postings> postings = new HashMap<>();
+        var normalizedNames = new String[size];
+
+        for (int doc = 0; doc < size; doc++) {
+            var exercise = exercises.get(doc);
+            muscles[doc] = (byte) (exercise.muscle() == null ? -1 : exercise.muscle().ordinal());
+            if (exercise.muscle() != null)
+                muscleTotals[exercise.muscle().ordinal()]++;
+
+            normalizedNames[doc] = normalize(exercise.name());
+            for (var token : tokenize(normalizedNames[doc]))
+                postings.computeIfAbsent(token, key -> new Postings()).name.add(doc);
+            for (var token : tokenize(normalize(exercise.description())))
+                postings.computeIfAbsent(token, key -> new Postings()).description.add(doc);
+        }
+
+        var terms = postings.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        var namePostings = new int[terms.length][];
+        var descriptionPostings = new int[terms.length][];
+        Map<String, IntList> deletionLists = new HashMap<>();
+        for (int term = 0; term < terms.length; term++) {
+            var termPostings = postings.get(terms[term]);
+            namePostings[term] = termPostings.name.toArray();
+            descriptionPostings[term] = termPostings.description.toArray();
+            if (terms[term].length() >= MIN_FUZZY_LENGTH - 1)
+                for (var deletion : deletionsOf(terms[term]))
+                    deletionLists.computeIfAbsent(deletion, key -> new IntList()).add(term);
+        }
+        Map<String, int[]> deletions = new HashMap<>(deletionLists.size() * 2);
+        deletionLists.forEach((deletion, termIds) -> deletions.put(deletion, termIds.toArray()));
+
+        var byName = new int[size];
+        var order = new Integer[size];
+        for (int doc = 0; doc < size; doc++)
+            order[doc] = doc;
+        Arrays.sort(order, Comparator.comparing((Integer doc) -> normalizedNames[doc]).thenComparing(doc -> doc));
+        var nameRank = new int[size];
+        for (int rank = 0; rank < size; rank++) {
+            byName[rank] = order[rank];
+            nameRank[order[rank]] = rank;
+        }
+
+        return new ExerciseSearchIndex(List.copyOf(exercises), muscles, byName, nameRank, muscleTotals,
+                terms, namePostings, descriptionPostings, deletions);
+    }
+
+    /**
+     * @param muscles músculos a mostrar; vacío equivale a todos
+     */
+    public Result search(String query, Set<Muscle> muscles, int limit) {
+        var tokens = tokenize(normalize(query));
+        var wanted = new boolean[MUSCLES.length];
+        for (var muscle : muscles.isEmpty() ? Set.of(MUSCLES) : muscles)
+            wanted[muscle.ordinal()] = true;
+
+        return tokens.isEmpty() ? browse(wanted, limit) : match(tokens, wanted, limit);
+    }
+
+    // Sin texto: orden alfabético y facetas precalculadas
+    private Result browse(boolean[] wanted, int limit) {
+        List<CatalogExercise> hits = new ArrayList<>(limit);
+        for (int rank = 0; rank < byName.length && hits.size() < limit; rank++) {
+            int doc = byName[rank];
+            if (muscles[doc] >= 0 && wanted[muscles[doc]])
+                hits.add(exercises.get(doc));
+        }
+
+        int total = 0;
+        for (int muscle = 0; muscle < MUSCLES.length; muscle++)
+            if (wanted[muscle])
+                total += muscleTotals[muscle];
+        return new Result(hits, total, facets(muscleTotals));
+    }
+
+    private Result match(List<String> tokens, boolean[] wanted, int limit) {
+        var scratch = scratchPool.poll();
+        if (scratch == null)
+            scratch = new Scratch(exercises.size());
+        try {
+            return match(tokens, wanted, limit, scratch);
+        } finally {
+            scratch.reset();
+            scratchPool.offer(scratch);
+        }
+    }
+
+    private Result match(List<String> tokens, boolean[] wanted, int limit, Scratch scratch) {
+        var score = scratch.score;
+        var matched = scratch.matched;
+        var best = scratch.best;
+        var touched = scratch.touched;
+        int last = tokens.size() - 1;
+
+        for (int i = 0; i < last; i++) {
+            collect(tokens.get(i), best, touched);
+            if (i == 0)
+                scratch.candidates.addAll(touched);
+
+            // Solo siguen los documentos que casaron con todas las palabras anteriores
+            for (int t = 0; t < touched.size; t++) {
+                int doc = touched.values[t];
+                if (matched[doc] == i) {
+                    score[doc] += best[doc];
+                    matched[doc] = i + 1;
+                }
+                best[doc] = 0;
+            }
+        }
+
+        // La última palabra puntúa, cuenta facetas y ordena en la misma pasada
+        collect(tokens.get(last), best, touched);
+        var facetCounts = new int[MUSCLES.length];
+        var top = new TopK(limit, score, nameRank);
+        int total = 0;
+        for (int t = 0; t < touched.size; t++) {
+            int doc = touched.values[t];
+            if (matched[doc] != last || muscles[doc] < 0)
+                continue;
+
+            score[doc] += best[doc];
+            facetCounts[muscles[doc]]++;
+            if (wanted[muscles[doc]]) {
+                total++;
+                top.offer(doc);
+            }
+        }
+
+        List<CatalogExercise> hits = new ArrayList<>(top.size);
+        for (int i = 0; i < top.size; i++)
+            hits.add(exercises.get(top.docs[i]));
+        return new Result(hits, total, facets(facetCounts));
+    }
+
+    // Mejor puntuación de cada documento para una palabra de la consulta
+    private void collect(String token, float[] best, IntList touched) {
+        touched.clear();
+        for (var expansion : expand(token)) {
+            apply(namePostings[expansion.term()], expansion.weight(), best, touched);
+            apply(descriptionPostings[expansion.term()], expansion.weight() * DESCRIPTION, best, touched);
+        }
+    }
+
+    private static void apply(int[] postings, float weight, float[] best, IntList touched) {
+        for (int doc : postings) {
+            if (best[doc] == 0)
+                touched.add(doc);
+            if (weight > best[doc])
+                best[doc] = weight;
+        }
+    }
+
+    private List<Expansion> expand(String token) {
+        List<Expansion> expansions = new ArrayList<>();
+        int exact = Arrays.binarySearch(terms, token);
+        if (exact >= 0)
+            expansions.add(new Expansion(exact, EXACT));
+
+        // Completa palabras a medio escribir; cuanto más corta la completión, más puntúa
+        int from = exact >= 0 ? exact + 1 : -exact - 1;
+        for (int term = from; term < terms.length && terms[term].startsWith(token); term++)
+            expansions.add(new Expansion(term, PREFIX * token.length() / terms[term].length()));
+
+        if (exact < 0 && token.length() >= MIN_FUZZY_LENGTH)
+            for (int term : fuzzyTerms(token))
+                expansions.add(new Expansion(term, FUZZY));
+        return expansions;
+    }
+
+    // Términos a una edición (inserción, borrado, sustitución o trasposición)
+    private Set<Integer> fuzzyTerms(String token) {
+        Set<Integer> candidates = new LinkedHashSet<>();
+        addAll(candidates, deletions.get(token));
+        for (var deletion : deletionsOf(token)) {
+            int term = Arrays.binarySearch(terms, deletion);
+            if (term >= 0)
+                candidates.add(term);
+            addAll(candidates, deletions.get(deletion));
+        }
+        candidates.removeIf(term -> terms[term].startsWith(token) || !withinOneEdit(token, terms[term]));
+        return candidates;
+    }
+
+    private static void addAll(Set<Integer> target, int[] terms) {
+        if (terms != null)
+            for (int term : terms)
+                target.add(term);
+    }
+
+    private static Set<String> deletionsOf(String term) {
+        Set<String> deletions = new LinkedHashSet<>();
+        for (int i = 0; i < term.length(); i++)
+            deletions.add(term.substring(0, i) + term.substring(i + 1));
+        return deletions;
+    }
+
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1)
+            return false;
+
+        int start = 0;
+        while (start < a.length() && start < b.length() && a.charAt(start) == b.charAt(start))
+            start++;
+        if (start == a.length() || start == b.length())
+            return true;
+
+        if (a.length() != b.length()) {
+            var longer = a.length() > b.length() ? a : b;
+            var shorter = longer == a ? b : a;
+            return longer.regionMatches(start + 1, shorter, start, shorter.length() - start);
+        }
+        // Sustitución o trasposición de dos letras contiguas
+        return a.regionMatches(start + 1, b, start + 1, a.length() - start - 1)
+                || (start + 1 < a.length() && a.charAt(start) == b.charAt(start + 1)
+                && a.charAt(start + 1) == b.charAt(start)
+                && a.regionMatches(start + 2, b, start + 2, a.length() - start - 2));
+    }
+
+    static String normalize(String text) {
+        if (text == null || text.isEmpty())
+            return "";
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> tokenize(String normalized) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (var token : SEPARATORS.split(normalized))
+            if (!token.isEmpty())
+                tokens.add(token);
+        return List.copyOf(tokens);
+    }
+
+    private static Map<Muscle, Integer> facets(int[] counts) {
+        Map<Muscle, Integer> facets = new EnumMap<>(Muscle.class);
+        for (var muscle : MUSCLES)
+            facets.put(muscle, counts[muscle.ordinal()]);
+        return facets;
+    }
+
+    /**
+     * @param total coincidencias tras el filtro de músculos
+     * @param facets coincidencias por músculo sin el filtro
+     */
+    public record Result(List<CatalogExercise> hits, int total, Map<Muscle, Integer> facets) {
+    }
+
+    private record Expansion(int term, float weight) {
+    }
+
+    private static final class Postings {
+        private final IntList name = new IntList();
+        private final IntList description = new IntList();
+    }
+
+    // Los documentos llegan en orden, así que basta mirar el último para no repetir
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value)
+                return;
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            for (int i = 0; i < other.size; i++)
+                add(other.values[i]);
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // Solo se limpian los documentos tocados, no los arrays enteros
+    private static final class Scratch {
+        private final float[] score;
+        private final int[] matched;
+        private final float[] best;
+        private final IntList touched = new IntList();
+        private final IntList candidates = new IntList();
+
+        Scratch(int size) {
+            score = new float[size];
+            matched = new int[size];
+            best = new float[size];
+        }
+
+        // Las puntuaciones solo se escriben en documentos de la primera o la última palabra
+        void reset() {
+            for (int i = 0; i < candidates.size; i++) {
+                score[candidates.values[i]] = 0;
+                matched[candidates.values[i]] = 0;
+            }
+            for (int i = 0; i < touched.size; i++) {
+                score[touched.values[i]] = 0;
+                best[touched.values[i]] = 0;
+            }
+            candidates.clear();
+            touched.clear();
+        }
+    }
+
+    // Los k mejores por puntuación y, a igualdad, por nombre
+    private static final class TopK {
+        private final int[] docs;
+        private final float[] score;
+        private final int[] nameRank;
+        private int size;
+
+        TopK(int k, float[] score, int[] nameRank) {
+            this.docs = new int[k];
+            this.score = score;
+            this.nameRank = nameRank;
+        }
+
+        void offer(int doc) {
+            if (size == docs.length && !better(doc, docs[size - 1]))
+                return;
+
+            int position = size == docs.length ? size - 1 : size++;
+            while (position > 0 && better(doc, docs[position - 1])) {
+                docs[position] = docs[position - 1];
+                position--;
+            }
+            docs[position] = doc;
+        }
+
+        private boolean better(int a, int b) {
+            return score[a] > score[b] || (score[a] == score[b] && nameRank[a] < nameRank[b]);
+        }
+    }
+}
@@ -8,28 +8,53 @@ import org.idea.fithub.exceptions.ResourceNotFoundException;
 import org.idea.fithub.exceptions.BadRequestException;
 import org.idea.fithub.exercise.dto.ExerciseRequestDto;
 import org.idea.fithub.exercise.dto.ExerciseResponseDto;
+import org.idea.fithub.exercise.dto.ExerciseSearchResponseDto;
 import org.idea.fithub.exercise.infrastructure.ExerciseRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class ExerciseService {
+    public static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_QUERY_LENGTH = 100;
+
     private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
     private final ModelMapper modelMapper;
 
+    // Las lecturas salen de la instantánea del catálogo, sin BD ni ModelMapper
     public Page<ExerciseResponseDto> getAllExercises(PageRequest pageRequest) {
-        return exerciseRepository.findAll(pageRequest)
-                .map(exercise -> modelMapper.map(exercise, ExerciseResponseDto.class));
+        return exerciseCatalog.findAll(pageRequest)
+                .map(ExerciseService::toResponseDto);
     }
 
     public ExerciseResponseDto getExercise(Long id) {
-        var exercise = exerciseRepository.findById(id).
-                orElseThrow(() -> new ResourceNotFoundException("Exercise not found with id: " + id));
+        return exerciseCatalog.findById(id)
+                .map(ExerciseService::toResponseDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Exercise not found with id: " + id));
+    }
+
+    // Texto vacío lista por nombre; músculos vacíos equivale a todos
+    public ExerciseSearchResponseDto searchExercises(String query, Set<Muscle> muscles, Integer limit) {
+        if (limit == null || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BadRequestException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT + ".");
+        }
+        if (query != null && query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must not exceed " + MAX_QUERY_LENGTH + " characters.");
+        }
 
-        return modelMapper.map(exercise, ExerciseResponseDto.class);
+        var filter = muscles == null || muscles.isEmpty() ? EnumSet.noneOf(Muscle.class) : EnumSet.copyOf(muscles);
+        var result = exerciseCatalog.search(query, filter, limit);
+        return new ExerciseSearchResponseDto(query,
+                result.total(),
+                result.hits().stream().map(ExerciseService::toResponseDto).toList(),
+                result.facets());
     }
 
     @Transactional
@@ -41,6 +66,7 @@ public class ExerciseService {
                 });
 
         var exercise = modelMapper.map(exerciseRequestDto, Exercise.class);
+        exerciseCatalog.invalidate();
 
         return exerciseRepository.save(exercise);
     }
@@ -57,6 +83,7 @@ public class ExerciseService {
         }
 
         exerciseRepository.delete(exercise);
+        exerciseCatalog.invalidate();
     }
 
     @Transactional
@@ -68,8 +95,12 @@ public class ExerciseService {
         Exercise exercise = exerciseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Exercise not found with id: " + id));
 
-        exercise.setMuscle(muscle);
+        if (exercise.getMuscle() != muscle) {
+            exercise.setMuscle(muscle);
+            refreshRoutineVolumes(exercise);
+        }
         Exercise savedExercise = exerciseRepository.save(exercise);
+        exerciseCatalog.invalidate();
 
         return modelMapper.map(savedExercise, ExerciseResponseDto.class);
     }
@@ -85,6 +116,7 @@ public class ExerciseService {
 
         exercise.setAsset(asset);
         Exercise savedExercise = exerciseRepository.save(exercise);
+        exerciseCatalog.invalidate();
 
         return modelMapper.map(savedExercise, ExerciseResponseDto.class);
     }
@@ -101,9 +133,28 @@ public class ExerciseService {
             });
         }
 
+        var previousMuscle = exercise.getMuscle();
         modelMapper.map(exerciseRequestDto, exercise);
+        if (exercise.getMuscle() != previousMuscle)
+            refreshRoutineVolumes(exercise);
         Exercise savedExercise = exerciseRepository.save(exercise);
+        exerciseCatalog.invalidate();
 
         return modelMapper.map(savedExercise, ExerciseResponseDto.class);
     }
+
+    private static ExerciseResponseDto toResponseDto(CatalogExercise exercise) {
+        var dto = new ExerciseResponseDto();
+        dto.setId(exercise.id());
+        dto.setName(exercise.name());
+        dto.setAsset(exercise.asset());
+        dto.setDescription(exercise.description());
+        dto.setMuscle(exercise.muscle());
+        return dto;
+    }
+
+    // El volumen por músculo de las rutinas que lo usan queda desfasado
+    private static void refreshRoutineVolumes(Exercise exercise) {
+        exercise.getRoutines().forEach(routineExercise -> routineExercise.getRoutine().refreshVolumes());
+    }
 }
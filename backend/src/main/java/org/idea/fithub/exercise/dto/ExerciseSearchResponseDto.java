@@ -0,0 +1,19 @@
+package org.idea.fithub.exercise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.idea.fithub.exercise.domain.Muscle;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ExerciseSearchResponseDto {
+    private String query;
+    // Coincidencias con el filtro de músculos aplicado
+    private Integer total;
+    private List<ExerciseResponseDto> results;
+    // Coincidencias por músculo sin el filtro, para pintar las facetas
+    private Map<Muscle, Integer> facets;
+}
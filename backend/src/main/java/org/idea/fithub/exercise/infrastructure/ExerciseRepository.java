@@ -3,8 +3,10 @@ package org.idea.fithub.exercise.infrastructure;
 import org.idea.fithub.exercise.domain.Exercise;
 import org.idea.fithub.exercise.domain.Muscle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +18,8 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
     boolean existsByAsset(String asset);
 
     boolean existsByName(String name);
+
+    @Query("select e.id as id, e.name as name, e.asset as asset, e.description as description, " +
+            "e.muscle as muscle from Exercise e order by e.id")
+    List<ExerciseSummary> findAllSummaries();
 }
@@ -0,0 +1,15 @@
+package org.idea.fithub.exercise.infrastructure;
+
+import org.idea.fithub.exercise.domain.Muscle;
+
+public interface ExerciseSummary {
+    Long getId();
+
+    String getName();
+
+    String getAsset();
+
+    String getDescription();
+
+    Muscle getMuscle();
+}
@@ -2,6 +2,8 @@ package org.idea.fithub.global;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.idea.fithub.exceptions.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -81,6 +83,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, HttpServletRequest request) {
+        var status = HttpStatus.CONFLICT;
+        var error = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                "Conflict",
+                "The resource conflicts with an existing one",
+                sanitizeMessage(request.getRequestURI())
+        );
+        return ResponseEntity.status(status).body(error);
+    }
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadRequestException(
             BadRequestException ex, HttpServletRequest request) {
@@ -95,6 +111,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(
+            TooManyRequestsException ex, HttpServletRequest request) {
+        var status = HttpStatus.TOO_MANY_REQUESTS;
+        var error = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                "Too Many Requests",
+                sanitizeMessage(ex.getMessage()),
+                sanitizeMessage(request.getRequestURI())
+        );
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponse> handleTypeMismatch(
             MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
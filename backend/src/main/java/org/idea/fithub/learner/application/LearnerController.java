@@ -6,11 +6,12 @@ import org.idea.fithub.learner.domain.LearnerService;
 import org.idea.fithub.learner.dto.LearnerRequestDto;
 import org.idea.fithub.learner.dto.LearnerResponseDto;
 import org.idea.fithub.learner.dto.LearnerStatsDto;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.user.domain.Role;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -22,7 +23,7 @@ public class LearnerController {
     private final ModelMapper modelMapper;
 
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
     public ResponseEntity<Page<LearnerResponseDto>> getAllLearners(
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size) {
@@ -31,14 +32,14 @@ public class LearnerController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
     public ResponseEntity<LearnerResponseDto> getLearner(@PathVariable Long id) {
         return ResponseEntity.ok(
                 learnerService.getLearner(id));
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<LearnerResponseDto> createLearner(@Valid @RequestBody
                                                  LearnerRequestDto learnerRequestDto) {
         var learner = learnerService.createLearner(learnerRequestDto);
@@ -54,7 +55,7 @@ public class LearnerController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
     public ResponseEntity<Void> deleteLearner(@PathVariable Long id) {
         learnerService.deleteLearner(id);
 
@@ -62,7 +63,7 @@ public class LearnerController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
     public ResponseEntity<LearnerResponseDto> updateLearner(@PathVariable Long id,
                                                             @Valid @RequestBody
                                                             LearnerRequestDto learnerRequestDto) {
@@ -71,7 +72,7 @@ public class LearnerController {
     }
 
     @PatchMapping("/{id}/stats")
-    @PreAuthorize("hasAnyRole('ADMIN','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
     public ResponseEntity<LearnerResponseDto> updateLearnerStats(@PathVariable Long id,
                                                                  @Valid @RequestBody
                                                                  LearnerStatsDto learnerStatsDto) {
@@ -38,8 +38,13 @@ public class Learner extends User {
     public String calculateDuration(List<LocalDate> checkDates) {
         if (checkDates == null || checkDates.isEmpty()) return "Without registers";
 
-        var period = Period.between(
-                checkDates.getFirst(), checkDates.getLast().plusDays(1));
+        return calculateDuration(checkDates.getFirst(), checkDates.getLast());
+    }
+
+    public String calculateDuration(LocalDate firstDate, LocalDate lastDate) {
+        if (firstDate == null || lastDate == null) return "Without registers";
+
+        var period = Period.between(firstDate, lastDate.plusDays(1));
 
         return String.format("%d months and %d days", period.getMonths(), period.getDays());
     }
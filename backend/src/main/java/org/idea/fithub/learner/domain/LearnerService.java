@@ -12,12 +12,16 @@ import org.idea.fithub.learner.dto.LearnerStatsDto;
 import org.idea.fithub.learner.infrastructure.LearnerRepository;
 import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckRepository;
 import org.idea.fithub.trainer.domain.GoalType;
+import org.idea.fithub.user.domain.UserAvailabilityIndex;
+import org.idea.fithub.user.domain.UserService;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 public class LearnerService {
@@ -25,6 +29,8 @@ public class LearnerService {
     private final TrainingCheckRepository trainingCheckRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserAvailabilityIndex availabilityIndex;
+    private final UserService userService;
 
     public Page<LearnerResponseDto> getAllLearners(PageRequest pageRequest) {
         return learnerRepository.findAll(pageRequest)
@@ -42,12 +48,15 @@ public class LearnerService {
 
     @Transactional
     public Learner createLearner(LearnerRequestDto learnerRequestDto) {
-        if (learnerRepository.existsByEmail(learnerRequestDto.getEmail()))
+        if (!availabilityIndex.isEmailFree(learnerRequestDto.getEmail())
+                && learnerRepository.existsByEmail(learnerRequestDto.getEmail()))
             throw new DuplicateResourceException("Email already in use: " + learnerRequestDto.getEmail());
 
         var learner = modelMapper.map(learnerRequestDto, Learner.class);
         learner.setPassword(passwordEncoder.encode(learnerRequestDto.getPassword()));
-        return learnerRepository.save(learner);
+        var savedLearner = learnerRepository.save(learner);
+        availabilityIndex.record(savedLearner);
+        return savedLearner;
     }
 
     @Transactional
@@ -75,13 +84,22 @@ public class LearnerService {
 
         String newEmail = learnerRequestDto.getEmail();
         if (newEmail != null && !newEmail.equals(learner.getEmail())) {
-            if (learnerRepository.existsByEmail(newEmail)) {
+            if (!availabilityIndex.isEmailFree(newEmail) && learnerRepository.existsByEmail(newEmail)) {
                 throw new DuplicateResourceException("Email already in use: " + newEmail);
             }
         }
 
+        var previousEmail = learner.getEmail();
+        var previousPassword = learner.getPassword();
+        var previousRole = learner.getRole();
         modelMapper.map(learnerRequestDto, learner);
+        // Solo los cambios de credenciales o rol cierran las sesiones abiertas
+        if (!Objects.equals(previousEmail, learner.getEmail())
+                || !Objects.equals(previousPassword, learner.getPassword())
+                || previousRole != learner.getRole())
+            userService.bumpSecurityVersion(learner);
         Learner savedLearner = learnerRepository.save(learner);
+        availabilityIndex.record(savedLearner);
 
         return modelMapper.map(savedLearner, LearnerResponseDto.class);
     }
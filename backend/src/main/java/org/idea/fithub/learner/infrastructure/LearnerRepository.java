@@ -3,8 +3,12 @@ package org.idea.fithub.learner.infrastructure;
 import org.idea.fithub.learner.domain.Learner;
 import org.idea.fithub.program.domain.Program;
 import org.idea.fithub.user.infrastructure.BaseUserRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,10 @@ public interface LearnerRepository extends BaseUserRepository<Learner> {
     boolean existsByEmail(String email);
 
     Optional<Learner> findById(Long id);
+
+    @Query("select l.id from Learner l where l.id > :afterId order by l.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select l.id from Learner l where l.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
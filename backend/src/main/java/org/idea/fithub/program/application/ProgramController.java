@@ -5,10 +5,12 @@ import lombok.RequiredArgsConstructor;
 import org.idea.fithub.program.domain.ProgramService;
 import org.idea.fithub.program.dto.ProgramRequestDto;
 import org.idea.fithub.program.dto.ProgramResponseDto;
+import org.idea.fithub.program.dto.ProgramVolumeDto;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.user.domain.Role;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -19,7 +21,7 @@ public class ProgramController {
     private final ProgramService programService;
 
     @PostMapping
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<ProgramResponseDto> createProgram(@Valid @RequestBody
                                                             ProgramRequestDto programRequestDto) {
         var program = programService.createProgram(programRequestDto);
@@ -33,7 +35,7 @@ public class ProgramController {
     }
 
     @PatchMapping("/{id}/assign/{routineId}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<ProgramResponseDto> assignRoutineToProgram(@PathVariable Long id,
                                                                      @PathVariable Long routineId) {
         return ResponseEntity.ok(
@@ -41,7 +43,7 @@ public class ProgramController {
     }
 
     @GetMapping("/{learnerId}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
     public ResponseEntity<Page<ProgramResponseDto>> getProgramsByLearner(
             @PathVariable Long learnerId,
             @RequestParam(defaultValue = "0") Integer page,
@@ -50,8 +52,15 @@ public class ProgramController {
                 programService.getProgramsByLearner(learnerId, PageRequest.of(page, size)));
     }
 
+    @GetMapping("/{id}/volume")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
+    public ResponseEntity<ProgramVolumeDto> getProgramVolume(@PathVariable Long id) {
+        return ResponseEntity.ok(
+                programService.getProgramVolume(id));
+    }
+
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<Void> deleteProgram(@PathVariable Long id) {
         programService.deleteProgram(id);
 
@@ -59,7 +68,7 @@ public class ProgramController {
     }
 
     @PatchMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<ProgramResponseDto> updateProgram(@RequestBody @Valid ProgramRequestDto programRequestDto,@PathVariable Long id) {
         var program = programService.updateProgram(id,programRequestDto);
         return ResponseEntity.ok(program);
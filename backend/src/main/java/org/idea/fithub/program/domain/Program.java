@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.idea.fithub.learner.domain.Learner;
 import org.idea.fithub.routine.domain.Routine;
 import org.idea.fithub.trainer.domain.Trainer;
@@ -27,11 +28,11 @@ public class Program {
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "learner_id", nullable = false)
     private Learner learner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trainer_id")
     private Trainer trainer;
 
@@ -49,5 +50,6 @@ public class Program {
             name = "program_routine",
             joinColumns = @JoinColumn(name = "program_id"),
             inverseJoinColumns = @JoinColumn(name = "routine_id"))
+    @BatchSize(size = 50)
     private List<Routine> programRoutines;
 }
\ No newline at end of file
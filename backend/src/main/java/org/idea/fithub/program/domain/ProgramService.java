@@ -3,10 +3,16 @@ package org.idea.fithub.program.domain;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.idea.fithub.exceptions.*;
+import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.learner.infrastructure.LearnerRepository;
 import org.idea.fithub.program.dto.ProgramRequestDto;
 import org.idea.fithub.program.dto.ProgramResponseDto;
+import org.idea.fithub.program.dto.ProgramVolumeDto;
+import org.idea.fithub.program.dto.ProgramVolumeDto.DayVolume;
+import org.idea.fithub.program.infrastructure.DayMuscleVolume;
 import org.idea.fithub.program.infrastructure.ProgramRepository;
+import org.idea.fithub.routine.domain.Day;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
 import org.idea.fithub.routine.infrastructure.RoutineRepository;
 import org.idea.fithub.trainer.infrastructure.TrainerRepository;
 import org.modelmapper.ModelMapper;
@@ -15,6 +21,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -73,6 +84,7 @@ public class ProgramService {
                 programRepository.save(program), ProgramResponseDto.class);
     }
 
+    @Transactional
     public ProgramResponseDto assignRoutineToProgram(Long id, Long routineId) {
         var program = programRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Program not found with id: " + id));
@@ -93,6 +105,7 @@ public class ProgramService {
                 programRepository.save(program), ProgramResponseDto.class);
     }
 
+    @Transactional
     public Page<ProgramResponseDto> getProgramsByLearner(Long learnerId, PageRequest pageRequest) {
         var learner = learnerRepository.findById(learnerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Learner not found with id: " + learnerId));
@@ -102,6 +115,33 @@ public class ProgramService {
                         .map(programResponseDto, ProgramResponseDto.class));
     }
 
+    /**
+     * Volumen semanal por músculo y su reparto por día, sumando el resumen
+     * que cada rutina guarda al cambiar sus ejercicios.
+     */
+    @Transactional
+    public ProgramVolumeDto getProgramVolume(Long id) {
+        if (!programRepository.existsById(id))
+            throw new ResourceNotFoundException("Program not found with id: " + id);
+
+        Map<Day, List<MuscleVolumeDto>> daily = new EnumMap<>(Day.class);
+        Map<Muscle, MuscleVolumeDto> weekly = new EnumMap<>(Muscle.class);
+        programRepository.sumVolumesByDay(id).stream()
+                .sorted(Comparator.comparing(DayMuscleVolume::getDay).thenComparing(DayMuscleVolume::getMuscle))
+                .forEach(row -> {
+                    var volume = new MuscleVolumeDto(row.getMuscle(), row.getSets(),
+                            row.getRepetitions(), row.getTonnage());
+                    daily.computeIfAbsent(row.getDay(), day -> new ArrayList<>()).add(volume);
+                    weekly.merge(row.getMuscle(), volume, MuscleVolumeDto::plus);
+                });
+
+        return new ProgramVolumeDto(id,
+                List.copyOf(weekly.values()),
+                daily.entrySet().stream()
+                        .map(day -> new DayVolume(day.getKey(), day.getValue()))
+                        .toList());
+    }
+
     @Transactional
     public void deleteProgram(Long id) {
         var program = programRepository.findById(id)
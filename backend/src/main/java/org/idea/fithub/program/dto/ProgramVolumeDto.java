@@ -0,0 +1,19 @@
+package org.idea.fithub.program.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.idea.fithub.routine.domain.Day;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProgramVolumeDto {
+    private Long programId;
+    private List<MuscleVolumeDto> weekly;
+    private List<DayVolume> daily;
+
+    public record DayVolume(Day day, List<MuscleVolumeDto> muscles) {
+    }
+}
@@ -0,0 +1,16 @@
+package org.idea.fithub.program.infrastructure;
+
+import org.idea.fithub.exercise.domain.Muscle;
+import org.idea.fithub.routine.domain.Day;
+
+public interface DayMuscleVolume {
+    Day getDay();
+
+    Muscle getMuscle();
+
+    Long getSets();
+
+    Long getRepetitions();
+
+    Double getTonnage();
+}
@@ -4,14 +4,32 @@ import org.idea.fithub.learner.domain.Learner;
 import org.idea.fithub.program.domain.Program;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProgramRepository extends JpaRepository<Program, Long> {
+    // learner y trainer van en el mismo JOIN; las rutinas se cargan por lotes (@BatchSize)
+    @EntityGraph(attributePaths = {"learner", "trainer"})
     Page<Program> findByLearner(Learner learner, Pageable pageable);
 
     Optional<Program> findByName(String name);
+
+    @Query("SELECT COUNT(DISTINCT p.learner.id) FROM Program p WHERE p.trainer.id = :trainerId " +
+            "AND (p.startDate IS NULL OR p.startDate <= :date) AND (p.endDate IS NULL OR p.endDate >= :date)")
+    long countActiveLearners(@Param("trainerId") Long trainerId, @Param("date") LocalDate date);
+
+    // Suma los resúmenes guardados de cada rutina; no lee routine_exercises ni exercises
+    @Query("SELECT r.day AS day, v.muscle AS muscle, SUM(v.sets) AS sets, " +
+            "SUM(v.repetitions) AS repetitions, SUM(v.tonnage) AS tonnage " +
+            "FROM Program p JOIN p.programRoutines r JOIN r.volumes v " +
+            "WHERE p.id = :programId GROUP BY r.day, v.muscle")
+    List<DayMuscleVolume> sumVolumesByDay(@Param("programId") Long programId);
 }
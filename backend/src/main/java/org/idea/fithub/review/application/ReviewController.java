@@ -6,11 +6,12 @@ import org.idea.fithub.review.domain.ReviewService;
 import org.idea.fithub.review.dto.ReviewRequestDto;
 import org.idea.fithub.review.dto.ReviewResponseDto;
 import org.idea.fithub.review.dto.TrainerReviewResponseDto;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.user.domain.Role;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -22,7 +23,7 @@ public class ReviewController {
     private final ModelMapper modelMapper;
 
     @GetMapping("/{trainerId}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<Page<TrainerReviewResponseDto>> getReviewsByTrainer(
             @PathVariable Long trainerId,
             @RequestParam(defaultValue = "0") Integer page,
@@ -32,7 +33,7 @@ public class ReviewController {
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyRole('ADMIN','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
     public ResponseEntity<ReviewResponseDto> createReview(@Valid @RequestBody
                                                ReviewRequestDto reviewRequestDto) {
         var review = reviewService.createReview(reviewRequestDto);
@@ -48,7 +49,7 @@ public class ReviewController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
     public ResponseEntity<Void> deleteReview(@PathVariable Long id) {
         reviewService.deleteReview(id);
 
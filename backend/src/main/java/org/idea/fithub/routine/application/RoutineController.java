@@ -2,20 +2,25 @@ package org.idea.fithub.routine.application;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.idea.fithub.exceptions.BadRequestException;
 import org.idea.fithub.routine.domain.RoutineService;
 import org.idea.fithub.routine.dto.RoutineExerciseDto;
+import org.idea.fithub.routine.dto.RoutineExercisesDiffDto;
+import org.idea.fithub.routine.dto.RoutineExercisesPatchDto;
+import org.idea.fithub.routine.dto.RoutineExercisesRequestDto;
 import org.idea.fithub.routine.dto.RoutineRequestDto;
 import org.idea.fithub.routine.dto.RoutineResponseDto;
+import org.idea.fithub.routine.dto.RoutineVolumeDto;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.user.domain.Role;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/routines")
 @RequiredArgsConstructor
@@ -24,7 +29,7 @@ public class RoutineController {
     private final ModelMapper modelMapper;
 
     @PostMapping
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<RoutineResponseDto> createRoutine(@Valid @RequestBody
                                                  RoutineRequestDto routineRequestDto) {
         var routine = routineService.createRoutine(routineRequestDto);
@@ -40,14 +45,21 @@ public class RoutineController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<RoutineResponseDto> getRoutine(@PathVariable Long id) {
         return ResponseEntity.ok(
                 routineService.getRoutine(id));
     }
 
+    @GetMapping("/{id}/volume")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
+    public ResponseEntity<RoutineVolumeDto> getRoutineVolume(@PathVariable Long id) {
+        return ResponseEntity.ok(
+                routineService.getRoutineVolume(id));
+    }
+
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<Page<RoutineResponseDto>> getAllRoutines(@RequestParam(defaultValue = "0") Integer page,
                                                                    @RequestParam(defaultValue = "10") Integer size) {
         return ResponseEntity.ok(
@@ -55,7 +67,7 @@ public class RoutineController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<RoutineResponseDto> updateRoutine(@PathVariable Long id,
                                                             @Valid @RequestBody
                                                             RoutineRequestDto routineRequestDto) {
@@ -64,7 +76,7 @@ public class RoutineController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<Void> deleteRoutine(@PathVariable Long id) {
         routineService.deleteRoutine(id);
 
@@ -72,10 +84,11 @@ public class RoutineController {
     }
 
     @PostMapping("/{id}/exercise")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<RoutineResponseDto> addExercise(@PathVariable Long id,
+                                               @RequestParam(required = false) Long programId,
                                                @RequestBody RoutineExerciseDto routineExerciseDto) {
-        var routineExercise = routineService.addExercise(id, routineExerciseDto);
+        var routineExercise = routineService.addExercise(id, programId, routineExerciseDto);
         var location = ServletUriComponentsBuilder
                 .fromCurrentRequestUri()
                 .path("/api/routines/{id}")
@@ -88,20 +101,55 @@ public class RoutineController {
     }
 
     @DeleteMapping("/{routineId}/exercise/{exerciseId}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
     public ResponseEntity<Void> deleteExercise(@PathVariable Long routineId,
-                                               @PathVariable Long exerciseId) {
-        routineService.deleteExercise(routineId, exerciseId);
+                                               @PathVariable Long exerciseId,
+                                               @RequestParam(required = false) Long programId) {
+        routineService.deleteExercise(routineId, exerciseId, programId);
 
         return ResponseEntity.noContent().build();
     }
 
+    // Edición en bloque: un único round trip para reconstruir la rutina.
+    // Con programId, una rutina compartida se copia antes de editarla
+    @PutMapping("/{id}/exercises")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
+    public ResponseEntity<RoutineExercisesDiffDto> replaceExercises(@PathVariable Long id,
+                                                                    @RequestParam(required = false) Long programId,
+                                                                    @Valid @RequestBody
+                                                                    RoutineExercisesRequestDto request) {
+        return ResponseEntity.ok(
+                routineService.replaceExercises(id, programId, request.getExercises()));
+    }
+
+    @PatchMapping("/{id}/exercises")
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
+    public ResponseEntity<RoutineExercisesDiffDto> patchExercises(@PathVariable Long id,
+                                                                  @RequestParam(required = false) Long programId,
+                                                                  @Valid @RequestBody
+                                                                  RoutineExercisesPatchDto patch) {
+        return ResponseEntity.ok(
+                routineService.patchExercises(id, programId, patch.getUpsert(), patch.getRemove()));
+    }
+
     @GetMapping("/{id}/exercise")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
-    public ResponseEntity<List<RoutineExerciseDto>> getRoutineExercises(@PathVariable Long id,
+    @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
+    public ResponseEntity<Page<RoutineExerciseDto>> getRoutineExercises(@PathVariable Long id,
                                                                         @RequestParam(defaultValue = "0") Integer page,
-                                                                        @RequestParam(defaultValue = "10") Integer size) {
+                                                                        @RequestParam(defaultValue = "10") Integer size,
+                                                                        @RequestParam(required = false) String sort,
+                                                                        @RequestParam(defaultValue = "asc") String direction) {
+        // Sin "sort" se ordena por nombre del ejercicio
+        var pageRequest = sort == null
+                ? PageRequest.of(page, size)
+                : PageRequest.of(page, size, Sort.by(parseDirection(direction), sort));
+
         return ResponseEntity.ok(
-                routineService.getRoutineExercises(id, PageRequest.of(page, size)));
+                routineService.getRoutineExercises(id, pageRequest));
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Sort direction must be 'asc' or 'desc'"));
     }
 }
\ No newline at end of file
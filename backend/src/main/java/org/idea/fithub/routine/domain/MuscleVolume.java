@@ -0,0 +1,65 @@
+package org.idea.fithub.routine.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.idea.fithub.exercise.domain.Muscle;
+import org.idea.fithub.routineExercise.domain.RoutineExercise;
+
+import java.util.Objects;
+
+/**
+ * Volumen de una rutina para un músculo: series, repeticiones totales
+ * (series × repeticiones) y tonelaje (series × repeticiones × peso).
+ */
+@Embeddable
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MuscleVolume {
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Muscle muscle;
+
+    @Column(nullable = false)
+    private Integer sets;
+
+    @Column(nullable = false)
+    private Integer repetitions;
+
+    @Column(nullable = false)
+    private Double tonnage;
+
+    public static MuscleVolume of(RoutineExercise routineExercise) {
+        int repetitions = routineExercise.getSets() * routineExercise.getRepetition();
+        // Sin peso (peso corporal) no suma tonelaje
+        double tonnage = routineExercise.getWeight() == null ? 0 : repetitions * routineExercise.getWeight();
+        return new MuscleVolume(routineExercise.getExercise().getMuscle(), routineExercise.getSets(), repetitions, tonnage);
+    }
+
+    public MuscleVolume plus(MuscleVolume other) {
+        return new MuscleVolume(muscle, sets + other.sets, repetitions + other.repetitions, tonnage + other.tonnage);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+
+        MuscleVolume that = (MuscleVolume) obj;
+
+        return muscle == that.muscle &&
+                Objects.equals(sets, that.sets) &&
+                Objects.equals(repetitions, that.repetitions) &&
+                Objects.equals(tonnage, that.tonnage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(muscle, sets, repetitions, tonnage);
+    }
+}
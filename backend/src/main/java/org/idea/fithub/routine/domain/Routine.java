@@ -7,12 +7,24 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.idea.fithub.exercise.domain.Exercise;
+import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.program.domain.Program;
 import org.idea.fithub.routineExercise.domain.RoutineExercise;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 @Entity
@@ -21,8 +33,15 @@ import java.util.Objects;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
-@Table(name = "routines")
+@Table(name = "routines",
+        indexes = @Index(name = "idx_routines_content_hash", columnList = "content_hash"))
+@NamedEntityGraph(name = Routine.WITH_EXERCISES,
+        attributeNodes = @NamedAttributeNode(value = "exercises", subgraph = "exercise"),
+        subgraphs = @NamedSubgraph(name = "exercise", attributeNodes = @NamedAttributeNode("exercise")))
 public class Routine {
+    // Detalle: la rutina con sus ejercicios en una sola consulta
+    public static final String WITH_EXERCISES = "Routine.withExercises";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
@@ -33,15 +52,31 @@ public class Routine {
     @Column(nullable = false, length = 100)
     private String name;
 
+    // SHA-256 del contenido canónico: rutinas idénticas se guardan una vez
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Rutina compartida de la que se copió al editarla desde un programa
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "forked_from_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Routine forkedFrom;
+
     @ManyToMany(mappedBy = "programRoutines")
     private List<Program> programs;
 
     @OneToMany(mappedBy = "routine",
             cascade = CascadeType.ALL,
-            orphanRemoval = true,
-            fetch = FetchType.EAGER)
+            orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<RoutineExercise> exercises = new ArrayList<>();
 
+    // Resumen por músculo que se recalcula con cada cambio de ejercicios
+    @ElementCollection
+    @CollectionTable(name = "routine_volumes", joinColumns = @JoinColumn(name = "routine_id"))
+    @BatchSize(size = 50)
+    private List<MuscleVolume> volumes = new ArrayList<>();
+
     public void addExercise(Exercise exercise, Integer sets, Integer repetition, Double weight) {
         var routineExercise = new RoutineExercise(this, exercise, sets, repetition, weight);
         exercises.add(routineExercise);
@@ -61,4 +96,74 @@ public class Routine {
                 break;
             }
     }
+
+    /** Copia sin ejercicios; necesita id antes de {@link #copyExercisesFrom}. */
+    public Routine fork() {
+        var fork = new Routine();
+        fork.setName(name);
+        fork.setDay(day);
+        fork.setForkedFrom(forkedFrom != null ? forkedFrom : this);
+        fork.setPrograms(new ArrayList<>());
+        return fork;
+    }
+
+    public void copyExercisesFrom(Routine source) {
+        for (var routineExercise : source.getExercises())
+            exercises.add(new RoutineExercise(this, routineExercise.getExercise(), routineExercise.getSets(),
+                    routineExercise.getRepetition(), routineExercise.getWeight()));
+    }
+
+    @PrePersist
+    void refreshDerivedData() {
+        refreshVolumes();
+        refreshContentHash();
+    }
+
+    public void refreshVolumes() {
+        Map<Muscle, MuscleVolume> totals = new EnumMap<>(Muscle.class);
+        for (var routineExercise : exercises)
+            if (routineExercise.getExercise().getMuscle() != null)
+                totals.merge(routineExercise.getExercise().getMuscle(), MuscleVolume.of(routineExercise),
+                        MuscleVolume::plus);
+
+        // Solo se reescribe la colección si el resumen cambió
+        var current = new ArrayList<>(totals.values());
+        if (!current.equals(volumes)) {
+            volumes.clear();
+            volumes.addAll(current);
+        }
+    }
+
+    public void refreshContentHash() {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalContent().getBytes(StandardCharsets.UTF_8));
+            contentHash = HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // El hash solo preselecciona: se compara el contenido para descartar colisiones
+    public boolean hasSameContentAs(Routine other) {
+        return canonicalContent().equals(other.canonicalContent());
+    }
+
+    // Día, nombre y (ejercicio, series, repeticiones, peso) ordenados por ejercicio
+    private String canonicalContent() {
+        var content = new StringBuilder()
+                .append(day).append('\n')
+                .append(name).append('\n');
+
+        exercises.stream()
+                .sorted(Comparator.comparing(routineExercise -> routineExercise.getRoutineExerciseId().getExerciseId()))
+                .forEach(routineExercise -> content
+                        .append(routineExercise.getRoutineExerciseId().getExerciseId()).append(',')
+                        .append(routineExercise.getSets()).append(',')
+                        .append(routineExercise.getRepetition()).append(',')
+                        .append(routineExercise.getWeight() == null ? ""
+                                : BigDecimal.valueOf(routineExercise.getWeight()).stripTrailingZeros().toPlainString())
+                        .append('\n'));
+        return content.toString();
+    }
 }
@@ -3,45 +3,91 @@ package org.idea.fithub.routine.domain;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.idea.fithub.exercise.domain.Exercise;
+import org.idea.fithub.exercise.domain.ExerciseCatalog;
 import org.idea.fithub.exercise.infrastructure.ExerciseRepository;
+import org.idea.fithub.program.domain.Program;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
 import org.idea.fithub.routine.dto.RoutineExerciseDto;
+import org.idea.fithub.routine.dto.RoutineExerciseItemDto;
+import org.idea.fithub.routine.dto.RoutineExercisesDiffDto;
 import org.idea.fithub.exceptions.BadRequestException;
 import org.idea.fithub.exceptions.DuplicateResourceException;
 import org.idea.fithub.exceptions.InvalidOperationException;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
 import org.idea.fithub.routine.dto.RoutineRequestDto;
 import org.idea.fithub.routine.dto.RoutineResponseDto;
+import org.idea.fithub.routine.dto.RoutineVolumeDto;
 import org.idea.fithub.routine.infrastructure.RoutineRepository;
+import org.idea.fithub.routineExercise.domain.RoutineExercise;
+import org.idea.fithub.routineExercise.infrastructure.RoutineExerciseRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class RoutineService {
+    private static final Map<String, String> EXERCISE_SORT_FIELDS = Map.of(
+            "name", "exercise.name",
+            "muscle", "exercise.muscle",
+            "sets", "sets",
+            "repetition", "repetition",
+            "weight", "weight");
+
     private final RoutineRepository routineRepository;
+    private final RoutineExerciseRepository routineExerciseRepository;
     private final ExerciseRepository exerciseRepository;
+    private final ExerciseCatalog exerciseCatalog;
     private final ModelMapper modelMapper;
 
+    @Transactional
     public RoutineResponseDto getRoutine(Long id) {
-        var routine = routineRepository.findById(id)
+        var routine = routineRepository.findWithExercisesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + id));
 
         return modelMapper.map(routine, RoutineResponseDto.class);
     }
 
+    // Lee el resumen guardado; no carga los ejercicios de la rutina
+    @Transactional
+    public RoutineVolumeDto getRoutineVolume(Long id) {
+        var routine = routineRepository.findWithVolumesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + id));
+
+        return new RoutineVolumeDto(routine.getId(), routine.getDay(), routine.getVolumes().stream()
+                .sorted(Comparator.comparing(MuscleVolume::getMuscle))
+                .map(volume -> new MuscleVolumeDto(volume.getMuscle(), volume.getSets(),
+                        volume.getRepetitions(), volume.getTonnage()))
+                .toList());
+    }
+
+    // Los ejercicios de la página se cargan por lotes (@BatchSize), no uno por rutina
+    @Transactional
     public Page<RoutineResponseDto> getAllRoutines(PageRequest pageRequest) {
         return routineRepository.findAll(pageRequest)
                 .map(routine -> modelMapper.map(routine, RoutineResponseDto.class));
     }
 
+    /**
+     * Con {@code programId} la edición es la de ese programa: si la rutina
+     * está compartida con otros, se edita una copia privada (copy-on-write).
+     */
     @Transactional
-    public Routine addExercise(Long id, RoutineExerciseDto routineExerciseDto) {
-        var routine = routineRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + id));
+    public Routine addExercise(Long id, Long programId, RoutineExerciseDto routineExerciseDto) {
+        var routine = forEdit(routineRepository.findWithExercisesById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + id)), programId);
 
         if (routineExerciseDto.getSets() == null || routineExerciseDto.getSets() <= 0) {
             throw new BadRequestException("Sets must be greater than 0");
@@ -56,13 +102,17 @@ public class RoutineService {
         }
 
         var exerciseName = routineExerciseDto.getExerciseRequestDto().getName();
-        var exercise = exerciseRepository.findByName(exerciseName);
+        // El catálogo resuelve el nombre sin consulta; si no lo conoce decide la BD
+        var exercise = exerciseCatalog.findByName(exerciseName)
+                .flatMap(entry -> exerciseRepository.findById(entry.id()))
+                .or(() -> exerciseRepository.findByName(exerciseName));
 
         Exercise finalExercise;
 
         if (exercise.isEmpty()) {
             finalExercise = exerciseRepository.save(
                     modelMapper.map(routineExerciseDto.getExerciseRequestDto(), Exercise.class));
+            exerciseCatalog.invalidate();
         } else {
             finalExercise = exercise.get();
         }
@@ -80,13 +130,14 @@ public class RoutineService {
                 routineExerciseDto.getRepetition(),
                 routineExerciseDto.getWeight());
 
-        return routineRepository.save(routine);
+        routineRepository.save(routine);
+        return settle(routine, programId);
     }
 
     @Transactional
-    public void deleteExercise(Long routineId, Long exerciseId) {
-        var routine = routineRepository.findById(routineId)
-                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + routineId));
+    public Routine deleteExercise(Long routineId, Long exerciseId, Long programId) {
+        var routine = forEdit(routineRepository.findWithExercisesById(routineId)
+                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + routineId)), programId);
 
         var exercise = exerciseRepository.findById(exerciseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exercise not found with id: " + exerciseId));
@@ -101,23 +152,51 @@ public class RoutineService {
 
         routine.removeExercise(exercise);
         routineRepository.save(routine);
+        return settle(routine, programId);
     }
 
-    public List<RoutineExerciseDto> getRoutineExercises(Long id, PageRequest pageRequest) {
-        var routine = routineRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + id));
+    // PUT: la lista recibida es el estado final; lo que no viene se borra
+    @Transactional
+    public RoutineExercisesDiffDto replaceExercises(Long id, Long programId, List<RoutineExerciseItemDto> exercises) {
+        var routine = forEdit(routineRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + id)), programId);
+
+        var upserts = indexByExerciseId(exercises);
+        Set<Long> removals = new HashSet<>();
+        for (var routineExercise : routine.getExercises()) {
+            var exerciseId = routineExercise.getRoutineExerciseId().getExerciseId();
+            if (!upserts.containsKey(exerciseId))
+                removals.add(exerciseId);
+        }
 
-        var exercises = routine.getExercises();
-        int start = (int) pageRequest.getOffset();
-        int end = Math.min((start + pageRequest.getPageSize()), exercises.size());
+        return applyExerciseDiff(routine, programId, upserts, removals);
+    }
 
-        if (start > exercises.size()) {
-            return List.of();
+    // PATCH: solo se tocan los ejercicios nombrados; quitar uno que no está no es un error
+    @Transactional
+    public RoutineExercisesDiffDto patchExercises(Long id, Long programId,
+                                                  List<RoutineExerciseItemDto> upsert, List<Long> remove) {
+        var routine = forEdit(routineRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Routine not found with id: " + id)), programId);
+
+        var upserts = indexByExerciseId(upsert == null ? List.of() : upsert);
+        Set<Long> removals = remove == null ? Set.of() : new HashSet<>(remove);
+        for (var exerciseId : removals) {
+            if (upserts.containsKey(exerciseId))
+                throw new BadRequestException(
+                        "Exercise " + exerciseId + " cannot be upserted and removed in the same patch");
         }
 
-        return exercises.subList(start, end).stream()
-                .map(routineExercise -> modelMapper.map(routineExercise, RoutineExerciseDto.class))
-                .toList();
+        return applyExerciseDiff(routine, programId, upserts, removals);
+    }
+
+    @Transactional
+    public Page<RoutineExerciseDto> getRoutineExercises(Long id, PageRequest pageRequest) {
+        if (!routineRepository.existsById(id))
+            throw new ResourceNotFoundException("Routine not found with id: " + id);
+
+        return routineExerciseRepository.findByRoutineId(id, withExerciseSort(pageRequest))
+                .map(routineExercise -> modelMapper.map(routineExercise, RoutineExerciseDto.class));
     }
 
     @Transactional
@@ -164,6 +243,7 @@ public class RoutineService {
         }
 
         modelMapper.map(routineRequestDto, routine);
+        routine.refreshContentHash();
 
         return modelMapper.map(
                 routineRepository.save(routine), RoutineResponseDto.class);
@@ -180,6 +260,170 @@ public class RoutineService {
                             routine.getPrograms().size() + " program(s)");
         }
 
+        promoteFork(routine);
         routineRepository.delete(routine);
     }
+
+    /**
+     * Sin original, sus copias de programa quedarían todas como originales con
+     * el mismo nombre y día. Una copia (la más antigua que lo conserve) pasa a
+     * original y el resto pasan a colgar de ella.
+     */
+    private void promoteFork(Routine original) {
+        var forks = routineRepository.findByForkedFromIdOrderByIdAsc(original.getId());
+        if (forks.isEmpty())
+            return;
+
+        var promoted = forks.stream()
+                .filter(fork -> fork.getName().equals(original.getName()) && fork.getDay() == original.getDay())
+                .findFirst()
+                .orElse(forks.getFirst());
+        // Una copia renombrada no hereda el hueco del original y puede chocar con otra rutina
+        boolean takesOriginalName = promoted.getName().equals(original.getName())
+                && promoted.getDay() == original.getDay();
+        if (!takesOriginalName && routineRepository.existsByNameAndDay(promoted.getName(), promoted.getDay())) {
+            throw new InvalidOperationException(
+                    "Cannot delete routine. Its program copy would duplicate routine '" +
+                            promoted.getName() + "' for " + promoted.getDay());
+        }
+
+        promoted.setForkedFrom(null);
+        forks.stream()
+                .filter(fork -> fork != promoted)
+                .forEach(fork -> fork.setForkedFrom(promoted));
+    }
+
+    private Routine forEdit(Routine routine, Long programId) {
+        if (programId == null)
+            return routine;
+
+        var program = programOf(routine, programId);
+        if (routine.getPrograms().size() <= 1)
+            return routine;
+
+        // El resto de programas sigue viendo la rutina compartida sin cambios
+        var fork = routineRepository.save(routine.fork());
+        fork.copyExercisesFrom(routine);
+        repoint(program, routine, fork);
+        return fork;
+    }
+
+    /**
+     * Recalcula volumen y hash tras editar. Si una copia de programa queda idéntica
+     * a otra rutina, el programa pasa a compartir esa y la copia sobrante se
+     * borra, así cada contenido se guarda una sola vez.
+     */
+    private Routine settle(Routine routine, Long programId) {
+        routine.refreshVolumes();
+        routine.refreshContentHash();
+        if (programId == null || routine.getForkedFrom() == null)
+            return routine;
+
+        var program = programOf(routine, programId);
+        var twin = routineRepository.findByContentHash(routine.getContentHash()).stream()
+                .filter(candidate -> !candidate.getId().equals(routine.getId()))
+                .filter(candidate -> !program.getProgramRoutines().contains(candidate))
+                .filter(candidate -> candidate.hasSameContentAs(routine))
+                .findFirst();
+        if (twin.isEmpty())
+            return routine;
+
+        repoint(program, routine, twin.get());
+        if (routine.getPrograms().isEmpty())
+            routineRepository.delete(routine);
+        return twin.get();
+    }
+
+    private static Program programOf(Routine routine, Long programId) {
+        return routine.getPrograms().stream()
+                .filter(program -> program.getId().equals(programId))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Routine " + routine.getId() + " is not assigned to program " + programId));
+    }
+
+    private static void repoint(Program program, Routine from, Routine to) {
+        program.getProgramRoutines().replaceAll(routine -> routine.getId().equals(from.getId()) ? to : routine);
+        from.getPrograms().remove(program);
+        to.getPrograms().add(program);
+    }
+
+    /**
+     * Aplica el diff sobre la colección ya cargada, indexada por id de
+     * ejercicio. Hibernate envía los INSERT, UPDATE y DELETE resultantes en
+     * batches JDBC al confirmar. Solo se consultan los ejercicios nuevos.
+     */
+    private RoutineExercisesDiffDto applyExerciseDiff(Routine routine, Long programId,
+                                                      Map<Long, RoutineExerciseItemDto> upserts, Set<Long> removals) {
+        Map<Long, RoutineExercise> current = new HashMap<>();
+        for (var routineExercise : routine.getExercises())
+            current.put(routineExercise.getRoutineExerciseId().getExerciseId(), routineExercise);
+
+        Set<Long> newExerciseIds = new HashSet<>(upserts.keySet());
+        newExerciseIds.removeAll(current.keySet());
+        Map<Long, Exercise> newExercises = new HashMap<>();
+        if (!newExerciseIds.isEmpty()) {
+            for (var exercise : exerciseRepository.findAllById(newExerciseIds))
+                newExercises.put(exercise.getId(), exercise);
+        }
+        for (var exerciseId : newExerciseIds) {
+            if (!newExercises.containsKey(exerciseId))
+                throw new ResourceNotFoundException("Exercise not found with id: " + exerciseId);
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        for (var upsert : upserts.values()) {
+            var existing = current.get(upsert.getExerciseId());
+            if (existing == null) {
+                // Exercise.routines es el lado inverso: no se inicializa solo para mantenerlo
+                routine.getExercises().add(new RoutineExercise(routine, newExercises.get(upsert.getExerciseId()),
+                        upsert.getSets(), upsert.getRepetition(), upsert.getWeight()));
+                inserted++;
+            } else if (Objects.equals(existing.getSets(), upsert.getSets())
+                    && Objects.equals(existing.getRepetition(), upsert.getRepetition())
+                    && Objects.equals(existing.getWeight(), upsert.getWeight())) {
+                unchanged++;
+            } else {
+                existing.setSets(upsert.getSets());
+                existing.setRepetition(upsert.getRepetition());
+                existing.setWeight(upsert.getWeight());
+                updated++;
+            }
+        }
+
+        int before = routine.getExercises().size();
+        routine.getExercises().removeIf(routineExercise ->
+                removals.contains(routineExercise.getRoutineExerciseId().getExerciseId()));
+        int deleted = before - routine.getExercises().size();
+
+        var result = settle(routine, programId);
+        return new RoutineExercisesDiffDto(result.getId(), inserted, updated, deleted, unchanged);
+    }
+
+    private static Map<Long, RoutineExerciseItemDto> indexByExerciseId(List<RoutineExerciseItemDto> exercises) {
+        Map<Long, RoutineExerciseItemDto> indexed = new LinkedHashMap<>();
+        for (var exercise : exercises) {
+            if (indexed.put(exercise.getExerciseId(), exercise) != null)
+                throw new BadRequestException("Exercise " + exercise.getExerciseId() + " is listed more than once");
+        }
+        return indexed;
+    }
+
+    // Traduce los campos públicos de orden a la consulta; el id del ejercicio desempata entre páginas
+    private static PageRequest withExerciseSort(PageRequest pageRequest) {
+        if (pageRequest.getSort().isUnsorted())
+            return pageRequest.withSort(Sort.by("exercise.name", "exercise.id"));
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (var order : pageRequest.getSort()) {
+            var property = EXERCISE_SORT_FIELDS.get(order.getProperty());
+            if (property == null)
+                throw new BadRequestException("Cannot sort routine exercises by: " + order.getProperty());
+            orders.add(order.withProperty(property));
+        }
+        orders.add(Sort.Order.asc("exercise.id"));
+        return pageRequest.withSort(Sort.by(orders));
+    }
 }
\ No newline at end of file
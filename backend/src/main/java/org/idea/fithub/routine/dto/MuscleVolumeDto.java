@@ -0,0 +1,22 @@
+package org.idea.fithub.routine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.idea.fithub.exercise.domain.Muscle;
+
+@Data
+@AllArgsConstructor
+public class MuscleVolumeDto {
+    private Muscle muscle;
+    private Long sets;
+    private Long repetitions;
+    private Double tonnage;
+
+    public MuscleVolumeDto(Muscle muscle, Integer sets, Integer repetitions, Double tonnage) {
+        this(muscle, sets.longValue(), repetitions.longValue(), tonnage);
+    }
+
+    public MuscleVolumeDto plus(MuscleVolumeDto other) {
+        return new MuscleVolumeDto(muscle, sets + other.sets, repetitions + other.repetitions, tonnage + other.tonnage);
+    }
+}
@@ -0,0 +1,27 @@
+package org.idea.fithub.routine.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutineExerciseItemDto {
+    @NotNull
+    private Long exerciseId;
+
+    @NotNull
+    @Positive
+    private Integer sets;
+
+    @NotNull
+    @Positive
+    private Integer repetition;
+
+    @PositiveOrZero
+    private Double weight;
+}
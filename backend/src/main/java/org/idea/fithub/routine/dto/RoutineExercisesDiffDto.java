@@ -0,0 +1,14 @@
+package org.idea.fithub.routine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RoutineExercisesDiffDto {
+    private Long routineId;
+    private Integer inserted;
+    private Integer updated;
+    private Integer deleted;
+    private Integer unchanged;
+}
@@ -0,0 +1,22 @@
+package org.idea.fithub.routine.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutineExercisesPatchDto {
+    @Size(max = 200)
+    private List<@Valid @NotNull RoutineExerciseItemDto> upsert = new ArrayList<>();
+
+    @Size(max = 200)
+    private List<@NotNull Long> remove = new ArrayList<>();
+}
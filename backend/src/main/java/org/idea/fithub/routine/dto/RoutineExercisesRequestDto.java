@@ -0,0 +1,19 @@
+package org.idea.fithub.routine.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutineExercisesRequestDto {
+    @NotNull
+    @Size(max = 200)
+    private List<@Valid @NotNull RoutineExerciseItemDto> exercises;
+}
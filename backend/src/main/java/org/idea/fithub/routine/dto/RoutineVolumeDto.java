@@ -0,0 +1,15 @@
+package org.idea.fithub.routine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.idea.fithub.routine.domain.Day;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RoutineVolumeDto {
+    private Long routineId;
+    private Day day;
+    private List<MuscleVolumeDto> muscles;
+}
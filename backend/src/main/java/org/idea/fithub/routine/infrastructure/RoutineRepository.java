@@ -2,13 +2,31 @@ package org.idea.fithub.routine.infrastructure;
 
 import org.idea.fithub.routine.domain.Day;
 import org.idea.fithub.routine.domain.Routine;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoutineRepository extends JpaRepository<Routine, Long> {
-    boolean existsByNameAndDay(String name, Day day);
-    Optional<Routine> findByNameAndDay(String name, Day day);
+    // Nombre y día son únicos entre las rutinas originales; las copias de programa los repiten
+    @Query("SELECT COUNT(r) > 0 FROM Routine r WHERE r.name = :name AND r.day = :day AND r.forkedFrom IS NULL")
+    boolean existsByNameAndDay(@Param("name") String name, @Param("day") Day day);
+
+    @Query("SELECT r FROM Routine r WHERE r.name = :name AND r.day = :day AND r.forkedFrom IS NULL")
+    Optional<Routine> findByNameAndDay(@Param("name") String name, @Param("day") Day day);
+
+    List<Routine> findByContentHash(String contentHash);
+
+    List<Routine> findByForkedFromIdOrderByIdAsc(Long forkedFromId);
+
+    @EntityGraph(Routine.WITH_EXERCISES)
+    Optional<Routine> findWithExercisesById(Long id);
+
+    @EntityGraph(attributePaths = "volumes")
+    Optional<Routine> findWithVolumesById(Long id);
 }
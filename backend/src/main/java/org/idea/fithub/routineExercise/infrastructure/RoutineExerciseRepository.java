@@ -0,0 +1,18 @@
+package org.idea.fithub.routineExercise.infrastructure;
+
+import org.idea.fithub.routineExercise.domain.RoutineExercise;
+import org.idea.fithub.routineExercise.domain.RoutineExerciseId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoutineExerciseRepository extends JpaRepository<RoutineExercise, RoutineExerciseId> {
+    // La página y el orden los resuelve la BD; el recuento no necesita el JOIN
+    @Query(value = "SELECT re FROM RoutineExercise re JOIN FETCH re.exercise WHERE re.routine.id = :routineId",
+            countQuery = "SELECT COUNT(re) FROM RoutineExercise re WHERE re.routine.id = :routineId")
+    Page<RoutineExercise> findByRoutineId(@Param("routineId") Long routineId, Pageable pageable);
+}
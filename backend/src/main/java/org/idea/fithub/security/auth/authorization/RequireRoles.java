@@ -0,0 +1,21 @@
+package org.idea.fithub.security.auth.authorization;
+
+import org.idea.fithub.user.domain.Role;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Roles que pueden invocar el método (o todos los métodos de la clase).
+ * ADMIN siempre tiene acceso. Sustituye a {@code @PreAuthorize("hasAnyRole(...)")}
+ * sin evaluar SpEL en cada llamada.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequireRoles {
+    Role[] value();
+}
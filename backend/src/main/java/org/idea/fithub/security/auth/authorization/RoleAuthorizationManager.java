@@ -0,0 +1,111 @@
+package org.idea.fithub.security.auth.authorization;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.idea.fithub.security.auth.domain.CustomUserDetails;
+import org.idea.fithub.user.domain.Role;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Autoriza los métodos anotados con {@link RequireRoles}. Las máscaras
+ * requeridas se compilan al crear el gestor a partir de las clases anotadas,
+ * así una anotación mal resuelta falla al arrancar; cada comprobación es una
+ * búsqueda en el mapa y un AND de bits contra los roles del principal.
+ */
+public class RoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+    private final Map<Method, Integer> requiredMasks;
+
+    public RoleAuthorizationManager(Collection<Class<?>> annotatedClasses) {
+        Map<Method, Integer> masks = new HashMap<>();
+        for (var type : annotatedClasses)
+            compile(type, masks);
+        this.requiredMasks = Map.copyOf(masks);
+    }
+
+    /** Compila las máscaras de todas las clases del paquete que usan {@link RequireRoles}. */
+    public static RoleAuthorizationManager scan(String basePackage) {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> reader.getAnnotationMetadata().hasAnnotation(RequireRoles.class.getName())
+                || reader.getAnnotationMetadata().hasAnnotatedMethods(RequireRoles.class.getName()));
+
+        List<Class<?>> types = new ArrayList<>();
+        for (var candidate : scanner.findCandidateComponents(basePackage))
+            types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), RoleAuthorizationManager.class.getClassLoader()));
+        return new RoleAuthorizationManager(types);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Integer required = requiredMasks.get(invocation.getMethod());
+        if (required == null)
+            required = requiredMasks.get(specificMethod(invocation));
+        if (required == null)
+            throw new IllegalStateException("No @RequireRoles compiled for " + invocation.getMethod());
+
+        return new AuthorizationDecision((grantedMask(authentication.get()) & required) != 0);
+    }
+
+    // Sigue siendo abstracto en la interfaz; Spring Security ya solo llama a authorize
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return (AuthorizationDecision) authorize(authentication, invocation);
+    }
+
+    static int grantedMask(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken)
+            return 0;
+
+        int mask = authentication.getPrincipal() instanceof CustomUserDetails principal
+                ? principal.getRoleMask()
+                : RoleSet.fromAuthorities(authentication.getAuthorities());
+        return RoleSet.effective(mask);
+    }
+
+    // Métodos públicos (también heredados) y propios: los mismos que puede interceptar el proxy
+    private static void compile(Class<?> type, Map<Method, Integer> masks) {
+        var classAnnotation = AnnotatedElementUtils.findMergedAnnotation(type, RequireRoles.class);
+        List<Method> methods = new ArrayList<>(List.of(type.getMethods()));
+        methods.addAll(List.of(type.getDeclaredMethods()));
+
+        for (var method : methods) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class)
+                continue;
+
+            var annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequireRoles.class);
+            if (annotation == null)
+                annotation = classAnnotation;
+            if (annotation != null)
+                masks.put(method, mask(annotation));
+        }
+    }
+
+    // Sin roles declarados solo entra ADMIN
+    private static int mask(RequireRoles annotation) {
+        int mask = RoleSet.of(annotation.value());
+        return mask == 0 ? RoleSet.bit(Role.ADMIN) : mask;
+    }
+
+    private static Method specificMethod(MethodInvocation invocation) {
+        var target = invocation.getThis();
+        var method = invocation.getMethod();
+        return target != null ? AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target)) : method;
+    }
+}
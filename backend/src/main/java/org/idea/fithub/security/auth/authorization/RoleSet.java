@@ -0,0 +1,55 @@
+package org.idea.fithub.security.auth.authorization;
+
+import org.idea.fithub.user.domain.Role;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Conjuntos de roles representados como máscaras de bits (un bit por Role).
+ */
+public final class RoleSet {
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Role[] ROLES = Role.values();
+    private static final int ALL = (1 << ROLES.length) - 1;
+
+    private RoleSet() {
+    }
+
+    public static int of(Role... roles) {
+        int mask = 0;
+        for (Role role : roles)
+            mask |= bit(role);
+        return mask;
+    }
+
+    public static int fromAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name == null || !name.startsWith(ROLE_PREFIX))
+                continue;
+
+            for (Role role : ROLES) {
+                if (name.length() == ROLE_PREFIX.length() + role.name().length() && name.endsWith(role.name())) {
+                    mask |= bit(role);
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    // ADMIN hereda todos los roles
+    public static int effective(int mask) {
+        return (mask & bit(Role.ADMIN)) != 0 ? ALL : mask;
+    }
+
+    public static boolean contains(int mask, Role role) {
+        return (mask & bit(role)) != 0;
+    }
+
+    public static int bit(Role role) {
+        return 1 << role.ordinal();
+    }
+}
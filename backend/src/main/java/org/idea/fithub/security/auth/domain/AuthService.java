@@ -1,30 +1,32 @@
 package org.idea.fithub.security.auth.domain;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
-import org.springframework.beans.factory.annotation.Value;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.idea.fithub.event.UserRegisterEvent;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.exceptions.TooManyRequestsException;
 import org.idea.fithub.exceptions.UnauthorizedException;
 import org.idea.fithub.exceptions.UserAlreadyExistException;
 import org.idea.fithub.learner.domain.Learner;
 import org.idea.fithub.learner.infrastructure.LearnerRepository;
 import org.idea.fithub.security.auth.dto.*;
+import org.idea.fithub.security.auth.google.GoogleTokenVerifier;
 import org.idea.fithub.security.auth.jwt.JwtService;
 import org.idea.fithub.trainer.domain.Trainer;
 import org.idea.fithub.trainer.infrastructure.TrainerRepository;
 import org.idea.fithub.user.domain.Gender;
 import org.idea.fithub.user.domain.Role;
 import org.idea.fithub.user.domain.User;
+import org.idea.fithub.user.domain.UserAvailabilityIndex;
+import org.idea.fithub.user.domain.UserService;
 import org.idea.fithub.user.domain.UserStatus;
 import org.idea.fithub.user.infrastructure.BaseUserRepository;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -34,13 +36,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.idea.fithub.email.service.EmailService;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.Base64;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
@@ -50,16 +56,19 @@ public class AuthService {
     private final ApplicationEventPublisher applicationEventPublisher;
     private final PasswordResetTokenRepository tokenRepository;
     private final EmailService emailService;
-    @Value("${google.client-id}")
-    private String googleClientId;
+    private final UserAvailabilityIndex availabilityIndex;
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final UserService userService;
 
 
     @Transactional
     public SignUpResponse signUp(SignUpRequest request) {
-        if (baseUserRepository.findByEmail(request.getEmail()).isPresent()) {
+        if (!availabilityIndex.isEmailFree(request.getEmail())
+                && baseUserRepository.existsByEmail(request.getEmail())) {
             throw new UserAlreadyExistException("Email is already registered.");
         }
-        if (baseUserRepository.existsByUsername(request.getUsername())) {
+        if (!availabilityIndex.isUsernameFree(request.getUsername())
+                && baseUserRepository.existsByUsername(request.getUsername())) {
             throw new UserAlreadyExistException("Username is already taken.");
         }
 
@@ -102,6 +111,7 @@ public class AuthService {
             }
             default -> throw new IllegalArgumentException("Unrecognized role: " + request.getRole());
         }
+        availabilityIndex.record(savedUser);
 
         applicationEventPublisher.publishEvent(
                 new UserRegisterEvent(this, savedUser));
@@ -139,6 +149,11 @@ public class AuthService {
 
         } catch (BadCredentialsException | UsernameNotFoundException e) {
             throw new UnauthorizedException("Email o contraseña incorrectos");
+        } catch (InternalAuthenticationServiceException e) {
+            // Con email inexistente el provider envuelve el rechazo del pool de hashing
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests)
+                throw tooManyRequests;
+            throw e;
         }
     }
 
@@ -146,11 +161,9 @@ public class AuthService {
     public RefreshTokenResponse refreshToken(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        if (!jwtService.isTokenValid(refreshToken)) {
-            throw new UnauthorizedException("Invalid or expired refresh token.");
-        }
-
-        String username = jwtService.extractUsername(refreshToken);
+        String username = jwtService.verify(refreshToken)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new UnauthorizedException("Invalid or expired refresh token."));
         UserDetails userDetails = baseUserRepository.findByEmail(username).orElseThrow(
                 () -> new ResourceNotFoundException("User not found with email: " + username));
 
@@ -163,21 +176,36 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Revoca el access token de la petición y, si se envía, el refresh token.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        boolean revoked = accessToken != null && jwtService.revoke(accessToken);
+        if (refreshToken != null)
+            revoked |= jwtService.revoke(refreshToken);
+
+        if (!revoked)
+            throw new UnauthorizedException("Invalid or expired token.");
+    }
+
+    /**
+     * Cierra todas las sesiones de un usuario: ningún token emitido hasta
+     * ahora, access o refresh, vuelve a aceptarse.
+     */
+    @Transactional(readOnly = true)
+    public void forceLogout(Long userId) {
+        User user = baseUserRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        jwtService.revokeAll(user.getEmail());
+        log.info("Sesiones revocadas para el usuario {}", userId);
+    }
+
     @Transactional
     public SignInResponse signInWithGoogle(String googleToken){
         try{
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(), new GsonFactory())
-                    .setAudience(Collections.singletonList(googleClientId))
-                    .build();
-
-            GoogleIdToken idToken = verifier.verify(googleToken);
-            if (idToken == null) {
-                throw new UnauthorizedException("Token de Google inválido");
-            }
+            GoogleIdToken.Payload payload = googleTokenVerifier.verify(googleToken);
 
             // 2. Obtener datos del usuario de Google
-            GoogleIdToken.Payload payload = idToken.getPayload();
             String email = payload.getEmail();
             String firstName = (String) payload.get("given_name");
             String lastName = (String) payload.get("family_name");
@@ -200,7 +228,9 @@ public class AuthService {
             // 3. Lógica de "Buscar o Crear" (Find or Create)
             String finalFirstName = firstName;
             String finalLastName = lastName;
-            User user = baseUserRepository.findByEmail(email)
+            // Siempre a la BD: un "libre" del índice acabaría en un alta duplicada y en un 401
+            Optional<User> existingUser = baseUserRepository.findByEmail(email);
+            User user = existingUser
                     .orElseGet(() -> {
                         // Si el usuario no existe, lo "registramos"
                         log.info("Creando nuevo usuario desde Google: {}", email);
@@ -218,7 +248,9 @@ public class AuthService {
                                 .gender(Gender.MALE)
                                 .phoneNumber(java.util.UUID.randomUUID().toString().substring(0, 9)) // Teléfono aleatorio
                                 .build();
-                        return baseUserRepository.save(newUser);
+                        User savedUser = baseUserRepository.save(newUser);
+                        availabilityIndex.record(savedUser);
+                        return savedUser;
                     });
 
             // 4. Generar TUS propios tokens
@@ -245,12 +277,15 @@ public class AuthService {
         User user = baseUserRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
 
-        // 2. Generar Token único
-        String token = java.util.UUID.randomUUID().toString();
+        // 2. Generar Token único (solo viaja en el email, en BD se guarda su hash)
+        byte[] randomBytes = new byte[32];
+        SECURE_RANDOM.nextBytes(randomBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
 
-        // 3. Guardar Token en BD (Expira en 15 min)
+        // 3. Guardar Token en BD (Expira en 15 min), reemplazando uno anterior
+        tokenRepository.deleteByUserId(user.getId());
         PasswordResetToken resetToken = PasswordResetToken.builder()
-                .token(token)
+                .tokenHash(PasswordResetToken.hash(token))
                 .user(user)
                 .expiryDate(LocalDateTime.now().plusMinutes(15))
                 .build();
@@ -267,7 +302,7 @@ public class AuthService {
     @Transactional
     public void resetPassword(ResetPasswordRequest request) {
         // 1. Buscar el token
-        PasswordResetToken resetToken = tokenRepository.findByToken(request.getToken())
+        PasswordResetToken resetToken = tokenRepository.findByTokenHash(PasswordResetToken.hash(request.getToken()))
                 .orElseThrow(() -> new ResourceNotFoundException("Token inválido o no encontrado"));
 
         // 2. Verificar si expiró
@@ -278,7 +313,9 @@ public class AuthService {
         // 3. Actualizar contraseña del usuario
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        userService.bumpSecurityVersion(user);
         baseUserRepository.save(user);
+        jwtService.revokeAll(user.getEmail());
 
         // 4. Borrar el token para que no se use dos veces
         tokenRepository.delete(resetToken);
@@ -1,7 +1,17 @@
 package org.idea.fithub.security.auth.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.idea.fithub.security.auth.authorization.RoleSet;
 import org.springframework.security.core.userdetails.UserDetails;
 
 public interface CustomUserDetails extends UserDetails {
     Long getId();
+
+    Integer getSecurityVersion();
+
+    // Roles como máscara de bits de RoleSet, resuelta una vez por principal
+    @JsonIgnore
+    default int getRoleMask() {
+        return RoleSet.fromAuthorities(getAuthorities());
+    }
 }
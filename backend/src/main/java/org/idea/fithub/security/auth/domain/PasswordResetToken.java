@@ -4,20 +4,38 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.idea.fithub.user.domain.User;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Entity
+@Table(indexes = @Index(name = "idx_password_reset_token_expiry", columnList = "expiry_date"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class PasswordResetToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String token;
+    // Solo se guarda el SHA-256 del token: una fuga de la tabla no permite resetear cuentas
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
     @JoinColumn(nullable = false, name = "user_id")
     private User user;
 
+    @Column(name = "expiry_date", nullable = false)
     private LocalDateTime expiryDate;
-}
\ No newline at end of file
+
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
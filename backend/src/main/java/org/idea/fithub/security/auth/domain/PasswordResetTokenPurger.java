@@ -0,0 +1,37 @@
+package org.idea.fithub.security.auth.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Elimina en segundo plano los tokens de recuperación caducados, por lotes
+ * y cada lote en su propia transacción.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordResetTokenPurger {
+    private final PasswordResetTokenRepository tokenRepository;
+
+    @Value("${fithub.password-reset.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${fithub.password-reset.purge-interval:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = tokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0)
+            log.info("Tokens de recuperación caducados eliminados: {}", total);
+    }
+}
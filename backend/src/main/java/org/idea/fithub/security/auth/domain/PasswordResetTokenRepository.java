@@ -1,11 +1,28 @@
 package org.idea.fithub.security.auth.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
-    Optional<PasswordResetToken> findByToken(String token);
-}
\ No newline at end of file
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    // Borra como mucho batchSize filas para no bloquear la tabla en una sola transacción
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_token WHERE id IN (" +
+            "SELECT id FROM password_reset_token WHERE expiry_date < :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,35 @@
+package org.idea.fithub.security.auth.domain;
+
+import lombok.Getter;
+import org.idea.fithub.security.auth.authorization.RoleSet;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal construido solo con los claims de un access token ya verificado,
+ * sin consultar la base de datos.
+ */
+@Getter
+public class TokenPrincipal implements CustomUserDetails {
+    private final Long id;
+    private final String username;
+    private final Integer securityVersion;
+    private final List<GrantedAuthority> authorities;
+    private final int roleMask;
+
+    public TokenPrincipal(Long id, String username, Integer securityVersion,
+                          Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.securityVersion = securityVersion;
+        this.authorities = List.copyOf(authorities);
+        this.roleMask = RoleSet.fromAuthorities(this.authorities);
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
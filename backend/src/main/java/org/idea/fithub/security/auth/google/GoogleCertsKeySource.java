@@ -0,0 +1,52 @@
+package org.idea.fithub.security.auth.google;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.gson.GsonFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Descarga los certificados X.509 publicados por Google. El transporte HTTP se
+ * crea una sola vez y se reutiliza en cada refresco.
+ */
+@Component
+public class GoogleCertsKeySource implements GooglePublicKeySource {
+    private final HttpRequestFactory requestFactory = new NetHttpTransport().createRequestFactory();
+
+    @Value("${google.certs-url:https://www.googleapis.com/oauth2/v1/certs}")
+    private String certsUrl;
+
+    @Override
+    public Map<String, PublicKey> fetchKeys() throws IOException, GeneralSecurityException {
+        HttpResponse response = requestFactory.buildGetRequest(new GenericUrl(certsUrl)).execute();
+        GenericJson certs;
+        try {
+            certs = GsonFactory.getDefaultInstance()
+                    .createJsonParser(response.getContent(), StandardCharsets.UTF_8)
+                    .parse(GenericJson.class);
+        } finally {
+            response.disconnect();
+        }
+
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (var entry : certs.entrySet()) {
+            byte[] pem = String.valueOf(entry.getValue()).getBytes(StandardCharsets.UTF_8);
+            keys.put(entry.getKey(), factory.generateCertificate(new ByteArrayInputStream(pem)).getPublicKey());
+        }
+        return keys;
+    }
+}
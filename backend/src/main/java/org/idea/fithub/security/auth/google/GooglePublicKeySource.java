@@ -0,0 +1,15 @@
+package org.idea.fithub.security.auth.google;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.Map;
+
+/**
+ * Origen de las claves públicas con las que Google firma sus ID tokens,
+ * indexadas por key id ("kid"). En tests se sustituye por un juego local.
+ */
+@FunctionalInterface
+public interface GooglePublicKeySource {
+    Map<String, PublicKey> fetchKeys() throws IOException, GeneralSecurityException;
+}
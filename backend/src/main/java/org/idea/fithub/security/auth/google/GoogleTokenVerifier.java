@@ -0,0 +1,104 @@
+package org.idea.fithub.security.auth.google;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.idea.fithub.exceptions.UnauthorizedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verificador único de ID tokens de Google. Las claves públicas se guardan en
+ * memoria y se refrescan en segundo plano, así cada login solo comprueba la
+ * firma localmente. Un "kid" desconocido fuerza un refresco, como mucho uno
+ * por intervalo mínimo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GoogleTokenVerifier {
+    private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+    private static final List<String> ISSUERS = List.of("accounts.google.com", "https://accounts.google.com");
+    private static final long ACCEPTABLE_TIME_SKEW_SECONDS = 300;
+
+    private final GooglePublicKeySource keySource;
+
+    @Value("${google.client-id}")
+    private String googleClientId;
+
+    @Value("${google.certs-min-refresh-interval:60000}")
+    private long minRefreshInterval;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefresh;
+
+    public GoogleIdToken.Payload verify(String idToken) {
+        GoogleIdToken token;
+        try {
+            token = GoogleIdToken.parse(JSON_FACTORY, idToken);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Token de Google inválido");
+        }
+
+        if (!token.verifyIssuer(ISSUERS)
+                || !token.verifyAudience(List.of(googleClientId))
+                || !token.verifyTime(System.currentTimeMillis(), ACCEPTABLE_TIME_SKEW_SECONDS)) {
+            throw new UnauthorizedException("Token de Google inválido");
+        }
+
+        PublicKey key = findKey(token.getHeader().getKeyId());
+        if (key == null || !hasValidSignature(token, key))
+            throw new UnauthorizedException("Token de Google inválido");
+
+        return token.getPayload();
+    }
+
+    @Scheduled(fixedDelayString = "${google.certs-refresh-interval:3600000}")
+    public void refreshKeys() {
+        refresh();
+    }
+
+    private PublicKey findKey(String keyId) {
+        if (keyId == null)
+            return null;
+
+        PublicKey key = keys.get(keyId);
+        if (key == null && System.currentTimeMillis() - lastRefresh > minRefreshInterval) {
+            // Google rota sus claves: un kid nuevo significa que nuestra copia está vieja
+            refresh();
+            key = keys.get(keyId);
+        }
+        return key;
+    }
+
+    private synchronized void refresh() {
+        try {
+            Map<String, PublicKey> fetched = keySource.fetchKeys();
+            if (!fetched.isEmpty())
+                keys = Map.copyOf(fetched);
+            log.debug("Claves públicas de Google actualizadas: {}", keys.keySet());
+        } catch (IOException | GeneralSecurityException e) {
+            // Se conservan las claves anteriores hasta el siguiente intento
+            log.warn("No se pudieron refrescar las claves de Google: {}", e.getMessage());
+        } finally {
+            lastRefresh = System.currentTimeMillis();
+        }
+    }
+
+    private static boolean hasValidSignature(GoogleIdToken token, PublicKey key) {
+        try {
+            return token.verifySignature(key);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.idea.fithub.user.domain.UserService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,6 +24,10 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserService userDetailsService; // O UserDetailsService si usas la interfaz
 
+    // true: el principal se arma con los claims y la BD solo se consulta si cambia la securityVersion
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
@@ -30,18 +35,22 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(authHeader) && StringUtils.startsWithIgnoreCase(authHeader, "Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                if (jwtService.isTokenValid(token)) {
-                    String username = jwtService.extractUsername(token);
+                jwtService.verify(token).ifPresent(claims -> {
+                    String username = claims.getSubject();
                     if (StringUtils.hasText(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                        // AQUÍ ES DONDE FALLA AHORA
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                        UserDetails userDetails = statelessPrincipal
+                                ? jwtService.toPrincipal(claims)
+                                        .filter(userDetailsService::isSecurityVersionCurrent)
+                                        .map(UserDetails.class::cast)
+                                        .orElseGet(() -> userDetailsService.loadUserByUsername(username))
+                                : userDetailsService.loadUserByUsername(username);
 
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                     }
-                }
+                });
             } catch (Exception e) {
                 // LOGUEAR EL ERROR PERO NO DETENER LA EJECUCIÓN BRUSCAMENTE
                 System.err.println("Error en JWT Filter: " + e.getMessage());
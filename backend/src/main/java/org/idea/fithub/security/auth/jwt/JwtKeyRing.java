@@ -0,0 +1,111 @@
+package org.idea.fithub.security.auth.jwt;
+
+import io.jsonwebtoken.security.Jwks;
+import org.springframework.util.StringUtils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Juego de claves asimétricas (EC o Ed25519) identificadas por "kid".
+ * Formato: {@code kid:privadaPkcs8Base64:publicaX509Base64}, separadas por comas.
+ * La primera entrada con clave privada firma; el resto solo verifica, de modo
+ * que una clave retirada sigue validando los tokens emitidos antes de rotar.
+ */
+class JwtKeyRing {
+    private static final List<String> KEY_ALGORITHMS = List.of("EC", "Ed25519");
+
+    private final String signingKeyId;
+    private final PrivateKey signingKey;
+    private final Map<String, PublicKey> verificationKeys;
+
+    private JwtKeyRing(String signingKeyId, PrivateKey signingKey, Map<String, PublicKey> verificationKeys) {
+        this.signingKeyId = signingKeyId;
+        this.signingKey = signingKey;
+        this.verificationKeys = Collections.unmodifiableMap(verificationKeys);
+    }
+
+    static JwtKeyRing parse(String spec) {
+        String signingKeyId = null;
+        PrivateKey signingKey = null;
+        Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+
+        if (StringUtils.hasText(spec)) {
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split(":", -1);
+                if (parts.length != 3 || !StringUtils.hasText(parts[0]) || !StringUtils.hasText(parts[2]))
+                    throw new IllegalStateException("Invalid jwt.signing-keys entry, expected kid:private:public");
+
+                String keyId = parts[0].trim();
+                if (verificationKeys.containsKey(keyId))
+                    throw new IllegalStateException("Duplicated key id in jwt.signing-keys: " + keyId);
+
+                verificationKeys.put(keyId, decodePublicKey(parts[2].trim()));
+                if (signingKey == null && StringUtils.hasText(parts[1])) {
+                    signingKeyId = keyId;
+                    signingKey = decodePrivateKey(parts[1].trim());
+                }
+            }
+        }
+
+        return new JwtKeyRing(signingKeyId, signingKey, verificationKeys);
+    }
+
+    boolean canSign() {
+        return signingKey != null;
+    }
+
+    String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    PrivateKey getSigningKey() {
+        return signingKey;
+    }
+
+    PublicKey findVerificationKey(String keyId) {
+        return keyId == null ? null : verificationKeys.get(keyId);
+    }
+
+    // JwkSet oculta "keys" al serializar, por eso se devuelven mapas simples
+    Map<String, Object> toJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        verificationKeys.forEach((keyId, key) ->
+                jwks.add(new LinkedHashMap<>(Jwks.builder().key(key).id(keyId).build())));
+        return Map.of("keys", jwks);
+    }
+
+    private static PublicKey decodePublicKey(String base64) {
+        var spec = new X509EncodedKeySpec(Base64.getDecoder().decode(base64));
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePublic(spec);
+            } catch (GeneralSecurityException ignored) {
+                // Se prueba con el siguiente algoritmo
+            }
+        }
+        throw new IllegalStateException("Unsupported public key in jwt.signing-keys, use EC or Ed25519");
+    }
+
+    private static PrivateKey decodePrivateKey(String base64) {
+        var spec = new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64));
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(spec);
+            } catch (GeneralSecurityException ignored) {
+                // Se prueba con el siguiente algoritmo
+            }
+        }
+        throw new IllegalStateException("Unsupported private key in jwt.signing-keys, use EC or Ed25519");
+    }
+}
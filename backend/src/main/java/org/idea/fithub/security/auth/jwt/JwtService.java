@@ -1,21 +1,34 @@
 package org.idea.fithub.security.auth.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.idea.fithub.security.auth.domain.CustomUserDetails;
+import org.idea.fithub.security.auth.domain.TokenPrincipal;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
@@ -30,6 +43,39 @@ public class JwtService {
     @Value("${jwt.expiration-refresh}")
     private Long refreshTokenExpiration;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    @Value("${jwt.signing-keys:}")
+    private String signingKeys;
+
+    private SecretKey signInKey;
+    private JwtKeyRing keyRing;
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokens;
+    private final TokenRevocationList revocations = new TokenRevocationList();
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        keyRing = JwtKeyRing.parse(signingKeys);
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        // Sin kid: token HMAC emitido con jwt.secret-key
+                        if (header.getKeyId() == null)
+                            return signInKey;
+
+                        Key key = keyRing.findVerificationKey(header.getKeyId());
+                        if (key == null)
+                            throw new UnsupportedJwtException("Unknown key id: " + header.getKeyId());
+                        return key;
+                    }
+                })
+                .build();
+        verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
+    }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
@@ -40,6 +86,7 @@ public class JwtService {
 
         if (userDetails instanceof CustomUserDetails customUserDetails) {
             extraClaims.put("userId", customUserDetails.getId());
+            extraClaims.put("ver", customUserDetails.getSecurityVersion());
         }
 
         return buildToken(extraClaims, userDetails, accessTokenExpiration);
@@ -50,24 +97,92 @@ public class JwtService {
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
-        return Jwts.builder()
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts.builder()
                 .claims(extraClaims)
+                .claim(TokenRevocationList.ISSUED_AT_MILLIS, now)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
-                .compact();
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration));
+
+        if (keyRing.canSign()) {
+            return builder.header().keyId(keyRing.getSigningKeyId()).and()
+                    .signWith(keyRing.getSigningKey())
+                    .compact();
+        }
+        return builder.signWith(signInKey).compact();
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Claves públicas vigentes en formato JWKS, para que otros nodos verifiquen
+     * los tokens sin conocer ningún secreto. Vacío si solo se firma con HMAC.
+     */
+    public Map<String, Object> getJwks() {
+        return keyRing.toJwks();
+    }
+
+    /**
+     * Verifica el token una sola vez y devuelve sus claims. Los tokens ya
+     * verificados se sirven desde la cache hasta que expiran.
+     */
+    public Optional<Claims> verify(String token) {
+        if (!StringUtils.hasText(token))
+            return Optional.empty();
+
         try {
-            extractAllClaims(token);
-            return true;
+            Claims claims = extractAllClaims(token);
+            return revocations.isRevoked(claims) ? Optional.empty() : Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    /**
+     * Revoca un token concreto (logout). Devuelve false si ya no era válido.
+     */
+    public boolean revoke(String token) {
+        Optional<Claims> claims = verify(token);
+        claims.ifPresent(revocations::revoke);
+        return claims.isPresent();
+    }
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para el usuario, tanto
+     * access como refresh (cierre de sesión forzado).
+     */
+    public void revokeAll(String username) {
+        revocations.revokeAllIssuedUntilNow(username);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-purge-interval:300000}")
+    public void purgeRevocations() {
+        revocations.purge(Math.max(accessTokenExpiration, refreshTokenExpiration));
+    }
+
+    /**
+     * Construye el principal directamente desde los claims de un access token.
+     * Los refresh tokens no llevan roles ni userId, por eso devuelven vacío.
+     */
+    public Optional<TokenPrincipal> toPrincipal(Claims claims) {
+        Long userId = claims.get("userId", Long.class);
+        Integer version = claims.get("ver", Integer.class);
+        List<?> roles = claims.get("roles", List.class);
+
+        if (userId == null || version == null || roles == null || !StringUtils.hasText(claims.getSubject()))
+            return Optional.empty();
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+
+        return Optional.of(new TokenPrincipal(userId, claims.getSubject(), version, authorities));
+    }
+
+    public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
     public String extractUsername(String token) {
             return extractClaim(token, Claims::getSubject);
     }
@@ -78,16 +193,13 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+        Claims cached = verifiedTokens.get(token);
+        if (cached != null)
+            return cached;
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(token, claims);
+        return claims;
     }
 
 }
@@ -0,0 +1,81 @@
+package org.idea.fithub.security.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocaciones en memoria: jti concretos (logout) y cortes por usuario
+ * (cierre de sesión forzado). Cada entrada se descarta cuando ningún token
+ * afectado puede seguir vigente, así la estructura solo crece con las
+ * revocaciones activas y la comprobación es O(1) sin I/O.
+ */
+class TokenRevocationList {
+    // iat del estándar va en segundos; este claim lleva el instante exacto de emisión
+    static final String ISSUED_AT_MILLIS = "iatMs";
+
+    // jti -> expiración del token en ms
+    private final Map<UUID, Long> revokedIds = new ConcurrentHashMap<>();
+    // subject -> ms del corte: se rechazan los tokens emitidos hasta ese instante, incluido
+    private final Map<String, Long> subjectCutoffs = new ConcurrentHashMap<>();
+
+    void revoke(Claims claims) {
+        UUID id = parseId(claims.getId());
+        Date expiration = claims.getExpiration();
+        if (id != null && expiration != null && expiration.getTime() > System.currentTimeMillis())
+            revokedIds.put(id, expiration.getTime());
+    }
+
+    // Un login justo después del corte, aunque caiga en el mismo segundo, sigue valiendo
+    void revokeAllIssuedUntilNow(String subject) {
+        subjectCutoffs.put(subject, System.currentTimeMillis());
+    }
+
+    boolean isRevoked(Claims claims) {
+        if (!subjectCutoffs.isEmpty()) {
+            Long cutoff = subjectCutoffs.get(claims.getSubject());
+            if (cutoff != null && issuedAtMillis(claims) <= cutoff)
+                return true;
+        }
+
+        if (revokedIds.isEmpty())
+            return false;
+
+        UUID id = parseId(claims.getId());
+        return id != null && revokedIds.containsKey(id);
+    }
+
+    void purge(long maxTokenLifetimeMillis) {
+        long now = System.currentTimeMillis();
+        revokedIds.values().removeIf(expiration -> expiration <= now);
+        subjectCutoffs.values().removeIf(cutoff -> cutoff + maxTokenLifetimeMillis <= now);
+    }
+
+    int size() {
+        return revokedIds.size() + subjectCutoffs.size();
+    }
+
+    // Sin el claim (tokens anteriores) se toma el final de su segundo, como antes
+    private static long issuedAtMillis(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS, Long.class);
+        if (millis != null)
+            return millis;
+
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null ? Long.MIN_VALUE : issuedAt.getTime() + 999;
+    }
+
+    private static UUID parseId(String id) {
+        if (id == null)
+            return null;
+
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
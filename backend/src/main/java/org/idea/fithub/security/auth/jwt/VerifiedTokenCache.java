@@ -0,0 +1,65 @@
+package org.idea.fithub.security.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache acotada de tokens cuya firma ya fue verificada. Cada entrada se descarta
+ * cuando el token expira, así un acierto nunca sobrevive al propio token.
+ */
+class VerifiedTokenCache {
+    private final Map<String, Claims> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    Claims get(String token) {
+        Claims claims = entries.get(token);
+        if (claims == null)
+            return null;
+
+        if (isExpired(claims, System.currentTimeMillis())) {
+            entries.remove(token, claims);
+            return null;
+        }
+        return claims;
+    }
+
+    void put(String token, Claims claims) {
+        if (maxSize <= 0 || claims.getExpiration() == null)
+            return;
+
+        if (entries.size() >= maxSize)
+            evict();
+
+        entries.put(token, claims);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(claims -> isExpired(claims, now));
+
+        // Sin expirados que liberar: se descarta una cuarta parte arbitraria
+        Iterator<String> it = entries.keySet().iterator();
+        int toRemove = entries.size() - (maxSize * 3 / 4);
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static boolean isExpired(Claims claims, long now) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.getTime() <= now;
+    }
+}
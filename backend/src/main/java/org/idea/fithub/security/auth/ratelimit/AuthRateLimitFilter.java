@@ -0,0 +1,223 @@
+package org.idea.fithub.security.auth.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.idea.fithub.exceptions.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita las rutas públicas de /api/auth por IP y por email objetivo antes de
+ * que lleguen a BCrypt, al SMTP o a Google. Los límites se configuran con
+ * {@code ruta:capacidad/segundos:capacidad/segundos}, el primero por IP y el
+ * segundo por email ("-" lo desactiva).
+ * - El cuerpo se lee entero hasta {@link #MAX_BUFFERED_BODY}, venga o no con
+ *   Content-Length; uno mayor se rechaza con 413 para no saltarse el límite.
+ * - La IP es {@code getRemoteAddr()}: detrás de un proxy hay que activar
+ *   {@code server.forward-headers-strategy} o todos comparten el mismo cubo.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    private static final String AUTH_PREFIX = "/api/auth/";
+    private static final int MAX_BUFFERED_BODY = 16 * 1024;
+
+    private final Map<String, RouteLimit> routes;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public AuthRateLimitFilter(String routeSpec, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.routes = parseRoutes(routeSpec);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod()) || !routes.containsKey(pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RouteLimit route = routes.get(pathOf(request));
+        long now = System.nanoTime();
+
+        long wait = route.byIp() == null ? 0 : route.byIp().tryAcquire(request.getRemoteAddr(), now);
+        if (wait > 0) {
+            reject(request, response, route, "ip", wait);
+            return;
+        }
+
+        // Con Content-Length se rechaza sin leer; sin él (chunked) se lee hasta pasar el tope
+        byte[] body = request.getContentLengthLong() > MAX_BUFFERED_BODY
+                ? null
+                : request.getInputStream().readNBytes(MAX_BUFFERED_BODY + 1);
+        if (body == null || body.length > MAX_BUFFERED_BODY) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body must not exceed " + MAX_BUFFERED_BODY + " bytes");
+            return;
+        }
+
+        String email = route.byEmail() == null ? null : extractEmail(body);
+        if (email != null) {
+            wait = route.byEmail().tryAcquire(email, now);
+            if (wait > 0) {
+                reject(request, response, route, "email", wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new BufferedBodyRequest(request, body), response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RouteLimit route,
+                        String keyType, long waitNanos) throws IOException {
+        Counter.builder("auth.rate_limit.rejected")
+                .tag("route", route.name())
+                .tag("key", keyType)
+                .register(meterRegistry)
+                .increment();
+
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please try again later");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        var error = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0)
+            return null;
+
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && StringUtils.hasText(email.asText())
+                    ? email.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            // Cuerpo inválido: lo rechazará la validación del controlador
+            return null;
+        }
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    static Map<String, RouteLimit> parseRoutes(String spec) {
+        Map<String, RouteLimit> routes = new HashMap<>();
+        if (!StringUtils.hasText(spec))
+            return routes;
+
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3)
+                throw new IllegalStateException("Invalid fithub.rate-limit.routes entry: " + entry);
+
+            String name = parts[0].trim();
+            routes.put(AUTH_PREFIX + name, new RouteLimit(name, parseLimit(parts[1]), parseLimit(parts[2])));
+        }
+        return routes;
+    }
+
+    private static TokenBucketRateLimiter parseLimit(String limit) {
+        if ("-".equals(limit.trim()))
+            return null;
+
+        String[] parts = limit.trim().split("/");
+        return new TokenBucketRateLimiter(
+                Integer.parseInt(parts[0]),
+                TimeUnit.SECONDS.toNanos(Long.parseLong(parts[1])));
+    }
+
+    record RouteLimit(String name, TokenBucketRateLimiter byIp, TokenBucketRateLimiter byEmail) {
+    }
+
+    // Guarda el cuerpo para leer el email aquí y volver a servirlo al controlador
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Todo el cuerpo ya está en memoria: se avisa de inmediato
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished())
+                            readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.idea.fithub.security.auth.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin locks. Cada clave guarda en un único AtomicLong el instante
+ * teórico en que su cubeta vuelve a estar llena (GCRA), así consumir un token
+ * es un solo CAS. Las claves se reparten en varias tablas (stripes) que se
+ * limpian por separado cuando crecen demasiado.
+ */
+public class TokenBucketRateLimiter {
+    private static final int STRIPES = 16;
+    private static final int MAX_KEYS_PER_STRIPE = 10_000;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Map<String, AtomicLong>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(int capacity, long periodNanos) {
+        if (capacity <= 0 || periodNanos <= 0)
+            throw new IllegalArgumentException("Capacity and period must be positive");
+
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+            stripes[i] = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Intenta consumir un token de la cubeta de la clave.
+     * @return 0 si se concede, o los nanosegundos hasta el próximo token
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        Map<String, AtomicLong> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        if (stripe.size() > MAX_KEYS_PER_STRIPE)
+            evictRefilled(stripe, nowNanos);
+
+        AtomicLong state = stripe.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long stored = state.get();
+            long theoreticalArrival = Math.max(stored, nowNanos);
+            long waitNanos = theoreticalArrival - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0)
+                return waitNanos;
+
+            if (state.compareAndSet(stored, theoreticalArrival + emissionIntervalNanos))
+                return 0;
+        }
+    }
+
+    // Una cubeta ya rellenada equivale a una nueva, se puede descartar sin perder nada
+    private static void evictRefilled(Map<String, AtomicLong> stripe, long nowNanos) {
+        stripe.values().removeIf(state -> state.get() <= nowNanos);
+    }
+}
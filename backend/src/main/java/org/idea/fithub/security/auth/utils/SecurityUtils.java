@@ -1,8 +1,9 @@
 package org.idea.fithub.security.auth.utils;
 
+import org.idea.fithub.security.auth.authorization.RoleSet;
 import org.idea.fithub.security.auth.domain.CustomUserDetails;
+import org.idea.fithub.user.domain.Role;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 public class SecurityUtils {
@@ -31,25 +32,30 @@ public class SecurityUtils {
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
-        final String authorityName = "ROLE_" + role.toUpperCase();
 
-        return authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(authority -> authority.equals(authorityName));
+        Role required;
+        try {
+            required = Role.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        return RoleSet.contains(roleMask(authentication), required);
     }
 
     public static boolean isCurrentUserOrAdmin(Long targetUserId) {
-        Long currentUserId = getCurrentUserId();
-        if (currentUserId == null || targetUserId == null) {
+        CustomUserDetails user = getCurrentUser();
+        if (user == null || user.getId() == null || targetUserId == null) {
             return false;
         }
 
-        // Comprueba si el ID del recurso es igual al ID del usuario logueado
-        boolean isOwner = targetUserId.equals(currentUserId);
-
-        // Comprueba si es Admin
-        boolean isAdmin = hasRole("ADMIN");
+        // Dueño del recurso o Admin, sin recorrer las authorities
+        return targetUserId.equals(user.getId()) || RoleSet.contains(user.getRoleMask(), Role.ADMIN);
+    }
 
-        return isOwner || isAdmin;
+    private static int roleMask(Authentication authentication) {
+        return authentication.getPrincipal() instanceof CustomUserDetails user
+                ? user.getRoleMask()
+                : RoleSet.fromAuthorities(authentication.getAuthorities());
     }
-}
\ No newline at end of file
+}
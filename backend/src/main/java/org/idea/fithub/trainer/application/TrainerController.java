@@ -2,16 +2,17 @@ package org.idea.fithub.trainer.application;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
 import org.idea.fithub.trainer.domain.TrainerService;
 import org.idea.fithub.trainer.dto.TrainerExperienceDto;
 import org.idea.fithub.trainer.dto.TrainerRequestDto;
 import org.idea.fithub.trainer.dto.TrainerResponseDto;
+import org.idea.fithub.user.domain.Role;
 import org.idea.fithub.user.domain.UserStatus;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -23,7 +24,7 @@ public class TrainerController {
     private final ModelMapper modelMapper;
 
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN', 'LEARNER','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER, Role.TRAINER})
     public ResponseEntity<Page<TrainerResponseDto>> getAllTrainers(
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size) {
@@ -32,14 +33,14 @@ public class TrainerController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'LEARNER','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER, Role.TRAINER})
     public ResponseEntity<TrainerResponseDto> getTrainer(@PathVariable Long id) {
         return ResponseEntity.ok(
                 trainerService.getTrainer(id));
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequireRoles(Role.ADMIN)
     public ResponseEntity<TrainerResponseDto> createTrainer(@Valid @RequestBody
                                                  TrainerRequestDto trainerRequestDto) {
         var trainer = trainerService.createTrainer(trainerRequestDto);
@@ -56,14 +57,14 @@ public class TrainerController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
     public ResponseEntity<Void> deleteTrainer(@PathVariable Long id) {
         trainerService.deleteTrainer(id);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
     public ResponseEntity<TrainerResponseDto> updateTrainer(@PathVariable Long id,
                                                             @Valid @RequestBody
                                                             TrainerRequestDto trainerRequestDto) {
@@ -72,7 +73,7 @@ public class TrainerController {
     }
 
     @PatchMapping("/{id}/status")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
     public ResponseEntity<TrainerResponseDto> updateTrainerStatus(@PathVariable Long id,
                                                                   @RequestParam UserStatus userStatus) {
         return ResponseEntity.ok(
@@ -80,7 +81,7 @@ public class TrainerController {
     }
 
     @PatchMapping("/{id}/experience")
-    @PreAuthorize("hasAnyRole('ADMIN','TRAINER')")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
     public ResponseEntity<TrainerResponseDto> updateTrainerExperience(@PathVariable Long id,
                                                                       @Valid @RequestBody
                                                                       TrainerExperienceDto trainerExperienceDto) {
@@ -8,6 +8,8 @@ import org.idea.fithub.trainer.dto.TrainerExperienceDto;
 import org.idea.fithub.trainer.dto.TrainerRequestDto;
 import org.idea.fithub.trainer.dto.TrainerResponseDto;
 import org.idea.fithub.trainer.infrastructure.TrainerRepository;
+import org.idea.fithub.user.domain.UserAvailabilityIndex;
+import org.idea.fithub.user.domain.UserService;
 import org.idea.fithub.user.domain.UserStatus;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
@@ -22,6 +24,8 @@ public class TrainerService {
     private final TrainerRepository trainerRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserAvailabilityIndex availabilityIndex;
+    private final UserService userService;
 
 
     public Page<TrainerResponseDto> getAllTrainers(PageRequest pageRequest) {
@@ -40,7 +44,8 @@ public class TrainerService {
 
     @Transactional
     public Trainer createTrainer(TrainerRequestDto trainerRequestDto) {
-        if (trainerRepository.existsByEmail(trainerRequestDto.getEmail()))
+        if (!availabilityIndex.isEmailFree(trainerRequestDto.getEmail())
+                && trainerRepository.existsByEmail(trainerRequestDto.getEmail()))
             throw new DuplicateResourceException("Email already in use: " + trainerRequestDto.getEmail());
 
         if (trainerRequestDto.getExperienceEndDate() != null &&
@@ -49,7 +54,9 @@ public class TrainerService {
 
         var trainner = modelMapper.map(trainerRequestDto, Trainer.class);
         trainner.setPassword(passwordEncoder.encode(trainerRequestDto.getPassword()));
-        return trainerRepository.save(trainner);
+        var savedTrainer = trainerRepository.save(trainner);
+        availabilityIndex.record(savedTrainer);
+        return savedTrainer;
     }
 
     @Transactional
@@ -69,7 +76,8 @@ public class TrainerService {
                 orElseThrow(() -> new ResourceNotFoundException("Trainer not found with id: " + id));
 
         if (!trainer.getEmail().equals(trainerRequestDto.getEmail())) {
-            if (trainerRepository.existsByEmail(trainerRequestDto.getEmail())) {
+            if (!availabilityIndex.isEmailFree(trainerRequestDto.getEmail())
+                    && trainerRepository.existsByEmail(trainerRequestDto.getEmail())) {
                 throw new DuplicateResourceException(
                         "Email already in use: " + trainerRequestDto.getEmail());
             }
@@ -81,9 +89,12 @@ public class TrainerService {
 
         modelMapper.map(trainerRequestDto, trainer);
         trainer.setPassword(passwordEncoder.encode(trainerRequestDto.getPassword()));
+        userService.bumpSecurityVersion(trainer);
 
-        return modelMapper.map(
-                trainerRepository.save(trainer), TrainerResponseDto.class);
+        var savedTrainer = trainerRepository.save(trainer);
+        availabilityIndex.record(savedTrainer);
+
+        return modelMapper.map(savedTrainer, TrainerResponseDto.class);
     }
 
     @Transactional
@@ -0,0 +1,27 @@
+package org.idea.fithub.trainingCheck.application;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.trainingCheck.domain.KioskCheckBuffer;
+import org.idea.fithub.trainingCheck.dto.KioskCheckRequestDto;
+import org.idea.fithub.trainingCheck.dto.KioskCheckResponseDto;
+import org.idea.fithub.user.domain.Role;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/kiosk")
+public class KioskCheckController {
+    private final KioskCheckBuffer kioskCheckBuffer;
+
+    // 202: la marca queda en el diario y se escribe en el siguiente volcado
+    @PostMapping("/checks")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
+    public ResponseEntity<KioskCheckResponseDto> checkIn(@Valid @RequestBody KioskCheckRequestDto request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(kioskCheckBuffer.offer(request.getLearnerIds()));
+    }
+}
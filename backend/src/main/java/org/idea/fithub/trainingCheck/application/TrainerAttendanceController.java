@@ -0,0 +1,30 @@
+package org.idea.fithub.trainingCheck.application;
+
+import lombok.RequiredArgsConstructor;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.trainingCheck.domain.TrainerAttendanceService;
+import org.idea.fithub.trainingCheck.dto.TrainerAttendanceDto;
+import org.idea.fithub.user.domain.Role;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/trainers")
+public class TrainerAttendanceController {
+    private final TrainerAttendanceService trainerAttendanceService;
+
+    @GetMapping("/{trainerId}/attendance")
+    @RequireRoles({Role.ADMIN, Role.TRAINER})
+    public ResponseEntity<TrainerAttendanceDto> getCohortAttendance(@PathVariable Long trainerId,
+                                                                    @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                    @RequestParam(required = false) LocalDate from,
+                                                                    @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                    @RequestParam(required = false) LocalDate to) {
+        return ResponseEntity.ok(
+                trainerAttendanceService.getCohortAttendance(trainerId, from, to));
+    }
+}
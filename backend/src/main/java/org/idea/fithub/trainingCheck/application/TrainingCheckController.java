@@ -1,12 +1,21 @@
 package org.idea.fithub.trainingCheck.application;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.trainingCheck.domain.AttendanceEncoding;
 import org.idea.fithub.trainingCheck.domain.TrainingCheckService;
+import org.idea.fithub.trainingCheck.dto.BulkCheckRequestDto;
+import org.idea.fithub.trainingCheck.dto.BulkCheckResponseDto;
+import org.idea.fithub.trainingCheck.dto.CompactAttendanceDto;
+import org.idea.fithub.trainingCheck.dto.LearnerAttendanceStatsDto;
 import org.idea.fithub.trainingCheck.dto.TrainingCheckResponseDto;
+import org.idea.fithub.user.domain.Role;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -18,7 +27,7 @@ public class TrainingCheckController {
     private final TrainingCheckService trainingCheckService;
 
     @PostMapping("/{learnerId}/check")
-    @PreAuthorize("hasAnyRole('ADMIN', 'LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
     public ResponseEntity<String> markCheck(@PathVariable Long learnerId,
                                             @DateTimeFormat(pattern = "dd/MM/yyyy")
                                             @RequestParam LocalDate date) {
@@ -27,8 +36,16 @@ public class TrainingCheckController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping("/{learnerId}/checks")
+    @RequireRoles({Role.ADMIN, Role.LEARNER, Role.TRAINER})
+    public ResponseEntity<BulkCheckResponseDto> markChecks(@PathVariable Long learnerId,
+                                                           @Valid @RequestBody BulkCheckRequestDto request) {
+        return ResponseEntity.ok(
+                trainingCheckService.markChecks(learnerId, request.getDates()));
+    }
+
     @DeleteMapping("/{learnerId}/check")
-    @PreAuthorize("hasAnyRole('ADMIN', 'LEARNER')")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
     public ResponseEntity<String> unmarkCheck(@PathVariable Long learnerId,
                                               @DateTimeFormat(pattern = "dd/MM/yyyy")
                                               @RequestParam LocalDate date) {
@@ -38,9 +55,49 @@ public class TrainingCheckController {
     }
 
     @GetMapping("{learnerId}/checks")
-    @PreAuthorize("hasAnyRole('ADMIN', 'LEARNER')")
-    public ResponseEntity<TrainingCheckResponseDto> getTrainingCheck(@PathVariable Long learnerId) {
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
+    public ResponseEntity<TrainingCheckResponseDto> getTrainingCheck(@PathVariable Long learnerId,
+                                                                     @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                     @RequestParam(required = false) LocalDate from,
+                                                                     @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                     @RequestParam(required = false) LocalDate to) {
+        return ResponseEntity.ok(
+                trainingCheckService.getTrainingCheck(learnerId, from, to));
+    }
+
+    // Formato compacto pedido por parámetro: ?format=rle o ?format=bitmap
+    @GetMapping(value = "{learnerId}/checks", params = "format")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
+    public ResponseEntity<CompactAttendanceDto> getCompactTrainingCheck(@PathVariable Long learnerId,
+                                                                        @RequestParam String format,
+                                                                        @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                        @RequestParam(required = false) LocalDate from,
+                                                                        @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                        @RequestParam(required = false) LocalDate to) {
+        var encoding = AttendanceEncoding.fromFormat(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(encoding.getMediaType()))
+                .body(trainingCheckService.getCompactTrainingCheck(learnerId, from, to, encoding));
+    }
+
+    // Formato compacto pedido por cabecera Accept
+    @GetMapping(value = "{learnerId}/checks", produces = {AttendanceEncoding.RLE_MEDIA_TYPE, AttendanceEncoding.BITMAP_MEDIA_TYPE})
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
+    public ResponseEntity<CompactAttendanceDto> getNegotiatedTrainingCheck(@PathVariable Long learnerId,
+                                                                           @RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                                                           @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                           @RequestParam(required = false) LocalDate from,
+                                                                           @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                                                           @RequestParam(required = false) LocalDate to) {
+        var encoding = accept.contains(AttendanceEncoding.BITMAP_MEDIA_TYPE) ? AttendanceEncoding.BITMAP : AttendanceEncoding.RLE;
+        return ResponseEntity.ok(
+                trainingCheckService.getCompactTrainingCheck(learnerId, from, to, encoding));
+    }
+
+    @GetMapping("{learnerId}/checks/stats")
+    @RequireRoles({Role.ADMIN, Role.LEARNER})
+    public ResponseEntity<LearnerAttendanceStatsDto> getAttendanceStats(@PathVariable Long learnerId) {
         return ResponseEntity.ok(
-                trainingCheckService.getTrainingCheck(learnerId));
+                trainingCheckService.getAttendanceStats(learnerId));
     }
 }
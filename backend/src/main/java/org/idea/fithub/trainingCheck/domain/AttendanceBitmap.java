@@ -0,0 +1,141 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.IntConsumer;
+
+/**
+ * Asistencia de un año como mapa de bits: el bit {@code n} es el día
+ * {@code n + 1} del año. Caben los 366 días en seis longs, así que marcar,
+ * consultar o contar un rango son operaciones de bits y popcount.
+ */
+public class AttendanceBitmap {
+    public static final int DAYS = 366;
+    public static final int BYTES = 48;
+    private static final int WORDS = BYTES / Long.BYTES;
+
+    private final long[] words;
+
+    public AttendanceBitmap() {
+        this(new long[WORDS]);
+    }
+
+    private AttendanceBitmap(long[] words) {
+        this.words = words;
+    }
+
+    public static AttendanceBitmap fromBytes(byte[] bytes) {
+        var bitmap = new AttendanceBitmap();
+        if (bytes == null)
+            return bitmap;
+
+        var buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < WORDS && buffer.remaining() >= Long.BYTES; i++)
+            bitmap.words[i] = buffer.getLong();
+        return bitmap;
+    }
+
+    public byte[] toBytes() {
+        var buffer = ByteBuffer.allocate(BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (long word : words)
+            buffer.putLong(word);
+        return buffer.array();
+    }
+
+    public AttendanceBitmap copy() {
+        return new AttendanceBitmap(words.clone());
+    }
+
+    public boolean get(int day) {
+        checkDay(day);
+        return (words[day >>> 6] & (1L << day)) != 0;
+    }
+
+    /** Marca el día; devuelve false si ya estaba marcado. */
+    public boolean set(int day) {
+        checkDay(day);
+        long before = words[day >>> 6];
+        words[day >>> 6] = before | (1L << day);
+        return before != words[day >>> 6];
+    }
+
+    /** Desmarca el día; devuelve false si no estaba marcado. */
+    public boolean clear(int day) {
+        checkDay(day);
+        long before = words[day >>> 6];
+        words[day >>> 6] = before & ~(1L << day);
+        return before != words[day >>> 6];
+    }
+
+    public boolean isEmpty() {
+        for (long word : words)
+            if (word != 0)
+                return false;
+        return true;
+    }
+
+    /** Días marcados entre {@code fromDay} y {@code toDay}, ambos incluidos. */
+    public int count(int fromDay, int toDay) {
+        checkRange(fromDay, toDay);
+        int total = 0;
+        for (int i = fromDay >>> 6; i <= toDay >>> 6; i++)
+            total += Long.bitCount(words[i] & mask(i, fromDay, toDay));
+        return total;
+    }
+
+    /** Primer día marcado del rango, o -1. */
+    public int first(int fromDay, int toDay) {
+        checkRange(fromDay, toDay);
+        for (int i = fromDay >>> 6; i <= toDay >>> 6; i++) {
+            long word = words[i] & mask(i, fromDay, toDay);
+            if (word != 0)
+                return (i << 6) + Long.numberOfTrailingZeros(word);
+        }
+        return -1;
+    }
+
+    /** Último día marcado del rango, o -1. */
+    public int last(int fromDay, int toDay) {
+        checkRange(fromDay, toDay);
+        for (int i = toDay >>> 6; i >= fromDay >>> 6; i--) {
+            long word = words[i] & mask(i, fromDay, toDay);
+            if (word != 0)
+                return (i << 6) + 63 - Long.numberOfLeadingZeros(word);
+        }
+        return -1;
+    }
+
+    /** Recorre en orden los días marcados del rango. */
+    public void forEach(int fromDay, int toDay, IntConsumer action) {
+        checkRange(fromDay, toDay);
+        for (int i = fromDay >>> 6; i <= toDay >>> 6; i++) {
+            long word = words[i] & mask(i, fromDay, toDay);
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    // Bits de la palabra i que caen dentro de [fromDay, toDay]
+    private static long mask(int i, int fromDay, int toDay) {
+        long mask = -1L;
+        if (i == fromDay >>> 6)
+            mask &= -1L << fromDay;
+        if (i == toDay >>> 6)
+            mask &= -1L >>> (63 - (toDay & 63));
+        return mask;
+    }
+
+    private static void checkDay(int day) {
+        if (day < 0 || day >= DAYS)
+            throw new IndexOutOfBoundsException("Day of year out of range: " + day);
+    }
+
+    private static void checkRange(int fromDay, int toDay) {
+        checkDay(fromDay);
+        checkDay(toDay);
+        if (fromDay > toDay)
+            throw new IllegalArgumentException("Invalid day range: " + fromDay + " > " + toDay);
+    }
+}
@@ -0,0 +1,136 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.idea.fithub.exceptions.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+
+/**
+ * Formatos compactos de la asistencia. Ambos reciben los días marcados como
+ * desplazamientos desde el inicio del rango, en orden, sin crear fechas.
+ * <ul>
+ *   <li>RLE: {@code [hueco, racha, hueco, racha, ...]} contados en días.</li>
+ *   <li>BITMAP: un bit por día del rango (LSB primero) en Base64 URL.</li>
+ * </ul>
+ */
+public enum AttendanceEncoding {
+    RLE(AttendanceEncoding.RLE_MEDIA_TYPE),
+    BITMAP(AttendanceEncoding.BITMAP_MEDIA_TYPE);
+
+    public static final String RLE_MEDIA_TYPE = "application/vnd.fithub.attendance-rle+json";
+    public static final String BITMAP_MEDIA_TYPE = "application/vnd.fithub.attendance-bitmap+json";
+
+    private final String mediaType;
+
+    AttendanceEncoding(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static AttendanceEncoding fromFormat(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported attendance format: " + format);
+        }
+    }
+
+    public Encoder newEncoder(int days) {
+        return this == RLE ? new RunLengthEncoder() : new BitsEncoder(days);
+    }
+
+    public abstract static class Encoder implements IntConsumer {
+        private int count;
+        private int first = -1;
+        private int last = -1;
+
+        @Override
+        public final void accept(int offset) {
+            if (first < 0)
+                first = offset;
+            last = offset;
+            count++;
+            encode(offset);
+        }
+
+        protected abstract void encode(int offset);
+
+        // Solo uno de los dos tiene valor, según el formato
+        public int[] runs() {
+            return null;
+        }
+
+        public String bits() {
+            return null;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getLast() {
+            return last;
+        }
+    }
+
+    static final class RunLengthEncoder extends Encoder {
+        private int[] runs = new int[16];
+        private int size;
+        private int previous = -1;
+        private int runLength;
+
+        @Override
+        protected void encode(int offset) {
+            if (runLength > 0 && offset == previous + 1) {
+                runLength++;
+            } else {
+                if (runLength > 0)
+                    add(runLength);
+                add(offset - previous - 1);
+                runLength = 1;
+            }
+            previous = offset;
+        }
+
+        @Override
+        public int[] runs() {
+            int[] result = Arrays.copyOf(runs, size + (runLength > 0 ? 1 : 0));
+            if (runLength > 0)
+                result[size] = runLength;
+            return result;
+        }
+
+        private void add(int value) {
+            if (size == runs.length)
+                runs = Arrays.copyOf(runs, size * 2);
+            runs[size++] = value;
+        }
+    }
+
+    static final class BitsEncoder extends Encoder {
+        private final byte[] bits;
+
+        BitsEncoder(int days) {
+            this.bits = new byte[(days + 7) / 8];
+        }
+
+        @Override
+        protected void encode(int offset) {
+            bits[offset >>> 3] |= (byte) (1 << (offset & 7));
+        }
+
+        @Override
+        public String bits() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bits);
+        }
+    }
+}
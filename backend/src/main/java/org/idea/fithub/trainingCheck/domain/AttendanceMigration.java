@@ -0,0 +1,32 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migra training_check a mapas de bits al arrancar cuando
+ * {@code fithub.attendance.migrate-on-startup=true}. Solo tiene efecto con
+ * {@code fithub.attendance.storage=bitmap}.
+ */
+@Component
+@ConditionalOnProperty(name = "fithub.attendance.migrate-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceMigration implements ApplicationRunner {
+    private final ObjectProvider<BitmapAttendanceStore> bitmapAttendanceStore;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var store = bitmapAttendanceStore.getIfAvailable();
+        if (store == null) {
+            log.warn("fithub.attendance.migrate-on-startup ignorado: el almacenamiento no es 'bitmap'");
+            return;
+        }
+        store.importFromTrainingChecks();
+    }
+}
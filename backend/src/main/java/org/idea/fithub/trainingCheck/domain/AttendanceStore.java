@@ -0,0 +1,51 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Almacenamiento de la asistencia de los learners. Hay dos implementaciones,
+ * elegidas con {@code fithub.attendance.storage}: "row" (una fila de
+ * training_check por día, la original) y "bitmap" (un mapa de bits por
+ * learner y año).
+ */
+public interface AttendanceStore {
+    boolean exists(Long learnerId, LocalDate date);
+
+    /** Marca el día; devuelve false si ya estaba marcado. */
+    boolean mark(Long learnerId, LocalDate date);
+
+    /**
+     * Marca varios días de una vez; devuelve los que no estaban marcados.
+     * Las implementaciones resuelven los existentes con una sola lectura.
+     */
+    Set<LocalDate> markAll(Long learnerId, SortedSet<LocalDate> dates);
+
+    /**
+     * Escribe un lote de marcas de varios learners en una sola ida a la BD;
+     * devuelve las que no estaban marcadas. Las de learners que ya no existen
+     * se descartan sin error.
+     */
+    List<PendingCheck> markBatch(List<PendingCheck> checks);
+
+    /** Desmarca el día; devuelve false si no estaba marcado. */
+    boolean unmark(Long learnerId, LocalDate date);
+
+    /** Días marcados entre {@code from} y {@code to}, ambos incluidos, en orden. */
+    List<LocalDate> findDates(Long learnerId, LocalDate from, LocalDate to);
+
+    /**
+     * Recorre en orden los días marcados del rango y entrega cada uno como
+     * desplazamiento en días desde {@code from}, sin materializar la lista.
+     */
+    void scanDays(Long learnerId, LocalDate from, LocalDate to, IntConsumer dayOffsets);
+
+    /** Todo el historial del learner, en orden; lee siempre de la BD, sin caché. */
+    List<LocalDate> findAllDates(Long learnerId);
+
+    /** Recuento y extremos de todo el historial, con una sola lectura y sin rango. */
+    AttendanceSummary summarize(Long learnerId);
+}
@@ -0,0 +1,7 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import java.time.LocalDate;
+
+public record AttendanceSummary(long total, LocalDate firstDate, LocalDate lastDate) {
+    public static final AttendanceSummary EMPTY = new AttendanceSummary(0, null, null);
+}
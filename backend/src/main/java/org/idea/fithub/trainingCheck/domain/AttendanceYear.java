@@ -0,0 +1,42 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.idea.fithub.learner.domain.Learner;
+
+@Entity
+@Table(name = "learner_attendance_year",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"learner_id", "attendance_year"}))
+@NoArgsConstructor
+public class AttendanceYear {
+    @Id
+    @Getter
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Getter
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "learner_id", nullable = false)
+    private Learner learner;
+
+    @Getter
+    @Column(name = "attendance_year", nullable = false)
+    private int year;
+
+    @Getter
+    @Setter
+    @Column(nullable = false, length = AttendanceBitmap.BYTES)
+    private byte[] bits;
+
+    @Getter
+    @Version
+    private Long version;
+
+    public AttendanceYear(Learner learner, int year) {
+        this.learner = learner;
+        this.year = year;
+        this.bits = new AttendanceBitmap().toBytes();
+    }
+}
@@ -0,0 +1,289 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.infrastructure.AttendanceYearRepository;
+import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckEntry;
+import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Guarda la asistencia como un mapa de bits de 366 días por learner y año
+ * (48 bytes por fila). Los mapas leídos se cachean en memoria como copias
+ * inmutables; cada escritura trabaja sobre una copia y la publica en la
+ * caché al confirmar la transacción. Cada mapa cacheado lleva la versión
+ * de su fila y nunca se sustituye por uno más antiguo. Las escrituras bloquean la fila del
+ * año, que se crea con un INSERT idempotente, así que dos marcas
+ * concurrentes no se pisan ni fallan. La caché es local a cada nodo y no
+ * caduca: este almacenamiento supone una sola instancia de la aplicación.
+ */
+@Component
+@ConditionalOnProperty(name = "fithub.attendance.storage", havingValue = "bitmap")
+@RequiredArgsConstructor
+@Slf4j
+public class BitmapAttendanceStore implements AttendanceStore {
+    private final AttendanceYearRepository attendanceYearRepository;
+    private final TrainingCheckRepository trainingCheckRepository;
+    private final LearnerRepository learnerRepository;
+
+    @Value("${fithub.attendance.cache-size:10000}")
+    private int cacheSize;
+
+    private final Map<YearKey, CachedBitmap> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<YearKey, CachedBitmap> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+
+    @Override
+    public boolean exists(Long learnerId, LocalDate date) {
+        return bitmap(learnerId, date.getYear()).get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    @Transactional
+    public boolean mark(Long learnerId, LocalDate date) {
+        return update(learnerId, date, true);
+    }
+
+    @Override
+    @Transactional
+    public Set<LocalDate> markAll(Long learnerId, SortedSet<LocalDate> dates) {
+        Set<LocalDate> marked = new TreeSet<>();
+        for (int year = dates.first().getYear(); year <= dates.last().getYear(); year++) {
+            var inYear = dates.subSet(LocalDate.ofYearDay(year, 1), LocalDate.ofYearDay(year + 1, 1));
+            if (inYear.isEmpty())
+                continue;
+
+            var key = new YearKey(learnerId, year);
+            var row = findOrCreate(key);
+            var bitmap = AttendanceBitmap.fromBytes(row.getBits());
+            for (var date : inYear) {
+                if (bitmap.set(date.getDayOfYear() - 1))
+                    marked.add(date);
+            }
+
+            row.setBits(bitmap.toBytes());
+            attendanceYearRepository.save(row);
+            publish(key, bitmap, row);
+        }
+        return marked;
+    }
+
+    // Un mapa por learner y año: se agrupa el lote y se reutiliza markAll
+    @Override
+    @Transactional
+    public List<PendingCheck> markBatch(List<PendingCheck> checks) {
+        Map<Long, SortedSet<LocalDate>> byLearner = new LinkedHashMap<>();
+        for (var check : checks)
+            byLearner.computeIfAbsent(check.learnerId(), id -> new TreeSet<>()).add(check.date());
+
+        var existing = new HashSet<>(learnerRepository.findExistingIds(byLearner.keySet()));
+        List<PendingCheck> marked = new ArrayList<>();
+        byLearner.forEach((learnerId, dates) -> {
+            if (existing.contains(learnerId))
+                markAll(learnerId, dates).forEach(date -> marked.add(new PendingCheck(learnerId, date)));
+        });
+        return marked;
+    }
+
+    @Override
+    @Transactional
+    public boolean unmark(Long learnerId, LocalDate date) {
+        return update(learnerId, date, false);
+    }
+
+    @Override
+    public List<LocalDate> findDates(Long learnerId, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            var start = LocalDate.ofYearDay(year, 1);
+            bitmap(learnerId, year).forEach(fromDay(from, year), toDay(to, year),
+                    day -> dates.add(start.plusDays(day)));
+        }
+        return dates;
+    }
+
+    @Override
+    public void scanDays(Long learnerId, LocalDate from, LocalDate to, IntConsumer dayOffsets) {
+        long start = from.toEpochDay();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            int yearOffset = (int) (LocalDate.ofYearDay(year, 1).toEpochDay() - start);
+            bitmap(learnerId, year).forEach(fromDay(from, year), toDay(to, year),
+                    day -> dayOffsets.accept(yearOffset + day));
+        }
+    }
+
+    @Override
+    public List<LocalDate> findAllDates(Long learnerId) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (var row : attendanceYearRepository.findByLearnerIdOrderByYear(learnerId)) {
+            var start = LocalDate.ofYearDay(row.getYear(), 1);
+            AttendanceBitmap.fromBytes(row.getBits()).forEach(0, start.lengthOfYear() - 1,
+                    day -> dates.add(start.plusDays(day)));
+        }
+        return dates;
+    }
+
+    // Las filas de todos los años en una lectura; la caché no sabe qué años existen
+    @Override
+    public AttendanceSummary summarize(Long learnerId) {
+        long total = 0;
+        LocalDate firstDate = null;
+        LocalDate lastDate = null;
+
+        for (var row : attendanceYearRepository.findByLearnerIdOrderByYear(learnerId)) {
+            var bitmap = AttendanceBitmap.fromBytes(row.getBits());
+            int lastDay = LocalDate.ofYearDay(row.getYear(), 1).lengthOfYear() - 1;
+            int count = bitmap.count(0, lastDay);
+            if (count == 0)
+                continue;
+
+            total += count;
+            if (firstDate == null)
+                firstDate = LocalDate.ofYearDay(row.getYear(), bitmap.first(0, lastDay) + 1);
+            lastDate = LocalDate.ofYearDay(row.getYear(), bitmap.last(0, lastDay) + 1);
+        }
+
+        return total == 0 ? AttendanceSummary.EMPTY : new AttendanceSummary(total, firstDate, lastDate);
+    }
+
+    /**
+     * Vuelca training_check a mapas de bits. Es idempotente: combina con los
+     * bits ya guardados, así que puede repetirse si se interrumpe.
+     */
+    @Transactional
+    public long importFromTrainingChecks() {
+        long imported = 0;
+        YearKey currentKey = null;
+        AttendanceBitmap current = null;
+
+        try (Stream<TrainingCheckEntry> entries = trainingCheckRepository.streamAllEntries()) {
+            for (var entry : (Iterable<TrainingCheckEntry>) entries::iterator) {
+                var key = new YearKey(entry.getLearnerId(), entry.getCheckDate().getYear());
+                if (!key.equals(currentKey)) {
+                    if (current != null)
+                        merge(currentKey, current);
+                    currentKey = key;
+                    current = new AttendanceBitmap();
+                }
+                if (current.set(entry.getCheckDate().getDayOfYear() - 1))
+                    imported++;
+            }
+        }
+        if (current != null)
+            merge(currentKey, current);
+
+        cache.clear();
+        log.info("Asistencia migrada a mapas de bits: {} días", imported);
+        return imported;
+    }
+
+    private boolean update(Long learnerId, LocalDate date, boolean present) {
+        var key = new YearKey(learnerId, date.getYear());
+        var row = findOrCreate(key);
+
+        var bitmap = AttendanceBitmap.fromBytes(row.getBits());
+        int day = date.getDayOfYear() - 1;
+        if (!(present ? bitmap.set(day) : bitmap.clear(day)))
+            return false;
+
+        row.setBits(bitmap.toBytes());
+        attendanceYearRepository.save(row);
+        publish(key, bitmap, row);
+        return true;
+    }
+
+    private void merge(YearKey key, AttendanceBitmap imported) {
+        var row = findOrCreate(key);
+
+        var bitmap = AttendanceBitmap.fromBytes(row.getBits());
+        imported.forEach(0, AttendanceBitmap.DAYS - 1, bitmap::set);
+        row.setBits(bitmap.toBytes());
+        attendanceYearRepository.save(row);
+    }
+
+    // La fila se crea fuera de Hibernate para que la restricción unique resuelva la carrera
+    private AttendanceYear findOrCreate(YearKey key) {
+        return attendanceYearRepository.findForUpdate(key.learnerId(), key.year())
+                .orElseGet(() -> {
+                    attendanceYearRepository.insertIfAbsent(key.learnerId(), key.year(),
+                            new AttendanceBitmap().toBytes());
+                    return attendanceYearRepository.findForUpdate(key.learnerId(), key.year()).orElseThrow();
+                });
+    }
+
+    private AttendanceBitmap bitmap(Long learnerId, int year) {
+        var key = new YearKey(learnerId, year);
+        var cached = cache.get(key);
+        if (cached != null)
+            return cached.bitmap();
+
+        var row = attendanceYearRepository.findByLearnerIdAndYear(learnerId, year);
+        var loaded = row.map(found -> AttendanceBitmap.fromBytes(found.getBits())).orElseGet(AttendanceBitmap::new);
+        cache(key, loaded, row.map(BitmapAttendanceStore::versionOf).orElse(-1L));
+        return loaded;
+    }
+
+    // Se invalida ya y se publica el nuevo mapa solo si la transacción confirma
+    private void publish(YearKey key, AttendanceBitmap bitmap, AttendanceYear row) {
+        cache.remove(key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(key, bitmap, versionOf(row));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(key, bitmap, versionOf(row));
+            }
+        });
+    }
+
+    // Un lector que cargó antes de un commit y cachea después no pisa el mapa ya publicado
+    private void cache(YearKey key, AttendanceBitmap bitmap, long version) {
+        cache.merge(key, new CachedBitmap(bitmap, version),
+                (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    // Tras el flush Hibernate deja en la entidad la versión ya incrementada
+    private static long versionOf(AttendanceYear row) {
+        return row.getVersion() != null ? row.getVersion() : -1L;
+    }
+
+    private static int fromDay(LocalDate from, int year) {
+        return from.getYear() == year ? from.getDayOfYear() - 1 : 0;
+    }
+
+    private static int toDay(LocalDate to, int year) {
+        return to.getYear() == year ? to.getDayOfYear() - 1 : LocalDate.ofYearDay(year, 1).lengthOfYear() - 1;
+    }
+
+    private record YearKey(Long learnerId, int year) {
+    }
+
+    private record CachedBitmap(AttendanceBitmap bitmap, long version) {
+    }
+}
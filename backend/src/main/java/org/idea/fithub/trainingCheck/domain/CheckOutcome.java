@@ -0,0 +1,7 @@
+package org.idea.fithub.trainingCheck.domain;
+
+public enum CheckOutcome {
+    MARKED,
+    ALREADY_MARKED,
+    INVALID
+}
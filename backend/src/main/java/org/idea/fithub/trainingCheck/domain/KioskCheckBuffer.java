@@ -0,0 +1,246 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.idea.fithub.exceptions.TooManyRequestsException;
+import org.idea.fithub.trainingCheck.dto.KioskCheckResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buffer write-behind para las ráfagas del kiosco del gimnasio. Cada pasada
+ * se deduplica en memoria, se anota en un diario en disco (fsync) y se
+ * confirma al momento; un volcado programado escribe lo pendiente en lotes.
+ * Si el nodo cae antes de volcar, el diario se reprocesa al arrancar.
+ * El diario es local: cada nodo vuelca el suyo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KioskCheckBuffer {
+    private static final String JOURNAL = "checks.journal";
+    private static final String FLUSHING = "checks.journal.flushing";
+
+    private final TrainingCheckService trainingCheckService;
+
+    @Value("${fithub.kiosk.journal-dir:kiosk-journal}")
+    private String journalDir;
+
+    @Value("${fithub.kiosk.batch-size:500}")
+    private int batchSize;
+
+    @Value("${fithub.kiosk.max-pending:10000}")
+    private int maxPending;
+
+    private final Set<PendingCheck> pending = ConcurrentHashMap.newKeySet();
+    // Lectura: aceptar pasadas; escritura: rotar el diario junto con el buffer
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private Path journalPath;
+    private Path flushingPath;
+    private FileChannel journal;
+
+    @PostConstruct
+    void recover() throws IOException {
+        var dir = Path.of(journalDir);
+        Files.createDirectories(dir);
+        journalPath = dir.resolve(JOURNAL);
+        flushingPath = dir.resolve(FLUSHING);
+
+        pending.addAll(read(journalPath));
+        journal = open(journalPath);
+        // Un volcado que no llegó a terminar vuelve al diario activo
+        returnFlushing();
+
+        if (!pending.isEmpty())
+            log.info("Recuperadas {} marcas del kiosco sin volcar", pending.size());
+    }
+
+    public KioskCheckResponseDto offer(Collection<Long> learnerIds) {
+        var today = LocalDate.now();
+        List<PendingCheck> accepted = new ArrayList<>();
+
+        journalLock.readLock().lock();
+        try {
+            if (pending.size() + learnerIds.size() > maxPending)
+                throw new TooManyRequestsException("Kiosk check-in buffer is full, please retry");
+
+            for (var learnerId : learnerIds) {
+                var check = new PendingCheck(learnerId, today);
+                if (pending.add(check))
+                    accepted.add(check);
+            }
+
+            try {
+                append(accepted);
+            } catch (IOException e) {
+                // Sin diario no hay garantía: no se confirma nada de esta petición
+                accepted.forEach(pending::remove);
+                throw new UncheckedIOException("Could not write kiosk journal", e);
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+
+        return new KioskCheckResponseDto(today, accepted.size(), learnerIds.size() - accepted.size());
+    }
+
+    @Scheduled(fixedDelayString = "${fithub.kiosk.flush-interval:2000}")
+    public synchronized void flush() {
+        List<PendingCheck> batch;
+        journalLock.writeLock().lock();
+        try {
+            reopen();
+            // Lo que quedó de un volcado sin reencolar vuelve antes de rotar; si no, se pisaría
+            try {
+                returnFlushing();
+            } catch (IOException e) {
+                log.error("No se pudo devolver {} al diario; no se rota", flushingPath, e);
+                return;
+            }
+            if (pending.isEmpty() || !rotate())
+                return;
+
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+
+        int written = 0;
+        for (int i = 0; i < batch.size(); i += batchSize) {
+            var chunk = batch.subList(i, Math.min(i + batchSize, batch.size()));
+            try {
+                written += trainingCheckService.recordPendingChecks(chunk);
+            } catch (RuntimeException e) {
+                log.error("Fallo al volcar marcas del kiosco, se reintentarán", e);
+                if (!requeue(batch.subList(i, batch.size())))
+                    return;
+                break;
+            }
+        }
+
+        try {
+            Files.deleteIfExists(flushingPath);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar {}: {}", flushingPath, e.getMessage());
+        }
+        log.debug("Volcadas {} marcas del kiosco ({} nuevas)", batch.size(), written);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        flush();
+        journal.close();
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    // Lo no escrito vuelve al buffer y al diario activo; si falla, el siguiente volcado lo recoge
+    private boolean requeue(List<PendingCheck> checks) {
+        journalLock.readLock().lock();
+        try {
+            append(checks);
+            pending.addAll(checks);
+            return true;
+        } catch (IOException e) {
+            log.error("No se pudieron reencolar las marcas del kiosco; quedan en {}", flushingPath, e);
+            return false;
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    private void returnFlushing() throws IOException {
+        if (!Files.exists(flushingPath))
+            return;
+
+        var interrupted = read(flushingPath);
+        append(interrupted);
+        pending.addAll(interrupted);
+        Files.delete(flushingPath);
+    }
+
+    // Sin REPLACE_EXISTING: el de volcado ya se devolvió y nunca se sobrescribe
+    private boolean rotate() {
+        try {
+            journal.close();
+            Files.move(journalPath, flushingPath);
+            return true;
+        } catch (IOException e) {
+            log.error("No se pudo rotar el diario del kiosco", e);
+            return false;
+        } finally {
+            reopen();
+        }
+    }
+
+    // Con el canal cerrado fallarían todas las pasadas siguientes
+    private void reopen() {
+        if (journal.isOpen())
+            return;
+
+        try {
+            journal = open(journalPath);
+        } catch (IOException e) {
+            log.error("No se pudo reabrir el diario del kiosco", e);
+        }
+    }
+
+    // FileChannel serializa las escrituras concurrentes; un fsync por petición
+    private void append(List<PendingCheck> checks) throws IOException {
+        if (checks.isEmpty())
+            return;
+
+        var lines = new StringBuilder();
+        for (var check : checks)
+            lines.append(check.learnerId()).append(',').append(check.date()).append('\n');
+
+        var buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining())
+            journal.write(buffer);
+        journal.force(false);
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static List<PendingCheck> read(Path path) throws IOException {
+        List<PendingCheck> checks = new ArrayList<>();
+        if (!Files.exists(path))
+            return checks;
+
+        for (var line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            var parts = line.split(",");
+            try {
+                checks.add(new PendingCheck(Long.parseLong(parts[0]), LocalDate.parse(parts[1])));
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException | DateTimeParseException e) {
+                // Línea cortada por una caída a mitad de escritura: nunca se confirmó
+                log.warn("Línea del diario del kiosco ignorada: {}", line);
+            }
+        }
+        return checks;
+    }
+}
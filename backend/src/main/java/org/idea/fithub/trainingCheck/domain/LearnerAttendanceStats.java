@@ -0,0 +1,169 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Resumen de asistencia de un learner mantenido al marcar y desmarcar.
+ * La racha actual y los contadores de semana y mes se guardan relativos a
+ * su propio periodo; al leerlos se comparan con la fecha de hoy.
+ */
+@Entity
+@Table(name = "learner_attendance_stats")
+@Getter
+@NoArgsConstructor
+public class LearnerAttendanceStats {
+    @Id
+    @Column(name = "learner_id")
+    private Long learnerId;
+
+    private long totalChecks;
+
+    // Racha que termina en lastCheckDate
+    private int currentStreak;
+
+    private int longestStreak;
+
+    private LocalDate weekStart;
+
+    private int weekChecks;
+
+    private LocalDate monthStart;
+
+    private int monthChecks;
+
+    private LocalDate firstCheckDate;
+
+    private LocalDate lastCheckDate;
+
+    @Version
+    private Long version;
+
+    public LearnerAttendanceStats(Long learnerId) {
+        this.learnerId = learnerId;
+    }
+
+    /**
+     * Añade una marca en O(1). Solo es posible si es posterior a la última;
+     * si no, devuelve false y hay que reconstruir con {@link #rebuild}.
+     */
+    public boolean tryAppend(LocalDate date) {
+        if (lastCheckDate != null && !date.isAfter(lastCheckDate))
+            return false;
+
+        currentStreak = lastCheckDate != null && date.equals(lastCheckDate.plusDays(1)) ? currentStreak + 1 : 1;
+        longestStreak = Math.max(longestStreak, currentStreak);
+        if (firstCheckDate == null)
+            firstCheckDate = date;
+        lastCheckDate = date;
+        totalChecks++;
+
+        var week = date.with(DayOfWeek.MONDAY);
+        weekChecks = week.equals(weekStart) ? weekChecks + 1 : 1;
+        weekStart = week;
+
+        var month = date.withDayOfMonth(1);
+        monthChecks = month.equals(monthStart) ? monthChecks + 1 : 1;
+        monthStart = month;
+        return true;
+    }
+
+    /**
+     * Añade en O(1) una marca anterior a la última. Solo es posible si el día
+     * queda aislado (sin marcas el día antes ni el día después): forma una
+     * racha de uno y no cambia ninguna racha existente.
+     */
+    public boolean tryInsertIsolated(LocalDate date, boolean neighbourMarked) {
+        if (lastCheckDate == null || !date.isBefore(lastCheckDate) || neighbourMarked)
+            return false;
+
+        if (date.isBefore(firstCheckDate))
+            firstCheckDate = date;
+        totalChecks++;
+        adjustPeriods(date, 1);
+        return true;
+    }
+
+    /**
+     * Quita una marca en O(1) cuando se puede saber el resultado sin el
+     * historial: un día aislado fuera de la racha actual, o un día de la racha
+     * actual si esta no es la más larga. Devuelve false si el día es el primero,
+     * deja la racha actual sin marca anterior conocida, o puede cambiar la
+     * racha más larga; entonces hay que reconstruir con {@link #rebuild}.
+     */
+    public boolean tryRemove(LocalDate date, boolean neighbourMarked) {
+        if (lastCheckDate == null || date.isAfter(lastCheckDate))
+            return false;
+        if (totalChecks == 1) {
+            rebuild(List.of());
+            return true;
+        }
+        if (date.equals(firstCheckDate))
+            return false;
+
+        var streakStart = lastCheckDate.minusDays(currentStreak - 1L);
+        if (!date.isBefore(streakStart)) {
+            if (currentStreak >= longestStreak)
+                return false;
+
+            if (date.equals(lastCheckDate)) {
+                var previous = date.minusDays(1);
+                if (currentStreak == 1 || !previous.with(DayOfWeek.MONDAY).equals(weekStart)
+                        || !previous.withDayOfMonth(1).equals(monthStart))
+                    return false;
+                lastCheckDate = previous;
+                currentStreak--;
+            } else {
+                currentStreak = (int) ChronoUnit.DAYS.between(date, lastCheckDate);
+            }
+        } else if (neighbourMarked) {
+            return false;
+        }
+
+        totalChecks--;
+        adjustPeriods(date, -1);
+        return true;
+    }
+
+    /** Recalcula todo a partir de las fechas marcadas, ya ordenadas. */
+    public void rebuild(List<LocalDate> sortedDates) {
+        totalChecks = 0;
+        currentStreak = 0;
+        longestStreak = 0;
+        weekStart = null;
+        weekChecks = 0;
+        monthStart = null;
+        monthChecks = 0;
+        firstCheckDate = null;
+        lastCheckDate = null;
+
+        sortedDates.forEach(this::tryAppend);
+    }
+
+    // Una racha sigue viva si la última marca es de hoy o de ayer
+    public int currentStreakOn(LocalDate today) {
+        return lastCheckDate != null && !lastCheckDate.isBefore(today.minusDays(1)) ? currentStreak : 0;
+    }
+
+    public int checksInWeekOf(LocalDate today) {
+        return today.with(DayOfWeek.MONDAY).equals(weekStart) ? weekChecks : 0;
+    }
+
+    public int checksInMonthOf(LocalDate today) {
+        return today.withDayOfMonth(1).equals(monthStart) ? monthChecks : 0;
+    }
+
+    // Los contadores solo cubren la semana y el mes de lastCheckDate
+    private void adjustPeriods(LocalDate date, int delta) {
+        if (date.with(DayOfWeek.MONDAY).equals(weekStart))
+            weekChecks += delta;
+        if (date.withDayOfMonth(1).equals(monthStart))
+            monthChecks += delta;
+    }
+}
@@ -0,0 +1,75 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calcula las estadísticas de asistencia de los learners existentes. Recorre
+ * los ids por lotes y reparte cada lote entre varios hilos; cada learner se
+ * reconstruye en su propia transacción, así que un fallo no para el resto.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LearnerAttendanceStatsBackfill {
+    private static final int BATCH = 500;
+
+    private final LearnerRepository learnerRepository;
+    private final LearnerAttendanceStatsService statsService;
+
+    @Value("${fithub.attendance.stats-backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${fithub.attendance.stats-backfill-threads:4}")
+    private int threads;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup)
+            backfill();
+    }
+
+    public long backfill() {
+        long start = System.currentTimeMillis();
+        var failures = new AtomicLong();
+        long count = 0;
+        long lastId = 0;
+
+        try (var executor = Executors.newFixedThreadPool(Math.max(1, threads))) {
+            while (true) {
+                var ids = learnerRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH));
+                var tasks = ids.stream()
+                        .map(id -> CompletableFuture.runAsync(() -> statsService.rebuild(id), executor)
+                                .exceptionally(e -> {
+                                    failures.incrementAndGet();
+                                    log.warn("No se pudieron calcular las estadísticas del learner {}: {}",
+                                            id, e.getMessage());
+                                    return null;
+                                }))
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture.allOf(tasks).join();
+
+                count += ids.size();
+                if (ids.size() < BATCH)
+                    break;
+                lastId = ids.getLast();
+            }
+        }
+
+        log.info("Estadísticas de asistencia calculadas: {} learners ({} fallos) en {} ms",
+                count, failures.get(), System.currentTimeMillis() - start);
+        return count - failures.get();
+    }
+}
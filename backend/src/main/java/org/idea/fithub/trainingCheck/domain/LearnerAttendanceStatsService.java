@@ -0,0 +1,97 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.dto.LearnerAttendanceStatsDto;
+import org.idea.fithub.trainingCheck.infrastructure.LearnerAttendanceStatsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.SortedSet;
+
+/**
+ * Mantiene learner_attendance_stats. Una marca posterior a la última (el
+ * caso normal, marcar hoy) se aplica en O(1). Marcar un día pasado o
+ * desmarcar también es O(1) mirando solo los días vecinos en el store,
+ * salvo que el día mueva los límites de una racha que pueda ser la más
+ * larga, o sea la primera marca: solo ese caso raro reconstruye a partir
+ * del historial del learner.
+ */
+@Service
+@RequiredArgsConstructor
+public class LearnerAttendanceStatsService {
+    private final LearnerAttendanceStatsRepository statsRepository;
+    private final LearnerRepository learnerRepository;
+    private final AttendanceStore attendanceStore;
+
+    @Transactional
+    public void recordMark(Long learnerId, LocalDate date) {
+        var stats = lockedStats(learnerId);
+        if (!stats.tryAppend(date) && !stats.tryInsertIsolated(date, neighbourMarked(learnerId, date)))
+            stats.rebuild(attendanceStore.findAllDates(learnerId));
+        statsRepository.save(stats);
+    }
+
+    @Transactional
+    public void recordMarks(Long learnerId, SortedSet<LocalDate> dates) {
+        var stats = lockedStats(learnerId);
+        for (var date : dates) {
+            if (!stats.tryAppend(date) && !stats.tryInsertIsolated(date, neighbourMarked(learnerId, date))) {
+                stats.rebuild(attendanceStore.findAllDates(learnerId));
+                break;
+            }
+        }
+        statsRepository.save(stats);
+    }
+
+    @Transactional
+    public void recordUnmark(Long learnerId, LocalDate date) {
+        var stats = lockedStats(learnerId);
+        if (!stats.tryRemove(date, neighbourMarked(learnerId, date)))
+            stats.rebuild(attendanceStore.findAllDates(learnerId));
+        statsRepository.save(stats);
+    }
+
+    @Transactional
+    public void rebuild(Long learnerId) {
+        var stats = lockedStats(learnerId);
+        stats.rebuild(attendanceStore.findAllDates(learnerId));
+        statsRepository.save(stats);
+    }
+
+    @Transactional(readOnly = true)
+    public LearnerAttendanceStatsDto getStats(Long learnerId) {
+        var stats = statsRepository.findById(learnerId).orElseGet(() -> {
+            if (!learnerRepository.existsById(learnerId))
+                throw new ResourceNotFoundException("Learner not found with id: " + learnerId);
+            return new LearnerAttendanceStats(learnerId);
+        });
+
+        var today = LocalDate.now();
+        return new LearnerAttendanceStatsDto(
+                learnerId,
+                stats.getTotalChecks(),
+                stats.currentStreakOn(today),
+                stats.getLongestStreak(),
+                stats.checksInWeekOf(today),
+                stats.checksInMonthOf(today),
+                stats.getFirstCheckDate(),
+                stats.getLastCheckDate());
+    }
+
+    // Se consulta con el día ya marcado o desmarcado en el store
+    private boolean neighbourMarked(Long learnerId, LocalDate date) {
+        return attendanceStore.exists(learnerId, date.minusDays(1))
+                || attendanceStore.exists(learnerId, date.plusDays(1));
+    }
+
+    // Dos primeras marcas a la vez: ambas insertan sin fallar y se serializan en el bloqueo
+    private LearnerAttendanceStats lockedStats(Long learnerId) {
+        return statsRepository.findForUpdate(learnerId).orElseGet(() -> {
+            statsRepository.insertIfAbsent(learnerId);
+            return statsRepository.findForUpdate(learnerId).orElseThrow();
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import java.time.LocalDate;
+
+/** Marca de asistencia aceptada por el kiosco y aún no escrita en la BD. */
+public record PendingCheck(Long learnerId, LocalDate date) {
+}
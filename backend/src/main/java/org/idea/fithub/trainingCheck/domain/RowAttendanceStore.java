@@ -0,0 +1,117 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Almacenamiento original: una fila de training_check por día marcado.
+ * La restricción unique (learner_id, date) es la que evita duplicados: el
+ * marcado individual es un INSERT ... ON CONFLICT DO NOTHING y, en el
+ * masivo, una carrera termina en DataIntegrityViolationException (409).
+ */
+@Component
+@ConditionalOnProperty(name = "fithub.attendance.storage", havingValue = "row", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RowAttendanceStore implements AttendanceStore {
+    // El EXISTS descarta learners borrados sin romper el lote por la clave foránea
+    private static final String INSERT_IF_LEARNER_EXISTS =
+            "INSERT INTO training_check (id, date, learner_id) " +
+            "SELECT nextval('training_check_seq'), ?, l.id FROM learners l WHERE l.id = ? " +
+            "ON CONFLICT (learner_id, date) DO NOTHING";
+
+    private final TrainingCheckRepository trainingCheckRepository;
+    private final LearnerRepository learnerRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean exists(Long learnerId, LocalDate date) {
+        return trainingCheckRepository.existsByLearnerIdAndDate(learnerId, date);
+    }
+
+    @Override
+    public boolean mark(Long learnerId, LocalDate date) {
+        return trainingCheckRepository.insertIfAbsent(learnerId, date) == 1;
+    }
+
+    @Override
+    public Set<LocalDate> markAll(Long learnerId, SortedSet<LocalDate> dates) {
+        var existing = new HashSet<>(trainingCheckRepository.findDatesByLearnerIdBetween(
+                learnerId, dates.first(), dates.last()));
+
+        var learner = learnerRepository.getReferenceById(learnerId);
+        Set<LocalDate> marked = new TreeSet<>();
+        List<TrainingCheck> checks = new ArrayList<>();
+        for (var date : dates) {
+            if (!existing.contains(date)) {
+                marked.add(date);
+                checks.add(new TrainingCheck(date, learner));
+            }
+        }
+
+        // Se envían en un único batch JDBC (hibernate.jdbc.batch_size)
+        trainingCheckRepository.saveAll(checks);
+        return marked;
+    }
+
+    // Un único batch JDBC; el recuento de cada sentencia dice si la fila era nueva
+    @Override
+    public List<PendingCheck> markBatch(List<PendingCheck> checks) {
+        List<Object[]> args = new ArrayList<>(checks.size());
+        for (var check : checks)
+            args.add(new Object[]{check.date(), check.learnerId()});
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_LEARNER_EXISTS, args);
+        List<PendingCheck> marked = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0)
+                marked.add(checks.get(i));
+        }
+        return marked;
+    }
+
+    @Override
+    public boolean unmark(Long learnerId, LocalDate date) {
+        var trainingCheck = trainingCheckRepository.findByLearnerIdAndDate(learnerId, date);
+        trainingCheck.ifPresent(trainingCheckRepository::delete);
+        return trainingCheck.isPresent();
+    }
+
+    @Override
+    public List<LocalDate> findDates(Long learnerId, LocalDate from, LocalDate to) {
+        return trainingCheckRepository.findDatesByLearnerIdBetween(learnerId, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scanDays(Long learnerId, LocalDate from, LocalDate to, IntConsumer dayOffsets) {
+        long start = from.toEpochDay();
+        try (var dates = trainingCheckRepository.streamDatesByLearnerIdBetween(learnerId, from, to)) {
+            dates.forEach(date -> dayOffsets.accept((int) (date.toEpochDay() - start)));
+        }
+    }
+
+    @Override
+    public List<LocalDate> findAllDates(Long learnerId) {
+        return trainingCheckRepository.findDatesByLearnerId(learnerId);
+    }
+
+    @Override
+    public AttendanceSummary summarize(Long learnerId) {
+        var summary = trainingCheckRepository.summarizeByLearnerId(learnerId);
+        return new AttendanceSummary(summary.getTotal(), summary.getFirstDate(), summary.getLastDate());
+    }
+}
@@ -0,0 +1,40 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Entrenadores a los que se sumó la marca de un learner en un día. Al
+ * desmarcar se resta a estos mismos, aunque los programas hayan cambiado
+ * desde entonces.
+ */
+@Entity
+@Table(name = "trainer_attendance_credit")
+@Getter
+@NoArgsConstructor
+public class TrainerAttendanceCredit {
+    @EmbeddedId
+    private LearnerTrainerDay id;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class LearnerTrainerDay implements Serializable {
+        @Column(name = "learner_id")
+        private Long learnerId;
+
+        @Column(name = "attendance_date")
+        private LocalDate date;
+
+        @Column(name = "trainer_id")
+        private Long trainerId;
+    }
+}
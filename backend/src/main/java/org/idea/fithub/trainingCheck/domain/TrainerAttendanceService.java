@@ -0,0 +1,116 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.idea.fithub.exceptions.BadRequestException;
+import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.program.infrastructure.ProgramRepository;
+import org.idea.fithub.trainer.infrastructure.TrainerRepository;
+import org.idea.fithub.trainingCheck.dto.TrainerAttendanceDto;
+import org.idea.fithub.trainingCheck.dto.TrainerAttendanceDto.PeriodCount;
+import org.idea.fithub.trainingCheck.infrastructure.DailyCheckCount;
+import org.idea.fithub.trainingCheck.infrastructure.TrainerDailyAttendanceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Asistencia agregada de los learners de un entrenador. Cada marca suma uno
+ * en trainer_daily_attendance para los entrenadores con un programa activo
+ * del learner ese día, así el panel lee filas por día en lugar de recorrer
+ * learners y marcas. Desmarcar resta a los mismos entrenadores que sumaron
+ * la marca, guardados en trainer_attendance_credit.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrainerAttendanceService {
+    private static final int DEFAULT_DAYS = 28;
+    private static final int MAX_DAYS = 366;
+
+    private final TrainerDailyAttendanceRepository dailyAttendanceRepository;
+    private final ProgramRepository programRepository;
+    private final TrainerRepository trainerRepository;
+
+    @Transactional
+    public void recordMark(Long learnerId, LocalDate date) {
+        dailyAttendanceRepository.increment(learnerId, date);
+    }
+
+    @Transactional
+    public void recordMarks(Long learnerId, Collection<LocalDate> dates) {
+        dates.forEach(date -> dailyAttendanceRepository.increment(learnerId, date));
+    }
+
+    @Transactional
+    public void recordUnmark(Long learnerId, LocalDate date) {
+        dailyAttendanceRepository.decrement(learnerId, date);
+    }
+
+    /**
+     * Recalcula los agregados desde el historial completo con INSERT ... SELECT:
+     * acredita las marcas que aún no lo estaban según los programas actuales y
+     * rehace los contadores por día. Devuelve las filas por día resultantes.
+     */
+    @Transactional
+    public int rebuildDailyAttendance(boolean bitmapStorage) {
+        if (bitmapStorage)
+            dailyAttendanceRepository.creditBitmapChecks();
+        else
+            dailyAttendanceRepository.creditRowChecks();
+        dailyAttendanceRepository.deleteAllCounts();
+        return dailyAttendanceRepository.insertCountsFromCredits();
+    }
+
+    @Transactional(readOnly = true)
+    public TrainerAttendanceDto getCohortAttendance(Long trainerId, LocalDate from, LocalDate to) {
+        if (!trainerRepository.existsById(trainerId))
+            throw new ResourceNotFoundException("Trainer not found with id: " + trainerId);
+
+        var rangeEnd = to != null ? to : LocalDate.now();
+        var rangeStart = from != null ? from : rangeEnd.minusDays(DEFAULT_DAYS - 1);
+        if (rangeStart.isAfter(rangeEnd))
+            throw new BadRequestException("'from' date must not be after 'to' date");
+
+        long days = ChronoUnit.DAYS.between(rangeStart, rangeEnd) + 1;
+        if (days > MAX_DAYS)
+            throw new BadRequestException("Date range cannot exceed " + MAX_DAYS + " days");
+
+        Map<LocalDate, Long> counts = dailyAttendanceRepository.findDailyCounts(trainerId, rangeStart, rangeEnd)
+                .stream()
+                .collect(Collectors.toMap(DailyCheckCount::getAttendanceDate, DailyCheckCount::getChecks));
+
+        // Serie diaria completa (con ceros) y su agregado por semana ISO
+        List<PeriodCount> daily = new ArrayList<>((int) days);
+        Map<LocalDate, Long> weekly = new TreeMap<>();
+        long totalChecks = 0;
+        for (var date = rangeStart; !date.isAfter(rangeEnd); date = date.plusDays(1)) {
+            long checks = counts.getOrDefault(date, 0L);
+            daily.add(new PeriodCount(date, checks));
+            weekly.merge(date.with(DayOfWeek.MONDAY), checks, Long::sum);
+            totalChecks += checks;
+        }
+
+        long activeLearners = programRepository.countActiveLearners(trainerId, rangeEnd);
+        double adherence = activeLearners == 0 ? 0 : (double) totalChecks / (activeLearners * days);
+
+        return new TrainerAttendanceDto(
+                trainerId,
+                rangeStart,
+                rangeEnd,
+                activeLearners,
+                totalChecks,
+                Math.round(Math.min(adherence, 1) * 1000) / 1000.0,
+                daily,
+                weekly.entrySet().stream()
+                        .map(week -> new PeriodCount(week.getKey(), week.getValue()))
+                        .toList());
+    }
+}
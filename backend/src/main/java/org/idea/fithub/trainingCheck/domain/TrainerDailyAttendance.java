@@ -0,0 +1,40 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Marcas por entrenador y día de los learners que estaban en alguno de sus
+ * programas activos ese día. Se mantiene con upserts al marcar y desmarcar;
+ * {@link TrainerAttendanceCredit} recuerda a quién se sumó cada marca.
+ */
+@Entity
+@Table(name = "trainer_daily_attendance")
+@Getter
+@NoArgsConstructor
+public class TrainerDailyAttendance {
+    @EmbeddedId
+    private TrainerDay id;
+
+    @Column(nullable = false)
+    private long checks;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class TrainerDay implements Serializable {
+        @Column(name = "trainer_id")
+        private Long trainerId;
+
+        @Column(name = "attendance_date")
+        private LocalDate date;
+    }
+}
@@ -0,0 +1,41 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Llena trainer_daily_attendance con las marcas anteriores a su creación.
+ * Es una sola transacción de dos INSERT ... SELECT sobre el almacenamiento
+ * de asistencia configurado; puede repetirse sin duplicar contadores.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrainerDailyAttendanceBackfill {
+    private final TrainerAttendanceService trainerAttendanceService;
+
+    @Value("${fithub.attendance.storage:row}")
+    private String storage;
+
+    @Value("${fithub.attendance.trainer-backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup)
+            backfill();
+    }
+
+    public int backfill() {
+        long start = System.currentTimeMillis();
+        int rows = trainerAttendanceService.rebuildDailyAttendance("bitmap".equals(storage));
+        log.info("Asistencia por entrenador calculada: {} filas en {} ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+}
@@ -9,7 +9,9 @@ import org.idea.fithub.learner.domain.Learner;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "training_check")
+@Table(name = "training_check",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_training_check_learner_date", columnNames = {"learner_id", "date"}))
 @NoArgsConstructor
 public class TrainingCheck {
     @Id
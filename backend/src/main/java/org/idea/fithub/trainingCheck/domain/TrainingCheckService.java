@@ -6,16 +6,28 @@ import org.idea.fithub.exceptions.BadRequestException;
 import org.idea.fithub.exceptions.DuplicateResourceException;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
 import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.dto.BulkCheckResponseDto;
+import org.idea.fithub.trainingCheck.dto.CheckResultDto;
+import org.idea.fithub.trainingCheck.dto.CompactAttendanceDto;
+import org.idea.fithub.trainingCheck.dto.LearnerAttendanceStatsDto;
 import org.idea.fithub.trainingCheck.dto.TrainingCheckResponseDto;
-import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
 public class TrainingCheckService {
-    private final TrainingCheckRepository trainingCheckRepository;
+    private final AttendanceStore attendanceStore;
+    private final LearnerAttendanceStatsService attendanceStatsService;
+    private final TrainerAttendanceService trainerAttendanceService;
     private final LearnerRepository learnerRepository;
 
     @Transactional
@@ -23,23 +35,62 @@ public class TrainingCheckService {
         var learner = learnerRepository.findById(learnerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Learner not found with id: " + learnerId));
 
-        if (date == null) {
-            throw new BadRequestException("Date cannot be null");
+        var error = validateCheckDate(date, LocalDate.now());
+        if (error != null)
+            throw new BadRequestException(error);
+
+        if (!attendanceStore.mark(learner.getId(), date))
+            throw new DuplicateResourceException("Learner has already marked attendance for this day.");
+
+        attendanceStatsService.recordMark(learner.getId(), date);
+        trainerAttendanceService.recordMark(learner.getId(), date);
+    }
+
+    @Transactional
+    public BulkCheckResponseDto markChecks(Long learnerId, List<LocalDate> dates) {
+        var learner = learnerRepository.findById(learnerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Learner not found with id: " + learnerId));
+
+        // Se valida todo en memoria y se resuelven los existentes con una sola lectura
+        var today = LocalDate.now();
+        SortedSet<LocalDate> validDates = new TreeSet<>();
+        for (var date : dates) {
+            if (validateCheckDate(date, today) == null)
+                validDates.add(date);
         }
 
-        if (date.isAfter(LocalDate.now())) {
-            throw new BadRequestException("Cannot mark attendance for a future date: " + date);
+        Set<LocalDate> marked = validDates.isEmpty()
+                ? Set.of()
+                : attendanceStore.markAll(learner.getId(), validDates);
+        if (!marked.isEmpty()) {
+            attendanceStatsService.recordMarks(learner.getId(), new TreeSet<>(marked));
+            trainerAttendanceService.recordMarks(learner.getId(), marked);
         }
 
-        if (date.isBefore(LocalDate.now().minusYears(1))) {
-            throw new BadRequestException("Cannot mark attendance for dates older than 1 year");
+        Set<LocalDate> reported = new HashSet<>();
+        List<CheckResultDto> results = new ArrayList<>(dates.size());
+        for (var date : dates) {
+            var error = validateCheckDate(date, today);
+            if (error != null)
+                results.add(new CheckResultDto(date, CheckOutcome.INVALID, error));
+            else if (marked.contains(date) && reported.add(date))
+                results.add(new CheckResultDto(date, CheckOutcome.MARKED, null));
+            else
+                results.add(new CheckResultDto(date, CheckOutcome.ALREADY_MARKED, null));
         }
 
-        if (trainingCheckRepository.existsByLearnerAndDate(learner, date))
-            throw new DuplicateResourceException("Learner has already marked attendance for this day.");
+        return new BulkCheckResponseDto(learner.getId(), marked.size(), results);
+    }
 
-        trainingCheckRepository.save(
-                new TrainingCheck(date, learner));
+    // Volcado del buffer del kiosco: un lote de varios learners en una transacción
+    @Transactional
+    public int recordPendingChecks(List<PendingCheck> checks) {
+        var marked = attendanceStore.markBatch(checks);
+        for (var check : marked) {
+            attendanceStatsService.recordMark(check.learnerId(), check.date());
+            trainerAttendanceService.recordMark(check.learnerId(), check.date());
+        }
+        return marked.size();
     }
 
     @Transactional
@@ -51,26 +102,86 @@ public class TrainingCheckService {
             throw new BadRequestException("Date cannot be null");
         }
 
-        var trainingCheck = trainingCheckRepository.findByLearnerAndDate(learner, date)
-                .orElseThrow(() -> new ResourceNotFoundException("There is no register for that day"));
+        if (!attendanceStore.unmark(learner.getId(), date))
+            throw new ResourceNotFoundException("There is no register for that day");
 
-        trainingCheckRepository.delete(trainingCheck);
+        attendanceStatsService.recordUnmark(learner.getId(), date);
+        trainerAttendanceService.recordUnmark(learner.getId(), date);
     }
 
-    public TrainingCheckResponseDto getTrainingCheck(Long learnerId) {
+    public TrainingCheckResponseDto getTrainingCheck(Long learnerId, LocalDate from, LocalDate to) {
         var learner = learnerRepository.findById(learnerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Learner not found with id: " + learnerId));
 
-        var learnerChecks = trainingCheckRepository.findByLearner(learner);
-        var checkDates = learnerChecks.stream()
-                .map(TrainingCheck::getDate)
-                .sorted()
-                .toList();
+        // Total y duración son de todo el historial; el rango solo acota la lista de días
+        var range = DateRange.resolve(from, to);
+        var summary = attendanceStore.summarize(learnerId);
+        var checkDates = attendanceStore.findDates(learnerId, range.from(), range.to());
 
         return new TrainingCheckResponseDto(
                 learner.getId(),
-                checkDates.size(),
-                learner.calculateDuration(checkDates),
+                (int) summary.total(),
+                learner.calculateDuration(summary.firstDate(), summary.lastDate()),
                 checkDates);
     }
+
+    // Codifica mientras recorre el almacenamiento; total y duración, como en getTrainingCheck, son de todo el historial
+    @Transactional
+    public CompactAttendanceDto getCompactTrainingCheck(Long learnerId, LocalDate from, LocalDate to,
+                                                        AttendanceEncoding encoding) {
+        var learner = learnerRepository.findById(learnerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Learner not found with id: " + learnerId));
+
+        var range = DateRange.resolve(from, to);
+        var summary = attendanceStore.summarize(learnerId);
+        var encoder = encoding.newEncoder(
+                Math.toIntExact(range.to().toEpochDay() - range.from().toEpochDay() + 1));
+        attendanceStore.scanDays(learnerId, range.from(), range.to(), encoder);
+
+        return new CompactAttendanceDto(
+                learner.getId(),
+                (int) summary.total(),
+                learner.calculateDuration(summary.firstDate(), summary.lastDate()),
+                range.from(),
+                range.to(),
+                encoding.name().toLowerCase(),
+                encoder.runs(),
+                encoder.bits());
+    }
+
+    public LearnerAttendanceStatsDto getAttendanceStats(Long learnerId) {
+        return attendanceStatsService.getStats(learnerId);
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+        // Veinte años: acota el recorrido por años del almacenamiento y el tamaño de la codificación
+        private static final long MAX_DAYS = 20 * 366;
+
+        // La lista de días por defecto es el último año, que es lo que se puede marcar
+        static DateRange resolve(LocalDate from, LocalDate to) {
+            var rangeEnd = to != null ? to : LocalDate.now();
+            var rangeStart = from != null ? from : rangeEnd.minusYears(1);
+
+            if (rangeStart.isAfter(rangeEnd))
+                throw new BadRequestException("'from' date must not be after 'to' date");
+
+            if (ChronoUnit.DAYS.between(rangeStart, rangeEnd) + 1 > MAX_DAYS)
+                throw new BadRequestException("Date range cannot exceed " + MAX_DAYS + " days");
+
+            return new DateRange(rangeStart, rangeEnd);
+        }
+    }
+
+    private static String validateCheckDate(LocalDate date, LocalDate today) {
+        if (date == null)
+            return "Date cannot be null";
+
+        if (date.isAfter(today))
+            return "Cannot mark attendance for a future date: " + date;
+
+        if (date.isBefore(today.minusYears(1)))
+            return "Cannot mark attendance for dates older than 1 year";
+
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCheckRequestDto {
+    @NotEmpty
+    @Size(max = 366)
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private List<LocalDate> dates;
+}
@@ -0,0 +1,14 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkCheckResponseDto {
+    private Long learnerId;
+    private Integer marked;
+    private List<CheckResultDto> results;
+}
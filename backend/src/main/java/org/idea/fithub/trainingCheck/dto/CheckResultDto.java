@@ -0,0 +1,19 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.idea.fithub.trainingCheck.domain.CheckOutcome;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CheckResultDto {
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private LocalDate date;
+    private CheckOutcome outcome;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactAttendanceDto {
+    private Long learnerId;
+    private Integer totalChecks;
+    private String duration;
+    private LocalDate from;
+    private LocalDate to;
+    private String encoding;
+    // RLE: [hueco, racha, hueco, racha, ...] en días desde "from"
+    private int[] runs;
+    // BITMAP: un bit por día desde "from", LSB primero, Base64 URL sin relleno
+    private String bits;
+}
@@ -0,0 +1,19 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskCheckRequestDto {
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotNull Long> learnerIds;
+}
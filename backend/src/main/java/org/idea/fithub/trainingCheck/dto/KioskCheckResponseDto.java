@@ -0,0 +1,16 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class KioskCheckResponseDto {
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private LocalDate date;
+    private Integer accepted;
+    private Integer alreadyPending;
+}
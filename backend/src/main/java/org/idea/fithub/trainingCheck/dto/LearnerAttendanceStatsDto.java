@@ -0,0 +1,19 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class LearnerAttendanceStatsDto {
+    private Long learnerId;
+    private Long totalChecks;
+    private Integer currentStreak;
+    private Integer longestStreak;
+    private Integer checksThisWeek;
+    private Integer checksThisMonth;
+    private LocalDate firstCheckDate;
+    private LocalDate lastCheckDate;
+}
@@ -0,0 +1,23 @@
+package org.idea.fithub.trainingCheck.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TrainerAttendanceDto {
+    private Long trainerId;
+    private LocalDate from;
+    private LocalDate to;
+    private Long activeLearners;
+    private Long totalChecks;
+    private Double adherenceRate;
+    private List<PeriodCount> daily;
+    private List<PeriodCount> weekly;
+
+    public record PeriodCount(LocalDate start, long checks) {
+    }
+}
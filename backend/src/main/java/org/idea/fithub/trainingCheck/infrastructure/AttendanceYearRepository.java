@@ -0,0 +1,32 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import jakarta.persistence.LockModeType;
+import org.idea.fithub.trainingCheck.domain.AttendanceYear;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendanceYearRepository extends JpaRepository<AttendanceYear, Long> {
+    Optional<AttendanceYear> findByLearnerIdAndYear(Long learnerId, int year);
+
+    List<AttendanceYear> findByLearnerIdOrderByYear(Long learnerId);
+
+    // Bloquea la fila: las escrituras del mismo learner y año se serializan
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ay FROM AttendanceYear ay WHERE ay.learner.id = :learnerId AND ay.year = :year")
+    Optional<AttendanceYear> findForUpdate(@Param("learnerId") Long learnerId, @Param("year") int year);
+
+    // Dos primeras marcas a la vez no chocan: la segunda no inserta nada (0 filas)
+    @Modifying
+    @Query(value = "INSERT INTO learner_attendance_year (id, learner_id, attendance_year, bits, version) " +
+            "VALUES (nextval('attendance_year_seq'), :learnerId, :year, :bits, 0) " +
+            "ON CONFLICT (learner_id, attendance_year) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("learnerId") Long learnerId, @Param("year") int year, @Param("bits") byte[] bits);
+}
@@ -0,0 +1,9 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import java.time.LocalDate;
+
+public interface DailyCheckCount {
+    LocalDate getAttendanceDate();
+
+    Long getChecks();
+}
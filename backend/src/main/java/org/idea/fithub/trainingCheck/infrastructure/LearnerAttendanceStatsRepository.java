@@ -0,0 +1,27 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import jakarta.persistence.LockModeType;
+import org.idea.fithub.trainingCheck.domain.LearnerAttendanceStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LearnerAttendanceStatsRepository extends JpaRepository<LearnerAttendanceStats, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM LearnerAttendanceStats s WHERE s.learnerId = :learnerId")
+    Optional<LearnerAttendanceStats> findForUpdate(@Param("learnerId") Long learnerId);
+
+    // Fila vacía para la primera marca; si otra transacción ya la creó no inserta nada (0 filas)
+    @Modifying
+    @Query(value = "INSERT INTO learner_attendance_stats " +
+            "(learner_id, total_checks, current_streak, longest_streak, week_checks, month_checks, version) " +
+            "VALUES (:learnerId, 0, 0, 0, 0, 0, 0) " +
+            "ON CONFLICT (learner_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("learnerId") Long learnerId);
+}
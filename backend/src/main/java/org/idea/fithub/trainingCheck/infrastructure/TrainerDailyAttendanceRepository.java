@@ -0,0 +1,87 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import org.idea.fithub.trainingCheck.domain.TrainerDailyAttendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TrainerDailyAttendanceRepository
+        extends JpaRepository<TrainerDailyAttendance, TrainerDailyAttendance.TrainerDay> {
+
+    // Entrenadores con un programa del learner activo en la fecha
+    String ACTIVE_TRAINERS = "SELECT DISTINCT p.trainer_id FROM programs p " +
+            "WHERE p.learner_id = :learnerId AND p.trainer_id IS NOT NULL " +
+            "AND (p.start_date IS NULL OR p.start_date <= CAST(:date AS date)) " +
+            "AND (p.end_date IS NULL OR p.end_date >= CAST(:date AS date))";
+
+    // Días marcados según el almacenamiento de asistencia
+    String ROW_CHECKS = "SELECT tc.learner_id, tc.date AS attendance_date FROM training_check tc";
+    String BITMAP_CHECKS = "SELECT ay.learner_id, make_date(ay.attendance_year, 1, 1) + d.day AS attendance_date " +
+            "FROM learner_attendance_year ay CROSS JOIN generate_series(0, 365) AS d(day) " +
+            "WHERE get_bit(ay.bits, d.day) = 1";
+
+    // Cada día marcado (c) con los entrenadores de sus programas activos ese día
+    String CHECK_TRAINERS = "JOIN programs p ON p.learner_id = c.learner_id AND p.trainer_id IS NOT NULL " +
+            "AND (p.start_date IS NULL OR p.start_date <= c.attendance_date) " +
+            "AND (p.end_date IS NULL OR p.end_date >= c.attendance_date) ";
+
+    // Solo suma a los entrenadores que aún no tenían esta marca acreditada
+    @Modifying
+    @Transactional
+    @Query(value = "WITH credited AS (" +
+            "INSERT INTO trainer_attendance_credit (learner_id, attendance_date, trainer_id) " +
+            "SELECT :learnerId, CAST(:date AS date), t.trainer_id FROM (" + ACTIVE_TRAINERS + ") t " +
+            "ON CONFLICT DO NOTHING RETURNING trainer_id) " +
+            "INSERT INTO trainer_daily_attendance (trainer_id, attendance_date, checks) " +
+            "SELECT trainer_id, CAST(:date AS date), 1 FROM credited " +
+            "ON CONFLICT (trainer_id, attendance_date) " +
+            "DO UPDATE SET checks = trainer_daily_attendance.checks + 1", nativeQuery = true)
+    int increment(@Param("learnerId") Long learnerId, @Param("date") LocalDate date);
+
+    // Resta a los entrenadores acreditados al marcar, no a los de ahora
+    @Modifying
+    @Transactional
+    @Query(value = "WITH removed AS (" +
+            "DELETE FROM trainer_attendance_credit " +
+            "WHERE learner_id = :learnerId AND attendance_date = CAST(:date AS date) RETURNING trainer_id) " +
+            "UPDATE trainer_daily_attendance SET checks = checks - 1 " +
+            "WHERE attendance_date = CAST(:date AS date) AND checks > 0 " +
+            "AND trainer_id IN (SELECT trainer_id FROM removed)", nativeQuery = true)
+    int decrement(@Param("learnerId") Long learnerId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Query(value = "INSERT INTO trainer_attendance_credit (learner_id, attendance_date, trainer_id) " +
+            "SELECT DISTINCT c.learner_id, c.attendance_date, p.trainer_id FROM (" + ROW_CHECKS + ") c " +
+            CHECK_TRAINERS + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int creditRowChecks();
+
+    @Modifying
+    @Query(value = "INSERT INTO trainer_attendance_credit (learner_id, attendance_date, trainer_id) " +
+            "SELECT DISTINCT c.learner_id, c.attendance_date, p.trainer_id FROM (" + BITMAP_CHECKS + ") c " +
+            CHECK_TRAINERS + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int creditBitmapChecks();
+
+    @Modifying
+    @Query(value = "DELETE FROM trainer_daily_attendance", nativeQuery = true)
+    int deleteAllCounts();
+
+    @Modifying
+    @Query(value = "INSERT INTO trainer_daily_attendance (trainer_id, attendance_date, checks) " +
+            "SELECT trainer_id, attendance_date, COUNT(*) FROM trainer_attendance_credit " +
+            "GROUP BY trainer_id, attendance_date", nativeQuery = true)
+    int insertCountsFromCredits();
+
+    @Query("SELECT t.id.date AS attendanceDate, t.checks AS checks FROM TrainerDailyAttendance t " +
+            "WHERE t.id.trainerId = :trainerId AND t.id.date BETWEEN :from AND :to " +
+            "ORDER BY t.id.date")
+    List<DailyCheckCount> findDailyCounts(@Param("trainerId") Long trainerId,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to);
+}
@@ -0,0 +1,9 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import java.time.LocalDate;
+
+public interface TrainingCheckEntry {
+    Long getLearnerId();
+
+    LocalDate getCheckDate();
+}
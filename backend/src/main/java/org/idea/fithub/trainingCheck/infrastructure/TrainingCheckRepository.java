@@ -3,11 +3,16 @@ package org.idea.fithub.trainingCheck.infrastructure;
 import org.idea.fithub.learner.domain.Learner;
 import org.idea.fithub.trainingCheck.domain.TrainingCheck;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TrainingCheckRepository extends JpaRepository<TrainingCheck, Long> {
@@ -18,4 +23,43 @@ public interface TrainingCheckRepository extends JpaRepository<TrainingCheck, Lo
     Integer countByLearner(Learner learner);
 
     List<TrainingCheck> findByLearner(Learner learner);
+
+    boolean existsByLearnerIdAndDate(Long learnerId, LocalDate date);
+
+    // Un solo INSERT; la restricción unique decide si el día ya estaba marcado (0 filas)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO training_check (id, date, learner_id) " +
+            "VALUES (nextval('training_check_seq'), :date, :learnerId) " +
+            "ON CONFLICT (learner_id, date) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("learnerId") Long learnerId, @Param("date") LocalDate date);
+
+    Optional<TrainingCheck> findByLearnerIdAndDate(Long learnerId, LocalDate date);
+
+    // Solo las fechas, ya ordenadas, sin hidratar entidades
+    @Query("SELECT tc.date FROM TrainingCheck tc " +
+            "WHERE tc.learner.id = :learnerId AND tc.date BETWEEN :from AND :to " +
+            "ORDER BY tc.date")
+    List<LocalDate> findDatesByLearnerIdBetween(@Param("learnerId") Long learnerId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    @Query("SELECT tc.date FROM TrainingCheck tc " +
+            "WHERE tc.learner.id = :learnerId AND tc.date BETWEEN :from AND :to " +
+            "ORDER BY tc.date")
+    Stream<LocalDate> streamDatesByLearnerIdBetween(@Param("learnerId") Long learnerId,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+
+    @Query("SELECT tc.date FROM TrainingCheck tc WHERE tc.learner.id = :learnerId ORDER BY tc.date")
+    List<LocalDate> findDatesByLearnerId(@Param("learnerId") Long learnerId);
+
+    @Query("SELECT COUNT(tc) AS total, MIN(tc.date) AS firstDate, MAX(tc.date) AS lastDate " +
+            "FROM TrainingCheck tc WHERE tc.learner.id = :learnerId")
+    TrainingCheckSummary summarizeByLearnerId(@Param("learnerId") Long learnerId);
+
+    // Recorrido completo para migrar a mapas de bits, agrupado por learner
+    @Query("SELECT tc.learner.id AS learnerId, tc.date AS checkDate FROM TrainingCheck tc " +
+            "ORDER BY tc.learner.id, tc.date")
+    Stream<TrainingCheckEntry> streamAllEntries();
 }
\ No newline at end of file
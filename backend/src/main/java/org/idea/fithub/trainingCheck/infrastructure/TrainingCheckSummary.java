@@ -0,0 +1,11 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import java.time.LocalDate;
+
+public interface TrainingCheckSummary {
+    Long getTotal();
+
+    LocalDate getFirstDate();
+
+    LocalDate getLastDate();
+}
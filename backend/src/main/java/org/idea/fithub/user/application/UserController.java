@@ -1,7 +1,12 @@
 package org.idea.fithub.user.application;
 
 import lombok.RequiredArgsConstructor;
+import org.idea.fithub.security.auth.authorization.RequireRoles;
+import org.idea.fithub.security.auth.domain.AuthService;
+import org.idea.fithub.security.auth.domain.CustomUserDetails;
+import org.idea.fithub.user.domain.Role;
 import org.idea.fithub.user.domain.User;
+import org.idea.fithub.user.domain.UserAvailabilityIndex;
 import org.idea.fithub.user.infrastructure.BaseUserRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +21,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class UserController {
     private final BaseUserRepository<User> userRepository;
+    private final UserAvailabilityIndex availabilityIndex;
+    private final AuthService authService;
     // 1. ENDPOINT "QUIEN SOY" (Para el ProfileGuard)
     @GetMapping("/me")
     public ResponseEntity<User> me() {
@@ -27,10 +34,18 @@ public class UserController {
         }
 
         // Obtenemos el usuario actual directamente del contexto de seguridad
-        // Ojo: auth.getPrincipal() devuelve el objeto User que guardó el JwtFilter
-        User currentUser = (User) auth.getPrincipal();
+        // Ojo: con jwt.stateless-principal el JwtFilter guarda un TokenPrincipal, no el User
+        if (auth.getPrincipal() instanceof User currentUser) {
+            return ResponseEntity.ok(currentUser);
+        }
+
+        if (!(auth.getPrincipal() instanceof CustomUserDetails principal)) {
+            return ResponseEntity.status(401).build();
+        }
 
-        return ResponseEntity.ok(currentUser);
+        return userRepository.findById(principal.getId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(401).build());
     }
 
     // 2. ENDPOINT ACTUALIZAR (Para el Formulario de Onboarding)
@@ -49,8 +64,18 @@ public class UserController {
                     if (userDetails.getPhoneNumber() != null) user.setPhoneNumber(userDetails.getPhoneNumber());
 
                     // Guardamos en la BD
-                    return ResponseEntity.ok(userRepository.save(user));
+                    User savedUser = userRepository.save(user);
+                    availabilityIndex.record(savedUser);
+                    return ResponseEntity.ok(savedUser);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // 3. ENDPOINT CIERRE DE SESIÓN FORZADO (Solo Admin)
+    @PostMapping("/{id}/force-logout")
+    @RequireRoles(Role.ADMIN)
+    public ResponseEntity<Void> forceLogout(@PathVariable Long id) {
+        authService.forceLogout(id);
+        return ResponseEntity.noContent().build();
+    }
 }
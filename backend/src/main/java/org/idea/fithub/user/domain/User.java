@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.idea.fithub.security.auth.authorization.RoleSet;
 import org.idea.fithub.security.auth.domain.CustomUserDetails;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -70,16 +71,34 @@ public class User implements CustomUserDetails {
     @Column(nullable = false)
     private Double weight;
 
+    @Builder.Default
+    @Column(name = "security_version", nullable = false)
+    private Integer securityVersion = 0;
+
     @Override
     public Long getId() {
         return this.id;
     }
 
+    public void bumpSecurityVersion() {
+        this.securityVersion = (securityVersion == null ? 0 : securityVersion) + 1;
+    }
+
     @Override
     public String getUsername() {
         return this.email;
     }
 
+    // getUsername() devuelve el email por contrato de UserDetails
+    String accountUsername() {
+        return this.username;
+    }
+
+    @Override
+    public int getRoleMask() {
+        return role == null ? 0 : RoleSet.bit(role);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_"+ role.name()));
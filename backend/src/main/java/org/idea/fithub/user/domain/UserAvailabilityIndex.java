@@ -0,0 +1,130 @@
+package org.idea.fithub.user.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.idea.fithub.user.infrastructure.BaseUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de emails y usernames ya registrados. Una respuesta
+ * "libre" permite saltarse la comprobación previa a un alta, pero no es
+ * definitiva: el índice es de cada nodo y no ve las altas de los demás.
+ * Las restricciones unique de la tabla users son el árbitro final, y los
+ * caminos que necesitan encontrar al usuario existente consultan siempre.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserAvailabilityIndex {
+    private static final int WARM_UP_BATCH = 1000;
+
+    private final BaseUserRepository<User> baseUserRepository;
+
+    @Value("${fithub.availability-index.expected-users:100000}")
+    private volatile long expectedUsers;
+
+    @Value("${fithub.availability-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // null mientras el índice no está caliente: todas las consultas van a la BD
+    private volatile Filters filters;
+    private volatile Filters building;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public boolean isEmailFree(String email) {
+        var current = filters;
+        return email != null && current != null && !current.emails().mightContain(email);
+    }
+
+    public boolean isUsernameFree(String username) {
+        var current = filters;
+        return username != null && current != null && !current.usernames().mightContain(username);
+    }
+
+    public void record(User user) {
+        if (user == null)
+            return;
+
+        var current = filters;
+        record(current, user.getEmail(), user.accountUsername());
+        record(building, user.getEmail(), user.accountUsername());
+        // Una reconstrucción pudo publicar y soltar building entre ambas lecturas
+        var published = filters;
+        if (published != current)
+            record(published, user.getEmail(), user.accountUsername());
+
+        // Si se supera la capacidad prevista la tasa de falsos positivos se dispara
+        if (recorded.incrementAndGet() > expectedUsers && filters != null) {
+            log.info("Índice de disponibilidad lleno ({} altas), reconstruyendo", recorded.get());
+            long capacity = expectedUsers * 2;
+            CompletableFuture.runAsync(() -> rebuild(capacity));
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild(expectedUsers);
+    }
+
+    void rebuild(long capacity) {
+        if (!rebuilding.compareAndSet(false, true))
+            return;
+
+        try {
+            long start = System.currentTimeMillis();
+            var next = new Filters(
+                    new BloomFilter(capacity, falsePositiveRate),
+                    new BloomFilter(capacity, falsePositiveRate));
+            building = next;
+
+            long count = 0;
+            long lastId = 0;
+            while (true) {
+                var batch = baseUserRepository.findIdentitiesAfter(lastId, PageRequest.of(0, WARM_UP_BATCH));
+                for (var identity : batch) {
+                    record(next, identity.getEmail(), identity.getUsername());
+                    lastId = identity.getId();
+                }
+                count += batch.size();
+                if (batch.size() < WARM_UP_BATCH)
+                    break;
+            }
+
+            expectedUsers = Math.max(expectedUsers, capacity);
+            recorded.set(count);
+            filters = next;
+            log.info("Índice de disponibilidad listo: {} usuarios en {} ms",
+                    count, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("No se pudo construir el índice de disponibilidad: {}", e.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private static void record(Filters target, String email, String username) {
+        if (target == null)
+            return;
+
+        if (email != null)
+            target.emails().put(email);
+
+        if (username != null)
+            target.usernames().put(username);
+    }
+
+    private record Filters(BloomFilter emails, BloomFilter usernames) {
+    }
+}
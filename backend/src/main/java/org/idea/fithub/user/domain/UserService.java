@@ -1,21 +1,113 @@
 package org.idea.fithub.user.domain;
 
 import lombok.RequiredArgsConstructor;
+import org.idea.fithub.security.auth.domain.CustomUserDetails;
 import org.idea.fithub.user.infrastructure.BaseUserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     private final BaseUserRepository<User> baseUserRepository;
 
+    // userId -> última securityVersion leída de la BD
+    private final Map<Long, KnownVersion> securityVersions = new ConcurrentHashMap<>();
+
+    @Value("${jwt.security-version-ttl:60000}")
+    private long securityVersionTtl;
+
     @Override
     public UserDetails loadUserByUsername(String username)throws UsernameNotFoundException {
-        return  baseUserRepository.findByEmail(username)
+        var user = baseUserRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User not found with email: " + username));
+
+        if (user.getId() != null && user.getSecurityVersion() != null)
+            rememberSecurityVersion(user.getId(), user.getSecurityVersion());
+
+        return user;
+    }
+
+    /**
+     * Guarda el hash recalculado en el login cuando el coste de BCrypt configurado
+     * es mayor que el del hash almacenado. Va en su propia transacción porque
+     * signIn es de solo lectura.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return baseUserRepository.findByEmail(user.getUsername())
+                .map(account -> {
+                    account.setPassword(newPassword);
+                    return (UserDetails) baseUserRepository.save(account);
+                })
+                .orElse(user);
+    }
+
+    /**
+     * Indica si la securityVersion que trae el token sigue siendo la vigente.
+     * Solo consulta la BD cuando la versión no se conoce o ya caducó en memoria.
+     */
+    public boolean isSecurityVersionCurrent(CustomUserDetails principal) {
+        if (principal.getId() == null || principal.getSecurityVersion() == null)
+            return false;
+
+        long now = System.currentTimeMillis();
+        var known = securityVersions.get(principal.getId());
+
+        if (known == null || now - known.checkedAt() > securityVersionTtl) {
+            var current = baseUserRepository.findSecurityVersionById(principal.getId());
+            if (current.isEmpty()) {
+                securityVersions.remove(principal.getId());
+                return false;
+            }
+            known = rememberSecurityVersion(principal.getId(), current.get());
+        }
+
+        return known.version() == principal.getSecurityVersion();
+    }
+
+    /**
+     * Invalida los tokens emitidos hasta ahora para el usuario. La versión en
+     * memoria de este nodo se descarta al confirmar, para no aceptar tokens
+     * viejos hasta que caduque; el resto de nodos la relee al caducar.
+     */
+    public void bumpSecurityVersion(User user) {
+        user.bumpSecurityVersion();
+        if (user.getId() == null)
+            return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            securityVersions.remove(user.getId());
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                securityVersions.remove(user.getId());
+            }
+        });
+    }
+
+    private KnownVersion rememberSecurityVersion(Long userId, int version) {
+        var known = new KnownVersion(version, System.currentTimeMillis());
+        securityVersions.put(userId, known);
+        return known;
+    }
+
+    private record KnownVersion(int version, long checkedAt) {
     }
-}
\ No newline at end of file
+}
@@ -2,9 +2,13 @@ package org.idea.fithub.user.infrastructure;
 
 import jakarta.validation.constraints.NotBlank;
 import org.idea.fithub.user.domain.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +17,11 @@ public interface BaseUserRepository<T extends User> extends JpaRepository<T, Lon
 
     boolean existsByUsername(@NotBlank String username);
     boolean existsByEmail(String email);
+
+    @Query("select u.securityVersion from User u where u.id = :id")
+    Optional<Integer> findSecurityVersionById(@Param("id") Long id);
+
+    @Query("select u.id as id, u.email as email, u.username as username from User u " +
+            "where u.id > :afterId order by u.id")
+    List<UserIdentity> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
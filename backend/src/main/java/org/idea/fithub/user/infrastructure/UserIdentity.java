@@ -0,0 +1,9 @@
+package org.idea.fithub.user.infrastructure;
+
+public interface UserIdentity {
+    Long getId();
+
+    String getEmail();
+
+    String getUsername();
+}
@@ -7,6 +7,7 @@ import org.idea.fithub.exercise.domain.ExerciseService;
 import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.exercise.dto.ExerciseRequestDto;
 import org.idea.fithub.exercise.dto.ExerciseResponseDto;
+import org.idea.fithub.exercise.dto.ExerciseSearchResponseDto;
 import org.idea.fithub.global.GlobalExceptionHandler;
 import org.idea.fithub.security.auth.jwt.JwtService;
 import org.idea.fithub.user.domain.UserService;
@@ -26,6 +27,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -94,6 +97,39 @@ class ExerciseControllerTest {
         verify(exerciseService).getAllExercises(PageRequest.of(0, 10));
     }
 
+    @Test
+    @WithMockUser
+    void shouldReturn200OkAndRankedResultsWithFacetsWhenSearchingExercises() throws Exception {
+        /// Arrange
+        var response = new ExerciseSearchResponseDto("bench", 1, List.of(testExerciseResponseDto),
+                Map.of(Muscle.CHEST, 1, Muscle.BACK, 0));
+        when(exerciseService.searchExercises("bench", Set.of(Muscle.CHEST, Muscle.BACK), 5)).thenReturn(response);
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/exercises/search")
+                        .param("q", "bench")
+                        .param("muscle", "CHEST", "BACK")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.results[0].id", is(exerciseId.intValue())))
+                .andExpect(jsonPath("$.facets.CHEST", is(1)));
+        /// Verify
+        verify(exerciseService).searchExercises("bench", Set.of(Muscle.CHEST, Muscle.BACK), 5);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400BadRequestWhenSearchingWithUnknownMuscle() throws Exception {
+        /// Act & Assert
+        mockMvc.perform(get("/api/exercises/search")
+                        .param("q", "bench")
+                        .param("muscle", "WINGS"))
+                .andExpect(status().isBadRequest());
+        /// Verify
+        verify(exerciseService, never()).searchExercises(any(), any(), any());
+    }
+
     @Test
     @WithMockUser
     void shouldReturn200OkAndExerciseDtoWhenGetExerciseById() throws Exception {
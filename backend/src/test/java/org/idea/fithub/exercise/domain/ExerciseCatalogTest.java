@@ -0,0 +1,157 @@
+package org.idea.fithub.exercise.domain;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.idea.fithub.exercise.infrastructure.ExerciseRepository;
+import org.idea.fithub.exercise.infrastructure.ExerciseSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para ExerciseCatalog.
+ * - Las lecturas repetidas no vuelven a la BD.
+ * - La instantánea caduca al invalidar, y con transacción solo tras el commit.
+ * - Tamaño y tiempo de reconstrucción quedan en las métricas.
+ */
+class ExerciseCatalogTest {
+
+    private final ExerciseRepository exerciseRepository = mock(ExerciseRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExerciseCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        when(exerciseRepository.findAllSummaries()).thenReturn(List.of(
+                summary(1L, "Squat", Muscle.LEGS),
+                summary(2L, "Bench Press", Muscle.CHEST),
+                summary(3L, "Row", Muscle.BACK)));
+        catalog = new ExerciseCatalog(exerciseRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldServeLookupsAndPagesFromOneSnapshot() {
+        /// Act
+        var byId = catalog.findById(2L);
+        var byName = catalog.findByName("Row");
+        var missing = catalog.findByName("Deadlift");
+        Page<CatalogExercise> page = catalog.findAll(PageRequest.of(1, 2));
+
+        /// Assert
+        assertThat(byId).map(CatalogExercise::name).contains("Bench Press");
+        assertThat(byName).map(CatalogExercise::muscle).contains(Muscle.BACK);
+        assertThat(missing).isEmpty();
+        assertThat(page.getContent()).extracting(CatalogExercise::id).containsExactly(3L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        verify(exerciseRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void shouldRebuildOnInvalidationBeforeTheNextRead() {
+        /// Arrange
+        catalog.findById(1L);
+        when(exerciseRepository.findAllSummaries()).thenReturn(List.of(summary(1L, "Back Squat", Muscle.LEGS)));
+
+        /// Act
+        catalog.invalidate();
+        verify(exerciseRepository, times(2)).findAllSummaries();
+        var renamed = catalog.findById(1L);
+
+        /// Assert
+        assertThat(renamed).map(CatalogExercise::name).contains("Back Squat");
+        assertThat(catalog.findByName("Squat")).isEmpty();
+        verify(exerciseRepository, times(2)).findAllSummaries();
+    }
+
+    @Test
+    void shouldRebuildOnReadWhenRefreshAfterCommitFailed() {
+        /// Arrange
+        catalog.findById(1L);
+        when(exerciseRepository.findAllSummaries())
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(summary(4L, "Lunge", Muscle.LEGS)));
+
+        /// Act
+        catalog.invalidate();
+        var created = catalog.findById(4L);
+
+        /// Assert: la lectura espera a la nueva versión en vez de servir la anterior
+        assertThat(created).map(CatalogExercise::name).contains("Lunge");
+        verify(exerciseRepository, times(3)).findAllSummaries();
+    }
+
+    @Test
+    void shouldKeepSnapshotUntilTheTransactionCommits() {
+        /// Arrange
+        catalog.findById(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        /// Act
+        catalog.invalidate();
+        catalog.findById(1L);
+
+        /// Assert: sin commit se sigue leyendo la instantánea anterior
+        verify(exerciseRepository, times(1)).findAllSummaries();
+
+        /// Act: el commit publica la nueva instantánea; la lectura ya no reconstruye
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(exerciseRepository, times(2)).findAllSummaries();
+        catalog.findById(1L);
+
+        /// Assert
+        verify(exerciseRepository, times(2)).findAllSummaries();
+    }
+
+    @Test
+    void shouldPublishSizeAndRebuildTimeMetrics() {
+        /// Act
+        catalog.findById(1L);
+
+        /// Assert
+        assertThat(meterRegistry.get("exercise.catalog.size").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("exercise.catalog.rebuild").timer().count()).isEqualTo(1);
+    }
+
+    private static ExerciseSummary summary(Long id, String name, Muscle muscle) {
+        return new ExerciseSummary() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getAsset() {
+                return null;
+            }
+
+            @Override
+            public String getDescription() {
+                return null;
+            }
+
+            @Override
+            public Muscle getMuscle() {
+                return muscle;
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package org.idea.fithub.exercise.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide ExerciseSearchIndex sobre un catálogo sintético (100k por defecto)
+ * frente al recorrido lineal con {@code contains} que haría falta sin
+ * índice. Cada consulta devuelve los 20 primeros y las facetas. No se
+ * ejecuta con los tests; lanzar con el main tras {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExerciseSearchBenchmark {
+    private static final int LIMIT = 20;
+    private static final String[] VARIANTS = {"Incline", "Decline", "Seated", "Standing", "Single Arm", "Wide Grip",
+            "Close Grip", "Reverse", "Paused", "Tempo", "Deficit", "Kneeling", "Alternating", "Isometric"};
+    private static final String[] EQUIPMENT = {"Barbell", "Dumbbell", "Kettlebell", "Cable", "Machine", "Band",
+            "Smith", "Landmine", "Trap Bar", "Bodyweight"};
+    private static final String[] MOVEMENTS = {"Bench Press", "Squat", "Deadlift", "Row", "Curl", "Lunge",
+            "Overhead Press", "Pulldown", "Fly", "Raise", "Extension", "Shrug", "Pullover", "Hip Thrust", "Pushdown"};
+    private static final String[] CUES = {"control", "tempo", "rango", "completo", "pausa", "escapulas", "core",
+            "respiracion", "bloqueo", "excentrica", "concentrica", "agarre", "postura", "estabilidad"};
+
+    @Param("100000")
+    private int size;
+
+    private ExerciseSearchIndex index;
+    private List<CatalogExercise> exercises;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var muscles = Muscle.values();
+        exercises = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // El sufijo hace únicos los nombres, como en un catálogo con miles de variantes
+            var name = VARIANTS[random.nextInt(VARIANTS.length)] + " " + EQUIPMENT[random.nextInt(EQUIPMENT.length)]
+                    + " " + MOVEMENTS[random.nextInt(MOVEMENTS.length)] + " v" + Integer.toString(i, 36);
+            var description = CUES[random.nextInt(CUES.length)] + " " + CUES[random.nextInt(CUES.length)]
+                    + " " + CUES[random.nextInt(CUES.length)];
+            exercises.add(new CatalogExercise((long) i, name, null, description, muscles[random.nextInt(muscles.length)]));
+        }
+        index = ExerciseSearchIndex.build(exercises);
+    }
+
+    @Benchmark
+    public ExerciseSearchIndex.Result prefix() {
+        return index.search("pulld", Set.of(), LIMIT);
+    }
+
+    @Benchmark
+    public ExerciseSearchIndex.Result multiWord() {
+        return index.search("incline dumbbell bench press", Set.of(), LIMIT);
+    }
+
+    @Benchmark
+    public ExerciseSearchIndex.Result typo() {
+        return index.search("kettlebel deadlfit", Set.of(), LIMIT);
+    }
+
+    @Benchmark
+    public ExerciseSearchIndex.Result facetFiltered() {
+        return index.search("cable row", EnumSet.of(Muscle.BACK, Muscle.ARMS), LIMIT);
+    }
+
+    // Peor caso: una letra casa con una parte grande del catálogo
+    @Benchmark
+    public ExerciseSearchIndex.Result singleLetter() {
+        return index.search("s", Set.of(), LIMIT);
+    }
+
+    @Benchmark
+    public ExerciseSearchIndex.Result browse() {
+        return index.search("", EnumSet.of(Muscle.LEGS), LIMIT);
+    }
+
+    @Benchmark
+    public List<CatalogExercise> linearScan() {
+        List<CatalogExercise> hits = new ArrayList<>(LIMIT);
+        for (var exercise : exercises)
+            if (exercise.name().toLowerCase(Locale.ROOT).contains("pulld") && hits.size() < LIMIT)
+                hits.add(exercise);
+        return hits;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExerciseSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
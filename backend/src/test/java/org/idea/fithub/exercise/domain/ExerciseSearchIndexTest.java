@@ -0,0 +1,103 @@
+package org.idea.fithub.exercise.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para ExerciseSearchIndex.
+ * - Orden: nombre exacto > prefijo > errata > descripción.
+ * - El filtro de músculos recorta resultados pero no las facetas.
+ */
+class ExerciseSearchIndexTest {
+
+    private final ExerciseSearchIndex index = ExerciseSearchIndex.build(List.of(
+            new CatalogExercise(1L, "Bench Press", null, "Press con barra en banco plano", Muscle.CHEST),
+            new CatalogExercise(2L, "Incline Bench Press", null, null, Muscle.CHEST),
+            new CatalogExercise(3L, "Squat", null, "Sentadilla trasera con barra", Muscle.LEGS),
+            new CatalogExercise(4L, "Overhead Press", null, null, Muscle.SHOULDERS),
+            new CatalogExercise(5L, "Barbell Row", null, "Remo para la espalda", Muscle.BACK),
+            new CatalogExercise(6L, "Pressdown", null, null, Muscle.ARMS)));
+
+    @Test
+    void shouldRankExactNameMatchesBeforePrefixMatches() {
+        /// Act
+        var result = index.search("press", Set.of(), 10);
+
+        /// Assert: a igualdad de puntuación, por nombre
+        assertThat(result.hits()).extracting(CatalogExercise::id).containsExactly(1L, 2L, 4L, 6L);
+        assertThat(result.total()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRequireEveryWordAndCompleteTheLastOne() {
+        /// Act
+        var result = index.search("Bench pr", Set.of(), 10);
+
+        /// Assert
+        assertThat(result.hits()).extracting(CatalogExercise::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldToleratePrefixesTyposAndAccents() {
+        /// Act
+        var typo = index.search("sqaut", Set.of(), 10);
+        var accented = index.search("Sentadílla", Set.of(), 10);
+
+        /// Assert
+        assertThat(typo.hits()).extracting(CatalogExercise::id).containsExactly(3L);
+        assertThat(accented.hits()).extracting(CatalogExercise::id).containsExactly(3L);
+    }
+
+    @Test
+    void shouldRankNameMatchesBeforeDescriptionMatches() {
+        /// Act
+        var result = index.search("bar", Set.of(), 10);
+        var bothWords = index.search("barbell barra", Set.of(), 10);
+
+        /// Assert
+        assertThat(result.hits()).extracting(CatalogExercise::id).containsExactly(5L, 1L, 3L);
+        assertThat(bothWords.hits()).isEmpty();
+    }
+
+    @Test
+    void shouldFilterByMusclesButCountFacetsWithoutTheFilter() {
+        /// Act
+        var result = index.search("press", EnumSet.of(Muscle.SHOULDERS, Muscle.ARMS), 1);
+
+        /// Assert
+        assertThat(result.hits()).extracting(CatalogExercise::id).containsExactly(4L);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.facets())
+                .containsEntry(Muscle.CHEST, 2)
+                .containsEntry(Muscle.SHOULDERS, 1)
+                .containsEntry(Muscle.ARMS, 1)
+                .containsEntry(Muscle.LEGS, 0);
+    }
+
+    @Test
+    void shouldBrowseByNameWhenQueryIsBlank() {
+        /// Act
+        var result = index.search("  ", EnumSet.of(Muscle.CHEST, Muscle.BACK), 10);
+
+        /// Assert
+        assertThat(result.hits()).extracting(CatalogExercise::id).containsExactly(5L, 1L, 2L);
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.facets()).containsEntry(Muscle.LEGS, 1);
+    }
+
+    @Test
+    void shouldAcceptOnlySingleEdits() {
+        /// Assert
+        assertThat(ExerciseSearchIndex.withinOneEdit("squat", "sqaut")).isTrue();
+        assertThat(ExerciseSearchIndex.withinOneEdit("squat", "squats")).isTrue();
+        assertThat(ExerciseSearchIndex.withinOneEdit("squat", "sqat")).isTrue();
+        assertThat(ExerciseSearchIndex.withinOneEdit("squat", "sqyat")).isTrue();
+        assertThat(ExerciseSearchIndex.withinOneEdit("squat", "sqyet")).isFalse();
+        assertThat(ExerciseSearchIndex.withinOneEdit("squat", "quats")).isFalse();
+    }
+}
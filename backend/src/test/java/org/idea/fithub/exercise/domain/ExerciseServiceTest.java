@@ -6,7 +6,10 @@ import org.idea.fithub.exceptions.DuplicateResourceException;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
 import org.idea.fithub.exercise.dto.ExerciseRequestDto;
 import org.idea.fithub.exercise.dto.ExerciseResponseDto;
+import org.idea.fithub.exercise.dto.ExerciseSearchResponseDto;
 import org.idea.fithub.exercise.infrastructure.ExerciseRepository;
+import org.idea.fithub.routine.domain.MuscleVolume;
+import org.idea.fithub.routine.domain.Routine;
 import org.idea.fithub.routineExercise.domain.RoutineExercise;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +18,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,6 +43,8 @@ class ExerciseServiceTest {
     @Mock
     private ExerciseRepository exerciseRepository;
     @Mock
+    private ExerciseCatalog exerciseCatalog;
+    @Mock
     private ModelMapper modelMapper;
 
     @InjectMocks
@@ -78,8 +91,9 @@ class ExerciseServiceTest {
     }
 
     @Test
-    void shouldReturnExerciseDtoWhenExerciseExists() {
+    void shouldReturnExerciseDtoFromCatalogWhenExerciseExists() {
         /// Arrange
+        when(exerciseCatalog.findById(exerciseId)).thenReturn(Optional.of(catalogEntry()));
 
         /// Act
         ExerciseResponseDto result = exerciseService.getExercise(exerciseId);
@@ -87,23 +101,68 @@ class ExerciseServiceTest {
         /// Assert
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(exerciseId);
-        verify(exerciseRepository).findById(exerciseId);
-        verify(modelMapper).map(testExercise, ExerciseResponseDto.class);
+        assertThat(result.getName()).isEqualTo(existingName);
+        assertThat(result.getMuscle()).isEqualTo(existingMuscle);
+        verifyNoInteractions(exerciseRepository, modelMapper);
     }
 
     @Test
     void shouldThrowResourceNotFoundExceptionWhenGettingNonExistentExercise() {
         /// Arrange
         Long nonExistentId = 99L;
+        when(exerciseCatalog.findById(nonExistentId)).thenReturn(Optional.empty());
 
         /// Act & Assert
         assertThatThrownBy(() -> exerciseService.getExercise(nonExistentId))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Exercise not found with id: " + nonExistentId);
-        verify(exerciseRepository).findById(nonExistentId);
+        verify(exerciseRepository, never()).findById(any());
         verify(modelMapper, never()).map(any(), any());
     }
 
+    @Test
+    void shouldReturnPageFromCatalogWithoutTouchingTheDatabase() {
+        /// Arrange
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        when(exerciseCatalog.findAll(pageRequest)).thenReturn(new PageImpl<>(List.of(catalogEntry()), pageRequest, 1));
+
+        /// Act
+        Page<ExerciseResponseDto> result = exerciseService.getAllExercises(pageRequest);
+
+        /// Assert
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent().getFirst().getAsset()).isEqualTo(existingAsset);
+        verifyNoInteractions(exerciseRepository, modelMapper);
+    }
+
+
+    @Test
+    void shouldSearchCatalogAndMapHitsAndFacets() {
+        /// Arrange
+        Map<Muscle, Integer> facets = new EnumMap<>(Muscle.class);
+        facets.put(existingMuscle, 1);
+        when(exerciseCatalog.search("pres", EnumSet.of(existingMuscle), 10))
+                .thenReturn(new ExerciseSearchIndex.Result(List.of(catalogEntry()), 1, facets));
+
+        /// Act
+        ExerciseSearchResponseDto result = exerciseService.searchExercises("pres", Set.of(existingMuscle), 10);
+
+        /// Assert
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(ExerciseResponseDto::getName).containsExactly(existingName);
+        assertThat(result.getFacets()).containsEntry(existingMuscle, 1);
+        verifyNoInteractions(exerciseRepository, modelMapper);
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionWhenSearchLimitIsOutOfRange() {
+        /// Act & Assert
+        assertThatThrownBy(() -> exerciseService.searchExercises("press", null, ExerciseService.MAX_SEARCH_LIMIT + 1))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Search limit must be between 1 and " + ExerciseService.MAX_SEARCH_LIMIT);
+        verifyNoInteractions(exerciseCatalog);
+    }
+
 
     @Test
     void shouldSaveExerciseWhenNameNotDuplicate() {
@@ -121,6 +180,7 @@ class ExerciseServiceTest {
         verify(exerciseRepository).findByName(testExerciseRequestDto.getName());
         verify(modelMapper).map(testExerciseRequestDto, Exercise.class);
         verify(exerciseRepository).save(mappedExercise);
+        verify(exerciseCatalog).invalidate();
     }
 
     @Test
@@ -150,6 +210,7 @@ class ExerciseServiceTest {
         verify(exerciseRepository).findById(exerciseId);
         assertThat(testExercise.getRoutines()).isEmpty();
         verify(exerciseRepository).delete(testExercise);
+        verify(exerciseCatalog).invalidate();
     }
 
     @Test
@@ -197,9 +258,24 @@ class ExerciseServiceTest {
         assertThat(testExercise.getMuscle()).isEqualTo(muscleToUpdate);
         verify(exerciseRepository).findById(exerciseId);
         verify(exerciseRepository).save(testExercise);
+        verify(exerciseCatalog).invalidate();
         verify(modelMapper).map(testExercise, ExerciseResponseDto.class);
     }
 
+    @Test
+    void shouldRefreshVolumeOfRoutinesUsingExerciseWhenMuscleChanges() {
+        /// Arrange
+        Routine routine = new Routine();
+        routine.addExercise(testExercise, 3, 10, 50.0);
+        routine.refreshVolumes();
+
+        /// Act
+        exerciseService.updateExercise(exerciseId, Muscle.SHOULDERS);
+
+        /// Assert
+        assertThat(routine.getVolumes()).extracting(MuscleVolume::getMuscle).containsExactly(Muscle.SHOULDERS);
+    }
+
     @Test
     void shouldThrowResourceNotFoundWhenUpdatingMuscleForNonExistentExercise() {
         /// Arrange
@@ -306,4 +382,8 @@ class ExerciseServiceTest {
         verify(modelMapper, never()).map(eq(testExerciseRequestDto), any(Exercise.class));
         verify(exerciseRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    private CatalogExercise catalogEntry() {
+        return new CatalogExercise(exerciseId, existingName, existingAsset, null, existingMuscle);
+    }
+}
@@ -13,6 +13,8 @@ import org.idea.fithub.trainer.domain.GoalType;
 import org.idea.fithub.trainingCheck.domain.TrainingCheck;
 import org.idea.fithub.user.domain.Gender;
 import org.idea.fithub.user.domain.Role;
+import org.idea.fithub.user.domain.UserAvailabilityIndex;
+import org.idea.fithub.user.domain.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,6 +48,11 @@ class LearnerServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserAvailabilityIndex availabilityIndex;
+    @Mock
+    private UserService userService;
+
     @InjectMocks
     private LearnerService learnerService;
 
@@ -266,6 +273,24 @@ class LearnerServiceTest {
         verify(learnerRepository, never()).existsByEmail(anyString());
         verify(modelMapper).map(testLearnerRequestDto, testLearner);
         verify(learnerRepository).save(testLearner);
+        verify(userService, never()).bumpSecurityVersion(any());
+    }
+
+    @Test
+    void shouldBumpSecurityVersionWhenUpdateChangesPassword() {
+        /// Arrange
+        testLearnerRequestDto.setEmail(existingEmail);
+        when(learnerRepository.findById(learnerId)).thenReturn(Optional.of(testLearner));
+        doAnswer(invocation -> {
+            testLearner.setPassword("newEncodedPassword");
+            return null;
+        }).when(modelMapper).map(testLearnerRequestDto, testLearner);
+
+        /// Act
+        learnerService.updateLearner(learnerId, testLearnerRequestDto);
+
+        /// Assert
+        verify(userService).bumpSecurityVersion(testLearner);
     }
 
     @Test
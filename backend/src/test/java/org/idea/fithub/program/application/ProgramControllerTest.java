@@ -2,10 +2,14 @@ package org.idea.fithub.program.application;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.idea.fithub.exceptions.*;
+import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.global.GlobalExceptionHandler;
 import org.idea.fithub.program.domain.ProgramService;
 import org.idea.fithub.program.dto.ProgramRequestDto;
 import org.idea.fithub.program.dto.ProgramResponseDto;
+import org.idea.fithub.program.dto.ProgramVolumeDto;
+import org.idea.fithub.routine.domain.Day;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
 import org.idea.fithub.security.auth.jwt.JwtService;
 import org.idea.fithub.user.domain.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -226,6 +230,39 @@ class ProgramControllerTest {
         verify(programService).getProgramsByLearner(eq(nonExistentLearnerId), any(PageRequest.class));
     }
 
+    // --- Tests para getProgramVolume (GET /api/programs/{id}/volume) ---
+    @Test
+    @WithMockUser
+    void shouldReturn200OkWithWeeklyAndDailyVolume() throws Exception {
+        /// Arrange
+        var legs = new MuscleVolumeDto(Muscle.LEGS, 10L, 100L, 4000.0);
+        when(programService.getProgramVolume(programId)).thenReturn(new ProgramVolumeDto(programId,
+                List.of(legs), List.of(new ProgramVolumeDto.DayVolume(Day.MONDAY, List.of(legs)))));
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/programs/{id}/volume", programId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.weekly[0].muscle", is("LEGS")))
+                .andExpect(jsonPath("$.weekly[0].sets", is(10)))
+                .andExpect(jsonPath("$.daily[0].day", is("MONDAY")))
+                .andExpect(jsonPath("$.daily[0].muscles[0].tonnage", is(4000.0)));
+
+        /// Verify
+        verify(programService).getProgramVolume(programId);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn404NotFoundWhenGetVolumeOfNonExistentProgram() throws Exception {
+        /// Arrange
+        when(programService.getProgramVolume(99L))
+                .thenThrow(new ResourceNotFoundException("Program not found with id: 99"));
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/programs/{id}/volume", 99L))
+                .andExpect(status().isNotFound());
+    }
+
     // --- Tests para deleteProgram (DELETE /api/programs/{id}) ---
     @Test
     @WithMockUser(roles = {"ADMIN", "TRAINER"})
@@ -4,12 +4,17 @@ import org.idea.fithub.exceptions.BadRequestException;
 import org.idea.fithub.exceptions.DuplicateResourceException;
 import org.idea.fithub.exceptions.InvalidOperationException;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.learner.domain.Learner;
 import org.idea.fithub.learner.infrastructure.LearnerRepository;
 import org.idea.fithub.program.dto.ProgramRequestDto;
 import org.idea.fithub.program.dto.ProgramResponseDto;
+import org.idea.fithub.program.dto.ProgramVolumeDto;
+import org.idea.fithub.program.infrastructure.DayMuscleVolume;
 import org.idea.fithub.program.infrastructure.ProgramRepository;
+import org.idea.fithub.routine.domain.Day;
 import org.idea.fithub.routine.domain.Routine;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
 import org.idea.fithub.routine.infrastructure.RoutineRepository;
 import org.idea.fithub.trainer.domain.Trainer;
 import org.idea.fithub.trainer.infrastructure.TrainerRepository;
@@ -382,6 +387,77 @@ class ProgramServiceTest {
         verify(programRepository, never()).findByLearner(any(), any());
     }
 
+    // --- Tests para getProgramVolume ---
+
+    @Test
+    void shouldRollUpStoredRoutineVolumesPerDayAndWeek() {
+        /// Arrange: filas ya agregadas por (día, músculo), en cualquier orden
+        when(programRepository.existsById(programId)).thenReturn(true);
+        when(programRepository.sumVolumesByDay(programId)).thenReturn(List.of(
+                volume(Day.WEDNESDAY, Muscle.LEGS, 4, 40, 1000.0),
+                volume(Day.MONDAY, Muscle.LEGS, 6, 60, 3000.0),
+                volume(Day.MONDAY, Muscle.CHEST, 3, 30, 900.0)));
+
+        /// Act
+        ProgramVolumeDto result = programService.getProgramVolume(programId);
+
+        /// Assert
+        assertThat(result.getProgramId()).isEqualTo(programId);
+        assertThat(result.getWeekly()).containsExactly(
+                new MuscleVolumeDto(Muscle.CHEST, 3L, 30L, 900.0),
+                new MuscleVolumeDto(Muscle.LEGS, 10L, 100L, 4000.0));
+        assertThat(result.getDaily()).extracting(ProgramVolumeDto.DayVolume::day)
+                .containsExactly(Day.MONDAY, Day.WEDNESDAY);
+        assertThat(result.getDaily().getFirst().muscles()).extracting(MuscleVolumeDto::getMuscle)
+                .containsExactly(Muscle.CHEST, Muscle.LEGS);
+
+        /// Verify
+        verify(programRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenGettingVolumeOfNonExistentProgram() {
+        /// Arrange
+        when(programRepository.existsById(99L)).thenReturn(false);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> programService.getProgramVolume(99L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Program not found with id: 99");
+
+        /// Verify
+        verify(programRepository, never()).sumVolumesByDay(any());
+    }
+
+    private static DayMuscleVolume volume(Day day, Muscle muscle, long sets, long repetitions, double tonnage) {
+        return new DayMuscleVolume() {
+            @Override
+            public Day getDay() {
+                return day;
+            }
+
+            @Override
+            public Muscle getMuscle() {
+                return muscle;
+            }
+
+            @Override
+            public Long getSets() {
+                return sets;
+            }
+
+            @Override
+            public Long getRepetitions() {
+                return repetitions;
+            }
+
+            @Override
+            public Double getTonnage() {
+                return tonnage;
+            }
+        };
+    }
+
     // --- Tests para deleteProgram ---
 
     @Test
@@ -4,11 +4,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.idea.fithub.exceptions.*;
 import org.idea.fithub.exercise.dto.ExerciseRequestDto;
 import org.idea.fithub.global.GlobalExceptionHandler;
+import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.routine.domain.Day;
+import org.idea.fithub.routine.domain.Routine;
 import org.idea.fithub.routine.domain.RoutineService;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
 import org.idea.fithub.routine.dto.RoutineExerciseDto;
+import org.idea.fithub.routine.dto.RoutineExerciseItemDto;
+import org.idea.fithub.routine.dto.RoutineExercisesDiffDto;
+import org.idea.fithub.routine.dto.RoutineExercisesPatchDto;
+import org.idea.fithub.routine.dto.RoutineExercisesRequestDto;
 import org.idea.fithub.routine.dto.RoutineRequestDto;
 import org.idea.fithub.routine.dto.RoutineResponseDto;
+import org.idea.fithub.routine.dto.RoutineVolumeDto;
 import org.idea.fithub.security.auth.jwt.JwtService;
 import org.idea.fithub.user.domain.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +29,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -30,6 +39,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -177,6 +187,25 @@ class RoutineControllerTest {
         verify(routineService).getRoutine(nonExistentId);
     }
 
+    // --- Tests para getRoutineVolume (GET /api/routines/{id}/volume) ---
+    @Test
+    @WithMockUser
+    void shouldReturn200OkAndVolumePerMuscle() throws Exception {
+        /// Arrange
+        when(routineService.getRoutineVolume(routineId)).thenReturn(new RoutineVolumeDto(routineId, Day.MONDAY,
+                List.of(new MuscleVolumeDto(Muscle.LEGS, 3, 30, 1500.0))));
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/routines/{id}/volume", routineId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.day", is("MONDAY")))
+                .andExpect(jsonPath("$.muscles[0].muscle", is("LEGS")))
+                .andExpect(jsonPath("$.muscles[0].repetitions", is(30)))
+                .andExpect(jsonPath("$.muscles[0].tonnage", is(1500.0)));
+        /// Verify
+        verify(routineService).getRoutineVolume(routineId);
+    }
+
     // --- Tests para getAllRoutines (GET /api/routines) ---
     @Test
     @WithMockUser
@@ -275,7 +304,7 @@ class RoutineControllerTest {
         /// Arrange
         org.idea.fithub.routine.domain.Routine updatedRoutineEntity = new org.idea.fithub.routine.domain.Routine();
         updatedRoutineEntity.setId(routineId);
-        when(routineService.addExercise(eq(routineId), any(RoutineExerciseDto.class)))
+        when(routineService.addExercise(eq(routineId), isNull(), any(RoutineExerciseDto.class)))
                 .thenReturn(updatedRoutineEntity);
         when(modelMapper.map(updatedRoutineEntity, RoutineResponseDto.class)).thenReturn(testRoutineResponseDto);
 
@@ -289,7 +318,7 @@ class RoutineControllerTest {
                 .andExpect(jsonPath("$.id", is(testRoutineResponseDto.getId().intValue())));
 
         /// Verify
-        verify(routineService).addExercise(eq(routineId), any(RoutineExerciseDto.class));
+        verify(routineService).addExercise(eq(routineId), isNull(), any(RoutineExerciseDto.class));
         verify(modelMapper).map(updatedRoutineEntity, RoutineResponseDto.class);
     }
 
@@ -298,7 +327,7 @@ class RoutineControllerTest {
     void shouldReturn409ConflictWhenAddExerciseThrowsDuplicateResource() throws Exception {
         /// Arrange
         String errorMessage = "Exercise already in routine";
-        when(routineService.addExercise(eq(routineId), any(RoutineExerciseDto.class)))
+        when(routineService.addExercise(eq(routineId), isNull(), any(RoutineExerciseDto.class)))
                 .thenThrow(new DuplicateResourceException(errorMessage));
 
         /// Act & Assert
@@ -309,7 +338,7 @@ class RoutineControllerTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.message", is(errorMessage)));
         /// Verify
-        verify(routineService).addExercise(eq(routineId), any(RoutineExerciseDto.class));
+        verify(routineService).addExercise(eq(routineId), isNull(), any(RoutineExerciseDto.class));
     }
 
     // --- Tests para deleteExercise (DELETE /api/routines/{routineId}/exercise/{exerciseId}) ---
@@ -317,14 +346,14 @@ class RoutineControllerTest {
     @WithMockUser(roles = {"ADMIN", "TRAINER"})
     void shouldReturn204NoContentWhenDeleteExerciseSuccessful() throws Exception {
         /// Arrange
-        doNothing().when(routineService).deleteExercise(routineId, exerciseId);
+        when(routineService.deleteExercise(routineId, exerciseId, null)).thenReturn(new Routine());
 
         /// Act & Assert
         mockMvc.perform(delete("/api/routines/{routineId}/exercise/{exerciseId}", routineId, exerciseId)
                         .with(csrf()))
                 .andExpect(status().isNoContent());
         /// Verify
-        verify(routineService).deleteExercise(routineId, exerciseId);
+        verify(routineService).deleteExercise(routineId, exerciseId, null);
     }
 
     @Test
@@ -332,7 +361,7 @@ class RoutineControllerTest {
     void shouldReturn404NotFoundWhenDeleteExerciseThrowsResourceNotFound() throws Exception {
         /// Arrange
         String errorMessage = "Exercise not found in routine";
-        doThrow(new ResourceNotFoundException(errorMessage)).when(routineService).deleteExercise(routineId, exerciseId);
+        doThrow(new ResourceNotFoundException(errorMessage)).when(routineService).deleteExercise(routineId, exerciseId, null);
 
         /// Act & Assert
         mockMvc.perform(delete("/api/routines/{routineId}/exercise/{exerciseId}", routineId, exerciseId)
@@ -340,18 +369,83 @@ class RoutineControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", is(errorMessage)));
         /// Verify
-        verify(routineService).deleteExercise(routineId, exerciseId);
+        verify(routineService).deleteExercise(routineId, exerciseId, null);
     }
 
 
+    // --- Tests para replaceExercises / patchExercises (PUT, PATCH /api/routines/{id}/exercises) ---
+    @Test
+    @WithMockUser(roles = "TRAINER")
+    void shouldReturn200OkWithDiffWhenReplacingExercises() throws Exception {
+        /// Arrange
+        RoutineExercisesRequestDto request = new RoutineExercisesRequestDto(List.of(
+                new RoutineExerciseItemDto(exerciseId, 3, 10, 100.0),
+                new RoutineExerciseItemDto(11L, 4, 8, null)));
+        when(routineService.replaceExercises(routineId, null, request.getExercises()))
+                .thenReturn(new RoutineExercisesDiffDto(routineId, 1, 1, 2, 0));
+
+        /// Act & Assert
+        mockMvc.perform(put("/api/routines/{id}/exercises", routineId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(1)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.deleted", is(2)));
+
+        /// Verify
+        verify(routineService).replaceExercises(routineId, null, request.getExercises());
+    }
+
+    @Test
+    @WithMockUser(roles = "TRAINER")
+    void shouldReturn400BadRequestWhenReplacingWithInvalidSets() throws Exception {
+        /// Arrange
+        RoutineExercisesRequestDto request = new RoutineExercisesRequestDto(List.of(
+                new RoutineExerciseItemDto(exerciseId, 0, 10, null)));
+
+        /// Act & Assert
+        mockMvc.perform(put("/api/routines/{id}/exercises", routineId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        /// Verify
+        verify(routineService, never()).replaceExercises(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "TRAINER")
+    void shouldReturn200OkWithDiffWhenPatchingExercises() throws Exception {
+        /// Arrange
+        RoutineExercisesPatchDto patch = new RoutineExercisesPatchDto(
+                List.of(new RoutineExerciseItemDto(exerciseId, 5, 5, 120.0)), List.of(11L));
+        when(routineService.patchExercises(routineId, null, patch.getUpsert(), patch.getRemove()))
+                .thenReturn(new RoutineExercisesDiffDto(routineId, 0, 1, 1, 0));
+
+        /// Act & Assert
+        mockMvc.perform(patch("/api/routines/{id}/exercises", routineId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.deleted", is(1)));
+
+        /// Verify
+        verify(routineService).patchExercises(routineId, null, patch.getUpsert(), patch.getRemove());
+    }
+
     // --- Tests para getRoutineExercises (GET /api/routines/{id}/exercise) ---
     @Test
     @WithMockUser
-    void shouldReturn200OkAndListOfExerciseDtos() throws Exception {
+    void shouldReturn200OkAndPageOfExerciseDtos() throws Exception {
         /// Arrange
-        List<RoutineExerciseDto> exerciseList = List.of(testRoutineExerciseDto);
+        Page<RoutineExerciseDto> exercisePage = new PageImpl<>(List.of(testRoutineExerciseDto), PageRequest.of(0, 10), 1);
         when(routineService.getRoutineExercises(eq(routineId), any(PageRequest.class)))
-                .thenReturn(exerciseList);
+                .thenReturn(exercisePage);
 
         /// Act & Assert
         mockMvc.perform(get("/api/routines/{id}/exercise", routineId)
@@ -359,10 +453,42 @@ class RoutineControllerTest {
                         .param("size", "10"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.length()", is(1)))
-                .andExpect(jsonPath("$[0].sets", is(testRoutineExerciseDto.getSets())));
+                .andExpect(jsonPath("$.content.length()", is(1)))
+                .andExpect(jsonPath("$.content[0].sets", is(testRoutineExerciseDto.getSets())))
+                .andExpect(jsonPath("$.totalElements", is(1)));
 
         /// Verify
         verify(routineService).getRoutineExercises(eq(routineId), eq(PageRequest.of(0, 10)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void shouldPassRequestedSortToService() throws Exception {
+        /// Arrange
+        when(routineService.getRoutineExercises(eq(routineId), any(PageRequest.class)))
+                .thenReturn(Page.empty());
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/routines/{id}/exercise", routineId)
+                        .param("sort", "weight")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk());
+
+        /// Verify
+        verify(routineService).getRoutineExercises(eq(routineId),
+                eq(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "weight"))));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenSortDirectionIsInvalid() throws Exception {
+        /// Act & Assert
+        mockMvc.perform(get("/api/routines/{id}/exercise", routineId)
+                        .param("sort", "weight")
+                        .param("direction", "sideways"))
+                .andExpect(status().isBadRequest());
+
+        /// Verify
+        verify(routineService, never()).getRoutineExercises(any(), any());
+    }
+}
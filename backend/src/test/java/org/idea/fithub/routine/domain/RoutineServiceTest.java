@@ -4,16 +4,23 @@ import org.idea.fithub.exceptions.BadRequestException;
 import org.idea.fithub.exceptions.DuplicateResourceException;
 import org.idea.fithub.exceptions.InvalidOperationException;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.exercise.domain.CatalogExercise;
 import org.idea.fithub.exercise.domain.Exercise;
+import org.idea.fithub.exercise.domain.ExerciseCatalog;
 import org.idea.fithub.exercise.domain.Muscle;
 import org.idea.fithub.exercise.dto.ExerciseRequestDto;
 import org.idea.fithub.exercise.infrastructure.ExerciseRepository;
 import org.idea.fithub.program.domain.Program;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
 import org.idea.fithub.routine.dto.RoutineExerciseDto;
+import org.idea.fithub.routine.dto.RoutineExerciseItemDto;
+import org.idea.fithub.routine.dto.RoutineExercisesDiffDto;
 import org.idea.fithub.routine.dto.RoutineRequestDto;
 import org.idea.fithub.routine.dto.RoutineResponseDto;
+import org.idea.fithub.routine.dto.RoutineVolumeDto;
 import org.idea.fithub.routine.infrastructure.RoutineRepository;
 import org.idea.fithub.routineExercise.domain.RoutineExercise;
+import org.idea.fithub.routineExercise.infrastructure.RoutineExerciseRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,15 +28,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -40,8 +52,12 @@ class RoutineServiceTest {
     @Mock
     private RoutineRepository routineRepository;
     @Mock
+    private RoutineExerciseRepository routineExerciseRepository;
+    @Mock
     private ExerciseRepository exerciseRepository;
     @Mock
+    private ExerciseCatalog exerciseCatalog;
+    @Mock
     private ModelMapper modelMapper;
 
     @InjectMocks
@@ -95,6 +111,8 @@ class RoutineServiceTest {
 
         lenient().when(routineRepository.findById(routineId)).thenReturn(Optional.of(testRoutine));
         lenient().when(routineRepository.findById(99L)).thenReturn(Optional.empty());
+        lenient().when(routineRepository.findWithExercisesById(routineId)).thenReturn(Optional.of(testRoutine));
+        lenient().when(routineRepository.findWithExercisesById(99L)).thenReturn(Optional.empty());
         lenient().when(exerciseRepository.findById(exerciseId)).thenReturn(Optional.of(testExercise));
         lenient().when(exerciseRepository.findById(99L)).thenReturn(Optional.empty());
         lenient().when(modelMapper.map(any(Routine.class), eq(RoutineResponseDto.class))).thenReturn(testRoutineResponseDto);
@@ -248,6 +266,44 @@ class RoutineServiceTest {
         verify(routineRepository).delete(testRoutine);
     }
 
+    @Test
+    void shouldPromoteOldestForkWhenDeletingOriginalWithForks() {
+        /// Arrange
+        var first = testRoutine.fork();
+        first.setId(2L);
+        var second = testRoutine.fork();
+        second.setId(3L);
+        when(routineRepository.findByForkedFromIdOrderByIdAsc(routineId)).thenReturn(List.of(first, second));
+
+        /// Act
+        routineService.deleteRoutine(routineId);
+
+        /// Assert: solo queda un original con ese nombre y día
+        assertThat(first.getForkedFrom()).isNull();
+        assertThat(second.getForkedFrom()).isSameAs(first);
+
+        /// Verify
+        verify(routineRepository).delete(testRoutine);
+    }
+
+    @Test
+    void shouldThrowInvalidOperationExceptionWhenPromotedForkWouldDuplicateRoutine() {
+        /// Arrange
+        var renamed = testRoutine.fork();
+        renamed.setId(2L);
+        renamed.setName("Other");
+        when(routineRepository.findByForkedFromIdOrderByIdAsc(routineId)).thenReturn(List.of(renamed));
+        when(routineRepository.existsByNameAndDay("Other", routineDay)).thenReturn(true);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.deleteRoutine(routineId))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("would duplicate routine 'Other'");
+
+        /// Verify
+        verify(routineRepository, never()).delete(any());
+    }
+
     @Test
     void shouldThrowResourceNotFoundExceptionWhenDeletingNonExistentRoutine() {
         /// Arrange
@@ -282,12 +338,13 @@ class RoutineServiceTest {
 
     @Test
     void shouldAddExistingExerciseToRoutineWhenValid() {
-        /// Arrange (Happy Path con ejercicio existente)
-        when(exerciseRepository.findByName("Squat")).thenReturn(Optional.of(testExercise));
+        /// Arrange (Happy Path con ejercicio existente, resuelto por el catálogo)
+        when(exerciseCatalog.findByName("Squat"))
+                .thenReturn(Optional.of(new CatalogExercise(exerciseId, "Squat", null, null, Muscle.LEGS)));
         when(routineRepository.save(testRoutine)).thenReturn(testRoutine);
 
         /// Act
-        Routine result = routineService.addExercise(routineId, testRoutineExerciseDto);
+        Routine result = routineService.addExercise(routineId, null, testRoutineExerciseDto);
 
         /// Assert
         assertThat(result).isNotNull();
@@ -296,9 +353,10 @@ class RoutineServiceTest {
         assertThat(testRoutine.getExercises().get(0).getSets()).isEqualTo(3);
 
         /// Verify
-        verify(routineRepository).findById(routineId);
-        verify(exerciseRepository).findByName("Squat");
+        verify(routineRepository).findWithExercisesById(routineId);
+        verify(exerciseRepository, never()).findByName(any());
         verify(exerciseRepository, never()).save(any(Exercise.class));
+        verify(exerciseCatalog, never()).invalidate();
         verify(routineRepository).save(testRoutine);
     }
 
@@ -316,7 +374,7 @@ class RoutineServiceTest {
         when(routineRepository.save(testRoutine)).thenReturn(testRoutine);
 
         /// Act
-        Routine result = routineService.addExercise(routineId, testRoutineExerciseDto);
+        Routine result = routineService.addExercise(routineId, null, testRoutineExerciseDto);
 
         /// Assert
         assertThat(result).isNotNull();
@@ -324,10 +382,11 @@ class RoutineServiceTest {
         assertThat(testRoutine.getExercises().get(0).getExercise()).isEqualTo(newExercise);
 
         /// Verify
-        verify(routineRepository).findById(routineId);
+        verify(routineRepository).findWithExercisesById(routineId);
         verify(exerciseRepository).findByName("New Exercise");
         verify(modelMapper).map(testRoutineExerciseDto.getExerciseRequestDto(), Exercise.class);
         verify(exerciseRepository).save(newExercise);
+        verify(exerciseCatalog).invalidate();
         verify(routineRepository).save(testRoutine);
     }
 
@@ -340,16 +399,38 @@ class RoutineServiceTest {
         when(exerciseRepository.findByName("Squat")).thenReturn(Optional.of(testExercise));
 
         /// Act & Assert
-        assertThatThrownBy(() -> routineService.addExercise(routineId, testRoutineExerciseDto))
+        assertThatThrownBy(() -> routineService.addExercise(routineId, null, testRoutineExerciseDto))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining("already in this routine");
 
         /// Verify
-        verify(routineRepository).findById(routineId);
+        verify(routineRepository).findWithExercisesById(routineId);
         verify(exerciseRepository).findByName("Squat");
         verify(routineRepository, never()).save(any());
     }
 
+    @Test
+    void shouldKeepVolumePerMuscleUpToDateWhenExercisesChange() {
+        /// Arrange
+        Exercise pushUp = new Exercise(); pushUp.setId(11L); pushUp.setMuscle(Muscle.CHEST);
+        Exercise lunge = new Exercise(); lunge.setId(12L); lunge.setMuscle(Muscle.LEGS);
+        when(exerciseRepository.findAllById(Set.of(exerciseId, 11L, 12L))).thenReturn(List.of(testExercise, pushUp, lunge));
+
+        /// Act
+        routineService.replaceExercises(routineId, null, List.of(
+                new RoutineExerciseItemDto(exerciseId, 5, 5, 100.0),
+                new RoutineExerciseItemDto(11L, 3, 20, null),
+                new RoutineExerciseItemDto(12L, 3, 10, 20.0)));
+
+        /// Assert: la sentadilla y las zancadas suman en LEGS; las flexiones no suman tonelaje
+        assertThat(testRoutine.getVolumes())
+                .extracting(MuscleVolume::getMuscle, MuscleVolume::getSets, MuscleVolume::getRepetitions,
+                        MuscleVolume::getTonnage)
+                .containsExactly(
+                        tuple(Muscle.CHEST, 3, 60, 0.0),
+                        tuple(Muscle.LEGS, 8, 55, 3100.0));
+    }
+
     // --- Tests para deleteExercise ---
 
     @Test
@@ -359,13 +440,13 @@ class RoutineServiceTest {
         testRoutine.getExercises().add(routineExercise);
 
         /// Act
-        routineService.deleteExercise(routineId, exerciseId);
+        routineService.deleteExercise(routineId, exerciseId, null);
 
         /// Assert
         assertThat(testRoutine.getExercises()).isEmpty();
 
         /// Verify
-        verify(routineRepository).findById(routineId);
+        verify(routineRepository).findWithExercisesById(routineId);
         verify(exerciseRepository).findById(exerciseId);
         verify(routineRepository).save(testRoutine);
     }
@@ -375,44 +456,344 @@ class RoutineServiceTest {
         /// Arrange
 
         /// Act & Assert
-        assertThatThrownBy(() -> routineService.deleteExercise(routineId, exerciseId))
+        assertThatThrownBy(() -> routineService.deleteExercise(routineId, exerciseId, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Exercise not found in this routine");
 
         /// Verify
-        verify(routineRepository).findById(routineId);
+        verify(routineRepository).findWithExercisesById(routineId);
         verify(exerciseRepository).findById(exerciseId);
         verify(routineRepository, never()).save(any());
     }
 
-    // --- Tests para getRoutineExercises --- (Simplificado)
+    // --- Tests para replaceExercises / patchExercises ---
 
     @Test
-    void shouldReturnCorrectExercisesPageWhenRoutineExists() {
+    void shouldApplyDiffAgainstCurrentExercisesWhenReplacing() {
         /// Arrange
-        Exercise exercise2 = new Exercise(); exercise2.setId(11L);
-        RoutineExercise re1 = new RoutineExercise(testRoutine, testExercise, 3, 10, 100.0);
-        RoutineExercise re2 = new RoutineExercise(testRoutine, exercise2, 4, 8, 50.0);
-        testRoutine.setExercises(List.of(re1, re2));
+        Exercise lunge = new Exercise(); lunge.setId(11L);
+        Exercise calfRaise = new Exercise(); calfRaise.setId(12L);
+        testRoutine.getExercises().add(new RoutineExercise(testRoutine, testExercise, 3, 10, 100.0));
+        testRoutine.getExercises().add(new RoutineExercise(testRoutine, lunge, 4, 8, 50.0));
+        when(exerciseRepository.findAllById(Set.of(12L))).thenReturn(List.of(calfRaise));
+
+        List<RoutineExerciseItemDto> desired = List.of(
+                new RoutineExerciseItemDto(exerciseId, 3, 10, 100.0),
+                new RoutineExerciseItemDto(12L, 4, 15, 40.0));
+
+        /// Act
+        RoutineExercisesDiffDto diff = routineService.replaceExercises(routineId, null, desired);
+
+        /// Assert
+        assertThat(diff.getInserted()).isEqualTo(1);
+        assertThat(diff.getUpdated()).isZero();
+        assertThat(diff.getDeleted()).isEqualTo(1);
+        assertThat(diff.getUnchanged()).isEqualTo(1);
+        assertThat(testRoutine.getExercises())
+                .extracting(re -> re.getRoutineExerciseId().getExerciseId())
+                .containsExactlyInAnyOrder(exerciseId, 12L);
+
+        /// Verify
+        verify(exerciseRepository, never()).findByName(any());
+        verify(routineRepository, never()).findWithExercisesById(any());
+    }
+
+    @Test
+    void shouldUpdateChangedValuesInPlaceWhenReplacing() {
+        /// Arrange
+        RoutineExercise squat = new RoutineExercise(testRoutine, testExercise, 3, 10, 100.0);
+        testRoutine.getExercises().add(squat);
+
+        /// Act
+        RoutineExercisesDiffDto diff = routineService.replaceExercises(routineId, null,
+                List.of(new RoutineExerciseItemDto(exerciseId, 5, 5, 120.0)));
+
+        /// Assert
+        assertThat(diff.getUpdated()).isEqualTo(1);
+        assertThat(diff.getInserted()).isZero();
+        assertThat(squat.getSets()).isEqualTo(5);
+        assertThat(squat.getWeight()).isEqualTo(120.0);
+
+        /// Verify
+        verify(exerciseRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenReplacingWithUnknownExercise() {
+        /// Arrange
+        when(exerciseRepository.findAllById(Set.of(99L))).thenReturn(List.of());
+
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.replaceExercises(routineId, null,
+                List.of(new RoutineExerciseItemDto(99L, 3, 10, null))))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Exercise not found with id: 99");
+
+        assertThat(testRoutine.getExercises()).isEmpty();
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionWhenExerciseIsListedTwice() {
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.replaceExercises(routineId, null, List.of(
+                new RoutineExerciseItemDto(exerciseId, 3, 10, null),
+                new RoutineExerciseItemDto(exerciseId, 4, 8, null))))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void shouldOnlyTouchNamedExercisesWhenPatching() {
+        /// Arrange
+        Exercise lunge = new Exercise(); lunge.setId(11L);
+        testRoutine.getExercises().add(new RoutineExercise(testRoutine, testExercise, 3, 10, 100.0));
+        testRoutine.getExercises().add(new RoutineExercise(testRoutine, lunge, 4, 8, 50.0));
+
+        /// Act
+        RoutineExercisesDiffDto diff = routineService.patchExercises(routineId, null, List.of(), List.of(11L, 42L));
+
+        /// Assert
+        assertThat(diff.getDeleted()).isEqualTo(1);
+        assertThat(diff.getInserted()).isZero();
+        assertThat(testRoutine.getExercises())
+                .extracting(re -> re.getRoutineExerciseId().getExerciseId())
+                .containsExactly(exerciseId);
+
+        /// Verify
+        verify(exerciseRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionWhenPatchUpsertsAndRemovesSameExercise() {
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.patchExercises(routineId, null,
+                List.of(new RoutineExerciseItemDto(exerciseId, 3, 10, null)), List.of(exerciseId)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenPatchingNonExistentRoutine() {
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.patchExercises(99L, null, List.of(), List.of(exerciseId)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Routine not found with id: 99");
+    }
+
+    // --- Tests para la compartición por contenido (copy-on-write) ---
+
+    @Test
+    void shouldForkSharedRoutineWhenEditedFromOneProgram() {
+        /// Arrange
+        Program edited = programWith(5L, testRoutine);
+        Program other = programWith(6L, testRoutine);
+        testRoutine.getExercises().add(new RoutineExercise(testRoutine, testExercise, 3, 10, 100.0));
+        Exercise lunge = new Exercise(); lunge.setId(11L); lunge.setName("Lunge");
+        testRoutineExerciseDto.getExerciseRequestDto().setName("Lunge");
+        when(exerciseRepository.findByName("Lunge")).thenReturn(Optional.of(lunge));
+        when(routineRepository.save(any(Routine.class))).thenAnswer(invocation -> {
+            Routine saved = invocation.getArgument(0);
+            if (saved.getId() == null)
+                saved.setId(2L);
+            return saved;
+        });
 
+        /// Act
+        Routine result = routineService.addExercise(routineId, 5L, testRoutineExerciseDto);
+
+        /// Assert
+        assertThat(result).isNotSameAs(testRoutine);
+        assertThat(result.getForkedFrom()).isSameAs(testRoutine);
+        assertThat(result.getExercises()).hasSize(2);
+        assertThat(testRoutine.getExercises()).hasSize(1);
+        assertThat(edited.getProgramRoutines()).containsExactly(result);
+        assertThat(other.getProgramRoutines()).containsExactly(testRoutine);
+        assertThat(testRoutine.getPrograms()).containsExactly(other);
+        assertThat(result.getContentHash()).isNotEqualTo(testRoutine.getContentHash());
+    }
+
+    @Test
+    void shouldEditInPlaceWhenRoutineBelongsOnlyToThatProgram() {
+        /// Arrange
+        Program program = programWith(5L, testRoutine);
+        when(exerciseRepository.findByName("Squat")).thenReturn(Optional.of(testExercise));
+
+        /// Act
+        Routine result = routineService.addExercise(routineId, 5L, testRoutineExerciseDto);
+
+        /// Assert
+        assertThat(result).isSameAs(testRoutine);
+        assertThat(program.getProgramRoutines()).containsExactly(testRoutine);
+        assertThat(testRoutine.getContentHash()).isNotNull();
+
+        /// Verify
+        verify(routineRepository, never()).findByContentHash(any());
+    }
+
+    @Test
+    void shouldShareIdenticalRoutineAndDropForkWhenEditsConverge() {
+        /// Arrange: la copia del programa vuelve a quedar igual que la original
+        Program other = programWith(6L, testRoutine);
+        testRoutine.refreshContentHash();
+
+        Routine fork = testRoutine.fork();
+        fork.setId(2L);
+        fork.getExercises().add(new RoutineExercise(fork, testExercise, 3, 10, 100.0));
+        Program edited = programWith(5L, fork);
+        when(routineRepository.findWithExercisesById(2L)).thenReturn(Optional.of(fork));
+        when(routineRepository.findByContentHash(testRoutine.getContentHash())).thenReturn(List.of(testRoutine));
+
+        /// Act
+        Routine result = routineService.deleteExercise(2L, exerciseId, 5L);
+
+        /// Assert
+        assertThat(result).isSameAs(testRoutine);
+        assertThat(edited.getProgramRoutines()).containsExactly(testRoutine);
+        assertThat(testRoutine.getPrograms()).containsExactlyInAnyOrder(other, edited);
+
+        /// Verify
+        verify(routineRepository).delete(fork);
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenRoutineIsNotInProgram() {
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.addExercise(routineId, 77L, testRoutineExerciseDto))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Routine 1 is not assigned to program 77");
+
+        /// Verify
+        verify(routineRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldHashSameContentEquallyRegardlessOfExerciseOrder() {
+        /// Arrange
+        Exercise lunge = new Exercise(); lunge.setId(11L);
+        Routine copy = testRoutine.fork();
+        testRoutine.getExercises().add(new RoutineExercise(testRoutine, testExercise, 3, 10, 100.0));
+        testRoutine.getExercises().add(new RoutineExercise(testRoutine, lunge, 4, 8, 50.0));
+        copy.getExercises().add(new RoutineExercise(copy, lunge, 4, 8, 50.00));
+        copy.getExercises().add(new RoutineExercise(copy, testExercise, 3, 10, 100.0));
+
+        /// Act
+        testRoutine.refreshContentHash();
+        copy.refreshContentHash();
+        String sameHash = copy.getContentHash();
+        copy.getExercises().getFirst().setWeight(52.5);
+        copy.refreshContentHash();
+
+        /// Assert
+        assertThat(sameHash).isEqualTo(testRoutine.getContentHash()).hasSize(64);
+        assertThat(copy.getContentHash()).isNotEqualTo(testRoutine.getContentHash());
+        assertThat(copy.hasSameContentAs(testRoutine)).isFalse();
+    }
+
+    private static Program programWith(Long id, Routine routine) {
+        Program program = new Program();
+        program.setId(id);
+        program.setProgramRoutines(new ArrayList<>(List.of(routine)));
+        routine.getPrograms().add(program);
+        return program;
+    }
+
+    // --- Tests para getRoutineVolume ---
+
+    @Test
+    void shouldReturnStoredVolumeSortedByMuscle() {
+        /// Arrange
+        testRoutine.getVolumes().add(new MuscleVolume(Muscle.LEGS, 5, 25, 2500.0));
+        testRoutine.getVolumes().add(new MuscleVolume(Muscle.CHEST, 3, 30, 900.0));
+        when(routineRepository.findWithVolumesById(routineId)).thenReturn(Optional.of(testRoutine));
+
+        /// Act
+        RoutineVolumeDto result = routineService.getRoutineVolume(routineId);
+
+        /// Assert
+        assertThat(result.getDay()).isEqualTo(routineDay);
+        assertThat(result.getMuscles()).containsExactly(
+                new MuscleVolumeDto(Muscle.CHEST, 3, 30, 900.0),
+                new MuscleVolumeDto(Muscle.LEGS, 5, 25, 2500.0));
+
+        /// Verify
+        verify(routineRepository, never()).findWithExercisesById(any());
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenGettingVolumeOfNonExistentRoutine() {
+        /// Arrange
+        when(routineRepository.findWithVolumesById(99L)).thenReturn(Optional.empty());
+
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.getRoutineVolume(99L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Routine not found with id: 99");
+    }
+
+    // --- Tests para getRoutineExercises ---
+
+    @Test
+    void shouldReturnExercisesPageFromDatabaseSortedByNameByDefault() {
+        /// Arrange
+        RoutineExercise re1 = new RoutineExercise(testRoutine, testExercise, 3, 10, 100.0);
         RoutineExerciseDto dto1 = new RoutineExerciseDto();
-        RoutineExerciseDto dto2 = new RoutineExerciseDto();
+        PageRequest expectedRequest = PageRequest.of(0, 1, Sort.by("exercise.name", "exercise.id"));
+        when(routineRepository.existsById(routineId)).thenReturn(true);
+        when(routineExerciseRepository.findByRoutineId(routineId, expectedRequest))
+                .thenReturn(new PageImpl<>(List.of(re1), expectedRequest, 2));
         when(modelMapper.map(re1, RoutineExerciseDto.class)).thenReturn(dto1);
-        lenient().when(modelMapper.map(re2, RoutineExerciseDto.class)).thenReturn(dto2);
-
-        PageRequest pageRequest = PageRequest.of(0, 1);
 
         /// Act
-        List<RoutineExerciseDto> result = routineService.getRoutineExercises(routineId, pageRequest);
+        Page<RoutineExerciseDto> result = routineService.getRoutineExercises(routineId, PageRequest.of(0, 1));
 
         /// Assert
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0)).isEqualTo(dto1);
+        assertThat(result.getContent()).containsExactly(dto1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getTotalPages()).isEqualTo(2);
 
         /// Verify
-        verify(routineRepository).findById(routineId);
-        verify(modelMapper).map(re1, RoutineExerciseDto.class);
-        verify(modelMapper, never()).map(re2, RoutineExerciseDto.class);
+        verify(routineRepository, never()).findWithExercisesById(any());
+        verify(routineRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldTranslatePublicSortFieldsToQueryPaths() {
+        /// Arrange
+        PageRequest expectedRequest = PageRequest.of(0, 10,
+                Sort.by(Sort.Order.desc("weight"), Sort.Order.asc("exercise.muscle"), Sort.Order.asc("exercise.id")));
+        when(routineRepository.existsById(routineId)).thenReturn(true);
+        when(routineExerciseRepository.findByRoutineId(routineId, expectedRequest)).thenReturn(Page.empty(expectedRequest));
+
+        /// Act
+        Page<RoutineExerciseDto> result = routineService.getRoutineExercises(routineId,
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("weight"), Sort.Order.asc("muscle"))));
+
+        /// Assert
+        assertThat(result.getContent()).isEmpty();
+        verify(routineExerciseRepository).findByRoutineId(routineId, expectedRequest);
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionWhenSortingByUnknownField() {
+        /// Arrange
+        when(routineRepository.existsById(routineId)).thenReturn(true);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.getRoutineExercises(routineId,
+                PageRequest.of(0, 10, Sort.by("routine.name"))))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(routineExerciseRepository);
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenGettingExercisesOfNonExistentRoutine() {
+        /// Arrange
+        when(routineRepository.existsById(99L)).thenReturn(false);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> routineService.getRoutineExercises(99L, PageRequest.of(0, 10)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Routine not found with id: 99");
+
+        verifyNoInteractions(routineExerciseRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package org.idea.fithub.routine.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.idea.fithub.BaseRepositoryTest;
+import org.idea.fithub.configuration.ModelMapperConfig;
+import org.idea.fithub.exercise.domain.Exercise;
+import org.idea.fithub.exercise.domain.ExerciseCatalog;
+import org.idea.fithub.exercise.domain.Muscle;
+import org.idea.fithub.learner.domain.Learner;
+import org.idea.fithub.program.domain.Program;
+import org.idea.fithub.program.domain.ProgramService;
+import org.idea.fithub.program.dto.ProgramResponseDto;
+import org.idea.fithub.program.dto.ProgramVolumeDto;
+import org.idea.fithub.routine.domain.Day;
+import org.idea.fithub.routine.domain.Routine;
+import org.idea.fithub.routine.domain.RoutineService;
+import org.idea.fithub.routine.dto.MuscleVolumeDto;
+import org.idea.fithub.routine.dto.RoutineExerciseItemDto;
+import org.idea.fithub.routine.dto.RoutineExercisesDiffDto;
+import org.idea.fithub.routine.dto.RoutineResponseDto;
+import org.idea.fithub.trainer.domain.Trainer;
+import org.idea.fithub.user.domain.Gender;
+import org.idea.fithub.user.domain.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cuenta las sentencias SQL de cada caso de uso de rutinas y programas.
+ * - Los datos tienen más rutinas y ejercicios que sentencias permitidas,
+ *   así que un N+1 haría fallar la cuenta.
+ */
+@Import({RoutineService.class, ProgramService.class, ExerciseCatalog.class, ModelMapperConfig.class,
+        SimpleMeterRegistry.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RoutineFetchPlanTest extends BaseRepositoryTest {
+    private static final int ROUTINES = 6;
+    private static final int EXERCISES_PER_ROUTINE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RoutineService routineService;
+
+    @Autowired
+    private ProgramService programService;
+
+    private Statistics statistics;
+    private Learner learner;
+    private List<Routine> routines;
+    private List<Program> programs;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange global: 6 rutinas con 3 ejercicios cada una, repartidas en 2 programas
+        learner = persistLearner();
+        routines = new ArrayList<>();
+        for (int r = 0; r < ROUTINES; r++) {
+            var routine = new Routine();
+            routine.setName("Routine " + r);
+            routine.setDay(Day.values()[r % Day.values().length]);
+            entityManager.persist(routine);
+
+            for (int e = 0; e < EXERCISES_PER_ROUTINE; e++) {
+                var exercise = new Exercise();
+                exercise.setName("Exercise " + r + "-" + e);
+                exercise.setMuscle(Muscle.values()[e % Muscle.values().length]);
+                entityManager.persist(exercise);
+                routine.addExercise(exercise, 3, 10, 20.0);
+            }
+            routine.refreshVolumes();
+            routines.add(routine);
+        }
+
+        programs = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            var program = new Program();
+            program.setName("Program " + p);
+            program.setLearner(learner);
+            program.setTrainer(persistTrainer(p));
+            program.setProgramRoutines(new ArrayList<>(routines.subList(p * 3, p * 3 + 3)));
+            entityManager.persist(program);
+            programs.add(program);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadRoutineDetailInOneQuery() {
+        // Act
+        RoutineResponseDto routine = routineService.getRoutine(routines.getFirst().getId());
+
+        // Assert
+        assertThat(routine.getExercises()).hasSize(EXERCISES_PER_ROUTINE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPageRoutineExercisesWithoutLoadingTheRoutine() {
+        // Act
+        var exercises = routineService.getRoutineExercises(routines.getFirst().getId(), PageRequest.of(0, 2));
+
+        // Assert: existencia + página con su ejercicio + recuento
+        assertThat(exercises.getContent()).hasSize(2);
+        assertThat(exercises.getTotalElements()).isEqualTo(EXERCISES_PER_ROUTINE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldLoadRoutineListWithoutOneQueryPerRoutine() {
+        // Act
+        Page<RoutineResponseDto> page = routineService.getAllRoutines(PageRequest.of(0, 10));
+
+        // Assert: página + lote de routine_exercises + lote de exercises
+        assertThat(page.getContent()).hasSize(ROUTINES);
+        assertThat(page.getContent()).allSatisfy(routine ->
+                assertThat(routine.getExercises()).hasSize(EXERCISES_PER_ROUTINE));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldLoadProgramViewWithoutOneQueryPerProgramOrRoutine() {
+        // Act
+        Page<ProgramResponseDto> page = programService.getProgramsByLearner(learner.getId(), PageRequest.of(0, 10));
+
+        // Assert: learner + programas con trainer + lotes de rutinas, routine_exercises y exercises
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).allSatisfy(program ->
+                assertThat(program.getTrainerFirstName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void shouldAnswerProgramVolumeFromStoredAggregates() {
+        // Act
+        ProgramVolumeDto volume = programService.getProgramVolume(programs.getFirst().getId());
+
+        // Assert: existencia + una agregación, sin leer rutinas ni ejercicios
+        assertThat(volume.getWeekly()).extracting(MuscleVolumeDto::getSets).allMatch(sets -> sets > 0);
+        assertThat(volume.getDaily()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRebuildRoutineWithBatchedStatements() {
+        // Arrange: se cambia uno, se conserva otro, se quita el tercero y se añaden los de otra rutina
+        var current = exerciseIds(routines.get(0));
+        List<RoutineExerciseItemDto> desired = new ArrayList<>();
+        desired.add(new RoutineExerciseItemDto(current.get(0), 5, 5, 20.0));
+        desired.add(new RoutineExerciseItemDto(current.get(1), 3, 10, 20.0));
+        for (var exerciseId : exerciseIds(routines.get(1)))
+            desired.add(new RoutineExerciseItemDto(exerciseId, 4, 12, null));
+
+        // Act
+        RoutineExercisesDiffDto diff = routineService.replaceExercises(routines.get(0).getId(), null, desired);
+        entityManager.flush();
+
+        // Assert: rutina + colección + ejercicios nuevos + un batch por INSERT, UPDATE y DELETE
+        assertThat(diff.getInserted()).isEqualTo(EXERCISES_PER_ROUTINE);
+        assertThat(diff.getUpdated()).isEqualTo(1);
+        assertThat(diff.getDeleted()).isEqualTo(1);
+        assertThat(diff.getUnchanged()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    private static List<Long> exerciseIds(Routine routine) {
+        return routine.getExercises().stream()
+                .map(routineExercise -> routineExercise.getRoutineExerciseId().getExerciseId())
+                .toList();
+    }
+
+    private Learner persistLearner() {
+        Learner newLearner = new Learner();
+        newLearner.setEmail("learner@test.com");
+        newLearner.setUsername("learner");
+        newLearner.setPhoneNumber("111111");
+        newLearner.setFirstName("Test");
+        newLearner.setLastName("Learner");
+        newLearner.setPassword("password");
+        newLearner.setRole(Role.LEARNER);
+        newLearner.setGender(Gender.MALE);
+        newLearner.setHeight(175.0);
+        newLearner.setWeight(70.0);
+        return entityManager.persist(newLearner);
+    }
+
+    private Trainer persistTrainer(int index) {
+        Trainer trainer = new Trainer();
+        trainer.setEmail("trainer" + index + "@test.com");
+        trainer.setUsername("trainer" + index);
+        trainer.setPhoneNumber("33333" + index);
+        trainer.setFirstName("Trainer " + index);
+        trainer.setLastName("Trainer");
+        trainer.setPassword("password");
+        trainer.setRole(Role.TRAINER);
+        trainer.setGender(Gender.FEMALE);
+        trainer.setHeight(165.0);
+        trainer.setWeight(60.0);
+        return entityManager.persist(trainer);
+    }
+}
@@ -150,4 +150,26 @@ class RoutineRepositoryTest extends BaseRepositoryTest {
         /// Assert
         assertThat(exists).isFalse();
     }
-}
\ No newline at end of file
+
+    //--- Pruebas para findByContentHash ---
+
+    /**
+     * Prueba las consultas de unicidad frente a copias de programa
+     * Caso: Una copia comparte nombre, día y hash, pero no cuenta como duplicado
+     */
+    @Test
+    void shouldIgnoreForksForNameAndDayButFindThemByContentHash() {
+        /// Arrange
+        Routine fork = entityManager.persistAndFlush(existingRoutine.fork());
+        entityManager.clear();
+
+        /// Act
+        Optional<Routine> byNameAndDay = routineRepository.findByNameAndDay("Upper Body", Day.MONDAY);
+        var twins = routineRepository.findByContentHash(existingRoutine.getContentHash());
+
+        /// Assert
+        assertThat(byNameAndDay).map(Routine::getId).contains(existingRoutine.getId());
+        assertThat(twins).extracting(Routine::getId)
+                .containsExactlyInAnyOrder(existingRoutine.getId(), fork.getId());
+    }
+}
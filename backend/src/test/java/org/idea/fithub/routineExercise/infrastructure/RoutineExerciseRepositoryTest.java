@@ -0,0 +1,106 @@
+package org.idea.fithub.routineExercise.infrastructure;
+
+import org.idea.fithub.BaseRepositoryTest;
+import org.idea.fithub.exercise.domain.Exercise;
+import org.idea.fithub.exercise.domain.Muscle;
+import org.idea.fithub.routine.domain.Day;
+import org.idea.fithub.routine.domain.Routine;
+import org.idea.fithub.routineExercise.domain.RoutineExercise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutineExerciseRepositoryTest extends BaseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RoutineExerciseRepository routineExerciseRepository;
+
+    private Routine legDay;
+
+    private Exercise createTestExercise(String name, Muscle muscle) {
+        Exercise exercise = new Exercise();
+        exercise.setName(name);
+        exercise.setMuscle(muscle);
+        return entityManager.persist(exercise);
+    }
+
+    private Routine createTestRoutine(String name) {
+        Routine routine = new Routine();
+        routine.setName(name);
+        routine.setDay(Day.MONDAY);
+        return entityManager.persist(routine);
+    }
+
+    @BeforeEach
+    void setUp() {
+        /// Arrange global: 3 ejercicios en "Leg Day" y 1 en otra rutina
+        legDay = createTestRoutine("Leg Day");
+        legDay.addExercise(createTestExercise("Squat", Muscle.LEGS), 5, 5, 100.0);
+        legDay.addExercise(createTestExercise("Lunge", Muscle.LEGS), 3, 12, 20.0);
+        legDay.addExercise(createTestExercise("Calf Raise", Muscle.LEGS), 4, 15, 40.0);
+
+        Routine upperBody = createTestRoutine("Upper Body");
+        upperBody.addExercise(createTestExercise("Bench Press", Muscle.CHEST), 5, 5, 80.0);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Prueba la consulta paginada: findByRoutineId
+     * Caso: Happy Path (la BD corta la página y calcula el total)
+     */
+    @Test
+    void shouldReturnPageWithTotalsForRoutineOnly() {
+        /// Act
+        Page<RoutineExercise> page = routineExerciseRepository.findByRoutineId(legDay.getId(),
+                PageRequest.of(0, 2, Sort.by("exercise.name")));
+
+        /// Assert
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.getContent())
+                .extracting(routineExercise -> routineExercise.getExercise().getName())
+                .containsExactly("Calf Raise", "Lunge");
+    }
+
+    /**
+     * Prueba la consulta paginada: findByRoutineId
+     * Caso: Orden por una columna de routine_exercises
+     */
+    @Test
+    void shouldSortByRoutineExerciseColumns() {
+        /// Act
+        Page<RoutineExercise> page = routineExerciseRepository.findByRoutineId(legDay.getId(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "weight")));
+
+        /// Assert
+        assertThat(page.getContent())
+                .extracting(RoutineExercise::getWeight)
+                .containsExactly(100.0, 40.0, 20.0);
+    }
+
+    /**
+     * Prueba la consulta paginada: findByRoutineId
+     * Caso: Edge Case (página fuera de rango)
+     */
+    @Test
+    void shouldReturnEmptyPageBeyondLastPage() {
+        /// Act
+        Page<RoutineExercise> page = routineExerciseRepository.findByRoutineId(legDay.getId(),
+                PageRequest.of(5, 2, Sort.by("exercise.name")));
+
+        /// Assert
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+}
@@ -22,6 +22,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
@@ -193,4 +195,63 @@ class AuthControllerTest {
         // Verify
         verify(authService).signIn(any(SignInRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldExposePublicKeysAsJwks() throws Exception {
+        // Arrange
+        when(jwtService.getJwks()).thenReturn(Map.of("keys", List.of(Map.of("kid", "2025-01", "kty", "OKP"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/jwks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=300")))
+                .andExpect(jsonPath("$.keys[0].kid", is("2025-01")));
+    }
+
+    @Test
+    void shouldReturn429WhenForgotPasswordIsRepeatedForTheSameEmail() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(Map.of("email", "Limit@Example.com"));
+
+        // Act: el límite por email de forgot-password admite 3 peticiones
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/auth/forgot-password")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk());
+        }
+
+        // Assert
+        mockMvc.perform(post("/api/auth/forgot-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", "limit@example.com"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status", is(429)));
+        verify(authService, times(3)).requestPasswordReset(any());
+    }
+
+    @Test
+    void shouldReturn204WhenLogoutRevokesTokens() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer access.jwt.token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", "refresh.jwt.token"))))
+                .andExpect(status().isNoContent());
+
+        verify(authService).logout("access.jwt.token", "refresh.jwt.token");
+    }
+
+    @Test
+    void shouldReturn401WhenLogoutTokenIsInvalid() throws Exception {
+        // Arrange
+        doThrow(new UnauthorizedException("Invalid or expired token."))
+                .when(authService).logout(any(), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer expired.jwt.token"))
+                .andExpect(status().isUnauthorized());
+    }
+}
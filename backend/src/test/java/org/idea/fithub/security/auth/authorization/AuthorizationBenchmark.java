@@ -0,0 +1,94 @@
+package org.idea.fithub.security.auth.authorization;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.idea.fithub.security.auth.domain.TokenPrincipal;
+import org.idea.fithub.user.domain.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la evaluación SpEL de @PreAuthorize (con RoleHierarchy) frente a
+ * @RequireRoles con máscaras de bits, para un TRAINER sobre un endpoint
+ * "ADMIN, TRAINER, LEARNER". No se ejecuta con los tests; lanzar con el main
+ * tras {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private PreAuthorizeAuthorizationManager spelManager;
+    private RoleAuthorizationManager roleManager;
+    private MethodInvocation spelInvocation;
+    private MethodInvocation roleInvocation;
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        var hierarchy = RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_TRAINER\nROLE_ADMIN > ROLE_LEARNER");
+        var expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setRoleHierarchy(hierarchy);
+        spelManager = new PreAuthorizeAuthorizationManager();
+        spelManager.setExpressionHandler(expressionHandler);
+        roleManager = new RoleAuthorizationManager(List.of(Endpoints.class));
+
+        var endpoints = new Endpoints();
+        spelInvocation = new SimpleMethodInvocation(endpoints, Endpoints.class.getMethod("withSpel"));
+        roleInvocation = new SimpleMethodInvocation(endpoints, Endpoints.class.getMethod("withRoleMask"));
+
+        var principal = new TokenPrincipal(7L, "trainer@example.com", 0,
+                AuthorityUtils.createAuthorityList("ROLE_TRAINER"));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Benchmark
+    public boolean spelPreAuthorize() {
+        return spelManager.authorize(() -> authentication, spelInvocation).isGranted();
+    }
+
+    @Benchmark
+    public boolean roleMaskRequireRoles() {
+        return roleManager.authorize(() -> authentication, roleInvocation).isGranted();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthorizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    public static class Endpoints {
+        @PreAuthorize("hasAnyRole('ADMIN','TRAINER','LEARNER')")
+        public void withSpel() {
+        }
+
+        @RequireRoles({Role.ADMIN, Role.TRAINER, Role.LEARNER})
+        public void withRoleMask() {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.idea.fithub.security.auth.authorization;
+
+import org.idea.fithub.security.auth.domain.TokenPrincipal;
+import org.idea.fithub.trainingCheck.application.KioskCheckController;
+import org.idea.fithub.trainingCheck.dto.KioskCheckRequestDto;
+import org.idea.fithub.user.domain.Role;
+import org.idea.fithub.user.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias para RoleAuthorizationManager.
+ * - Roles permitidos y denegados según @RequireRoles.
+ * - ADMIN accede a todo; anónimos a nada.
+ * - Las máscaras se compilan al crear el gestor.
+ */
+class RoleAuthorizationManagerTest {
+
+    private final RoleAuthorizationManager manager = new RoleAuthorizationManager(List.of(SampleController.class));
+    private final SampleController controller = new SampleController();
+
+    @Test
+    void shouldGrantAccessToDeclaredRole() throws Exception {
+        var principal = new TokenPrincipal(1L, "trainer@example.com", 0,
+                AuthorityUtils.createAuthorityList("ROLE_TRAINER"));
+
+        assertThat(isGranted(authenticated(principal), "trainersOnly")).isTrue();
+        assertThat(isGranted(authenticated(principal), "learnersOnly")).isFalse();
+    }
+
+    @Test
+    void shouldGrantEverythingToAdmin() throws Exception {
+        User admin = User.builder().id(1L).email("admin@example.com").role(Role.ADMIN).build();
+
+        assertThat(isGranted(authenticated(admin), "trainersOnly")).isTrue();
+        assertThat(isGranted(authenticated(admin), "learnersOnly")).isTrue();
+        assertThat(isGranted(authenticated(admin), "adminOnly")).isTrue();
+    }
+
+    @Test
+    void shouldUseClassLevelAnnotationWhenMethodHasNone() throws Exception {
+        var learner = new UsernamePasswordAuthenticationToken("learner", null,
+                AuthorityUtils.createAuthorityList("ROLE_LEARNER"));
+
+        assertThat(isGranted(learner, "inheritsClassRoles")).isTrue();
+    }
+
+    @Test
+    void shouldDenyAnonymousUsers() throws Exception {
+        var anonymous = new AnonymousAuthenticationToken("key", "anonymous",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertThat(isGranted(anonymous, "inheritsClassRoles")).isFalse();
+    }
+
+    @Test
+    void shouldCompileMasksFromScannedClassesOnly() throws Exception {
+        /// Arrange
+        var scanned = RoleAuthorizationManager.scan(KioskCheckController.class.getPackageName());
+        var trainer = new UsernamePasswordAuthenticationToken("trainer", null,
+                AuthorityUtils.createAuthorityList("ROLE_TRAINER"));
+        var checkIn = new SimpleMethodInvocation(null,
+                KioskCheckController.class.getMethod("checkIn", KioskCheckRequestDto.class));
+        var unscanned = new SimpleMethodInvocation(controller, SampleController.class.getMethod("trainersOnly"));
+
+        /// Act & Assert
+        assertThat(scanned.authorize(() -> trainer, checkIn).isGranted()).isTrue();
+        assertThatThrownBy(() -> scanned.authorize(() -> trainer, unscanned))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private boolean isGranted(Authentication authentication, String methodName) throws Exception {
+        var invocation = new SimpleMethodInvocation(controller, SampleController.class.getMethod(methodName));
+        return manager.authorize(() -> authentication, invocation).isGranted();
+    }
+
+    private static Authentication authenticated(Object principal) {
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of());
+    }
+
+    @RequireRoles({Role.TRAINER, Role.LEARNER})
+    static class SampleController {
+        @RequireRoles(Role.TRAINER)
+        public void trainersOnly() {
+        }
+
+        @RequireRoles(Role.LEARNER)
+        public void learnersOnly() {
+        }
+
+        @RequireRoles(Role.ADMIN)
+        public void adminOnly() {
+        }
+
+        public void inheritsClassRoles() {
+        }
+    }
+}
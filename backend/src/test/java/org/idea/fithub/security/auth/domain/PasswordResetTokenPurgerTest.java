@@ -0,0 +1,58 @@
+package org.idea.fithub.security.auth.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para PasswordResetTokenPurger.
+ * - Repite lotes mientras se llenen y se detiene con el primer lote incompleto.
+ */
+@ExtendWith(MockitoExtension.class)
+class PasswordResetTokenPurgerTest {
+
+    @Mock
+    private PasswordResetTokenRepository tokenRepository;
+
+    @InjectMocks
+    private PasswordResetTokenPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(purger, "batchSize", 100);
+    }
+
+    @Test
+    void shouldDeleteInBatchesUntilABatchIsNotFull() {
+        /// Arrange
+        when(tokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100, 100, 37);
+
+        /// Act
+        purger.purgeExpired();
+
+        /// Assert
+        verify(tokenRepository, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void shouldHashTokensDeterministicallyWithoutStoringThePlainValue() {
+        String hash = PasswordResetToken.hash("reset-token");
+
+        assertThat(hash).hasSize(64).isEqualTo(PasswordResetToken.hash("reset-token"));
+        assertThat(hash).doesNotContain("reset-token");
+    }
+}
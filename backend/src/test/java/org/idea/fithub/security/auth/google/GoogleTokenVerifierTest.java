@@ -0,0 +1,106 @@
+package org.idea.fithub.security.auth.google;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.json.webtoken.JsonWebSignature;
+import org.idea.fithub.exceptions.UnauthorizedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias para GoogleTokenVerifier.
+ * - Usa un juego de claves RSA local en lugar de los certificados de Google.
+ * - Comprueba que las claves se reutilizan entre verificaciones.
+ */
+class GoogleTokenVerifierTest {
+    private static final String CLIENT_ID = "fithub-client-id";
+
+    private KeyPair keyPair;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private GoogleTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        verifier = new GoogleTokenVerifier(() -> {
+            fetches.incrementAndGet();
+            return Map.of("local-kid", keyPair.getPublic());
+        });
+        ReflectionTestUtils.setField(verifier, "googleClientId", CLIENT_ID);
+        ReflectionTestUtils.setField(verifier, "minRefreshInterval", 60_000L);
+    }
+
+    @Test
+    void shouldVerifyTokenSignedWithKnownKey() throws Exception {
+        /// Arrange
+        String token = sign(keyPair.getPrivate(), "local-kid", CLIENT_ID);
+
+        /// Act
+        GoogleIdToken.Payload payload = verifier.verify(token);
+
+        /// Assert
+        assertThat(payload.getEmail()).isEqualTo("ana@gmail.com");
+    }
+
+    @Test
+    void shouldFetchKeysOnlyOnceAcrossVerifications() throws Exception {
+        /// Arrange
+        String token = sign(keyPair.getPrivate(), "local-kid", CLIENT_ID);
+
+        /// Act
+        verifier.verify(token);
+        verifier.verify(token);
+
+        /// Assert
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithUnknownKey() throws Exception {
+        /// Arrange
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String token = sign(generator.generateKeyPair().getPrivate(), "local-kid", CLIENT_ID);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void shouldRejectTokenForAnotherAudience() throws Exception {
+        /// Arrange
+        String token = sign(keyPair.getPrivate(), "local-kid", "other-client");
+
+        /// Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    private static String sign(PrivateKey privateKey, String keyId, String audience) throws Exception {
+        var header = new JsonWebSignature.Header()
+                .setAlgorithm("RS256")
+                .setKeyId(keyId);
+        long now = System.currentTimeMillis() / 1000;
+        var payload = new GoogleIdToken.Payload()
+                .setIssuer("https://accounts.google.com")
+                .setAudience(audience)
+                .setIssuedAtTimeSeconds(now)
+                .setExpirationTimeSeconds(now + 3600)
+                .setEmail("ana@gmail.com");
+        return JsonWebSignature.signUsingRsaSha256(privateKey, GsonFactory.getDefaultInstance(), header, payload);
+    }
+}
@@ -2,17 +2,24 @@ package org.idea.fithub.security.auth.jwt;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.idea.fithub.security.auth.domain.TokenPrincipal;
 import org.idea.fithub.user.domain.Role;
 import org.idea.fithub.user.domain.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.time.LocalDate;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,9 +42,11 @@ class JwtServiceTest {
         /// Arrange global
         jwtService = new JwtService(); // Instancia real
 
-        ReflectionTestUtils.setField(jwtService, "secret", testSecret);
+        ReflectionTestUtils.setField(jwtService, "secretKey", testSecret);
         ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", testAccessTokenExpiration);
         ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", testRefreshTokenExpiration);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 100);
+        jwtService.init();
 
         testUser = User.builder()
                 .id(1L)
@@ -57,7 +66,7 @@ class JwtServiceTest {
     }
 
     private SecretKey getTestSigningKey() {
-        return Keys.hmacShaKeyFor(testSecret.getBytes());
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(testSecret));
     }
 
     // --- Tests para generateToken ---
@@ -73,7 +82,7 @@ class JwtServiceTest {
                 .getPayload();
 
         assertThat(claims.getSubject()).isEqualTo(testUserEmail);
-        assertThat(claims.get("roles", List.class)).containsExactly(Role.LEARNER.name());
+        assertThat(claims.get("roles", List.class)).containsExactly("ROLE_" + Role.LEARNER.name());
         assertThat(claims.get("userId")).isEqualTo(1);
         assertThat(claims.getIssuedAt()).isBeforeOrEqualTo(new Date());
         assertThat(claims.getExpiration()).isAfter(new Date());
@@ -111,7 +120,10 @@ class JwtServiceTest {
     void shouldReturnFalseWhenTokenSignatureIsInvalid() {
         /// Arrange
         String token = jwtService.generateToken(testUser);
-        String tamperedToken = token.substring(0, token.length() - 1) + "X";
+        // Se cambia el primer carácter de la firma: el último lleva bits de relleno y puede no alterarla
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replacement = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tamperedToken = token.substring(0, signatureStart) + replacement + token.substring(signatureStart + 1);
 
         /// Act
         boolean isValid = jwtService.isTokenValid(tamperedToken);
@@ -124,8 +136,9 @@ class JwtServiceTest {
     void shouldReturnFalseWhenTokenIsExpired() throws InterruptedException {
         /// Arrange
         JwtService shortExpiryJwtService = new JwtService();
-        ReflectionTestUtils.setField(shortExpiryJwtService, "secret", testSecret);
+        ReflectionTestUtils.setField(shortExpiryJwtService, "secretKey", testSecret);
         ReflectionTestUtils.setField(shortExpiryJwtService, "accessTokenExpiration", shortExpiration); // 1 ms
+        shortExpiryJwtService.init();
 
         String expiredToken = shortExpiryJwtService.generateToken(testUser);
 
@@ -164,6 +177,93 @@ class JwtServiceTest {
         assertThat(isValid).isFalse();
     }
 
+    // --- Tests para verify ---
+
+    @Test
+    void shouldReturnClaimsWhenVerifyingValidToken() {
+        /// Arrange
+        String token = jwtService.generateToken(testUser);
+
+        /// Act
+        Optional<Claims> claims = jwtService.verify(token);
+
+        /// Assert
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo(testUserEmail);
+    }
+
+    @Test
+    void shouldServeRepeatedVerificationFromCache() {
+        /// Arrange
+        String token = jwtService.generateToken(testUser);
+
+        /// Act
+        Claims first = jwtService.verify(token).orElseThrow();
+        Claims second = jwtService.verify(token).orElseThrow();
+
+        /// Assert
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        /// Arrange
+        String token = jwtService.generateToken(testUser);
+        // Se altera un carácter interior de la firma: el último solo aporta bits de relleno
+        int pos = token.length() - 10;
+        char replacement = token.charAt(pos) == 'A' ? 'B' : 'A';
+        String tamperedToken = token.substring(0, pos) + replacement + token.substring(pos + 1);
+
+        /// Act
+        jwtService.verify(tamperedToken);
+
+        /// Assert
+        assertThat(jwtService.verify(tamperedToken)).isEmpty();
+        assertThat(jwtService.verify(token)).isPresent();
+    }
+
+    @Test
+    void shouldRejectCachedTokenOnceItExpires() throws InterruptedException {
+        /// Arrange
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 1000L);
+        String token = jwtService.generateToken(testUser);
+        assertThat(jwtService.verify(token)).isPresent();
+
+        Thread.sleep(1100);
+
+        /// Act & Assert
+        assertThat(jwtService.verify(token)).isEmpty();
+    }
+
+    // --- Tests para toPrincipal ---
+
+    @Test
+    void shouldBuildPrincipalFromAccessTokenClaims() {
+        /// Arrange
+        Claims claims = jwtService.verify(jwtService.generateToken(testUser)).orElseThrow();
+
+        /// Act
+        Optional<TokenPrincipal> principal = jwtService.toPrincipal(claims);
+
+        /// Assert
+        assertThat(principal).isPresent();
+        assertThat(principal.get().getId()).isEqualTo(1L);
+        assertThat(principal.get().getUsername()).isEqualTo(testUserEmail);
+        assertThat(principal.get().getSecurityVersion()).isZero();
+        assertThat(principal.get().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_" + Role.LEARNER.name());
+    }
+
+    @Test
+    void shouldNotBuildPrincipalFromRefreshTokenClaims() {
+        /// Arrange
+        Claims claims = jwtService.verify(jwtService.generateRefreshToken(testUser)).orElseThrow();
+
+        /// Act & Assert
+        assertThat(jwtService.toPrincipal(claims)).isEmpty();
+    }
+
     // --- Tests para generateRefreshToken ---
 
     @Test
@@ -252,8 +352,136 @@ class JwtServiceTest {
                 .parseSignedClaims(token)
                 .getPayload();
 
-        assertThat(claims.get("roles", List.class)).containsExactly(Role.ADMIN.name());
+        assertThat(claims.get("roles", List.class)).containsExactly("ROLE_" + Role.ADMIN.name());
 
         assertThat(claims.get("userId")).isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    // --- Tests para firma asimétrica con rotación de claves ---
+
+    @Test
+    void shouldSignWithActiveKeyIdWhenSigningKeysAreConfigured() throws Exception {
+        /// Arrange
+        KeyPair current = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        useSigningKeys(entry("2025-02", current, true));
+
+        /// Act
+        String token = jwtService.generateToken(testUser);
+
+        /// Assert
+        var jws = Jwts.parser().verifyWith(current.getPublic()).build().parseSignedClaims(token);
+        assertThat(jws.getHeader().getKeyId()).isEqualTo("2025-02");
+        assertThat(jwtService.verify(token)).isPresent();
+    }
+
+    @Test
+    void shouldKeepVerifyingTokensSignedBeforeRotation() throws Exception {
+        /// Arrange
+        KeyPair previous = KeyPairGenerator.getInstance("EC").generateKeyPair();
+        KeyPair current = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        String hmacToken = jwtService.generateToken(testUser);
+        useSigningKeys(entry("2025-01", previous, true));
+        String oldToken = jwtService.generateToken(testUser);
+
+        /// Act
+        useSigningKeys(entry("2025-02", current, true) + "," + entry("2025-01", previous, false));
+
+        /// Assert
+        assertThat(jwtService.verify(oldToken)).isPresent();
+        assertThat(jwtService.verify(hmacToken)).isPresent();
+        assertThat(jwtService.getJwks().get("keys").toString()).contains("2025-01", "2025-02");
+    }
+
+    @Test
+    void shouldRejectTokenWithUnknownKeyId() throws Exception {
+        /// Arrange
+        KeyPair retired = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        KeyPair current = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        useSigningKeys(entry("2024-12", retired, true));
+        String token = jwtService.generateToken(testUser);
+
+        /// Act
+        useSigningKeys(entry("2025-02", current, true));
+
+        /// Assert
+        assertThat(jwtService.verify(token)).isEmpty();
+    }
+
+    private void useSigningKeys(String spec) {
+        ReflectionTestUtils.setField(jwtService, "signingKeys", spec);
+        jwtService.init();
+    }
+
+    private static String entry(String keyId, KeyPair keyPair, boolean withPrivateKey) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        String privateKey = withPrivateKey ? encoder.encodeToString(keyPair.getPrivate().getEncoded()) : "";
+        return keyId + ":" + privateKey + ":" + encoder.encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    // --- Tests para revocación ---
+
+    @Test
+    void shouldRejectRevokedTokenButKeepOthersValid() {
+        /// Arrange
+        String revoked = jwtService.generateToken(testUser);
+        String other = jwtService.generateToken(testUser);
+        jwtService.verify(revoked); // queda en la cache de verificados
+
+        /// Act
+        boolean result = jwtService.revoke(revoked);
+
+        /// Assert
+        assertThat(result).isTrue();
+        assertThat(jwtService.verify(revoked)).isEmpty();
+        assertThat(jwtService.verify(other)).isPresent();
+    }
+
+    @Test
+    void shouldRejectEveryTokenIssuedBeforeForcedLogout() {
+        /// Arrange
+        String accessToken = jwtService.generateToken(testUser);
+        String refreshToken = jwtService.generateRefreshToken(testUser);
+
+        /// Act
+        jwtService.revokeAll(testUserEmail);
+
+        /// Assert
+        assertThat(jwtService.verify(accessToken)).isEmpty();
+        assertThat(jwtService.verify(refreshToken)).isEmpty();
+    }
+
+    @Test
+    void shouldAcceptTokenIssuedRightAfterForcedLogoutInTheSameSecond() throws InterruptedException {
+        /// Arrange
+        String before = jwtService.generateToken(testUser);
+        jwtService.revokeAll(testUserEmail);
+        Thread.sleep(5);
+
+        /// Act
+        String after = jwtService.generateToken(testUser);
+
+        /// Assert
+        assertThat(jwtService.verify(before)).isEmpty();
+        assertThat(jwtService.verify(after)).isPresent();
+    }
+
+    @Test
+    void shouldDropRevocationsOnceTokensExpire() throws InterruptedException {
+        /// Arrange
+        // exp se guarda en segundos: con 2 s el token sigue vivo al revocarlo aunque se trunque
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 2000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 2000L);
+        String token = jwtService.generateToken(testUser);
+        jwtService.revoke(token);
+        TokenRevocationList revocations =
+                (TokenRevocationList) ReflectionTestUtils.getField(jwtService, "revocations");
+        assertThat(revocations.size()).isEqualTo(1);
+
+        /// Act
+        Thread.sleep(2100);
+        jwtService.purgeRevocations();
+
+        /// Assert
+        assertThat(revocations.size()).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package org.idea.fithub.security.auth.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para AuthRateLimitFilter.
+ * - El límite por email se aplica también sin Content-Length (chunked).
+ * - Un cuerpo mayor que el tope se rechaza con 413 sin llegar al controlador.
+ * - El controlador recibe el cuerpo leído, también en modo no bloqueante.
+ */
+class AuthRateLimitFilterTest {
+    private static final String BODY = "{\"email\":\"Learner@Test.com\",\"password\":\"secret\"}";
+
+    private final AuthRateLimitFilter filter = new AuthRateLimitFilter("signin:100/60:1/60",
+            new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+
+    @Test
+    void shouldLimitByEmailWhenBodyIsChunked() throws Exception {
+        /// Act
+        var first = send(chunked(BODY));
+        var second = send(chunked(BODY.replace("Learner@Test.com", "learner@test.com")));
+
+        /// Assert
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isNotNull();
+    }
+
+    @Test
+    void shouldRejectBodiesLargerThanTheCap() throws Exception {
+        /// Arrange
+        var padded = "{\"email\":\"learner@test.com\",\"pad\":\"" + "x".repeat(20 * 1024) + "\"}";
+        var declared = request(padded);
+        var chain = new MockFilterChain();
+
+        /// Act
+        var withLength = send(declared, chain);
+        var withoutLength = send(chunked(padded));
+
+        /// Assert
+        assertThat(withLength.getStatus()).isEqualTo(413);
+        assertThat(withoutLength.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void shouldForwardBufferedBodyAndNotifyReadListenerImmediately() throws Exception {
+        /// Arrange
+        var chain = new MockFilterChain();
+        List<String> events = new ArrayList<>();
+
+        /// Act
+        send(request(BODY), chain);
+        var forwarded = (HttpServletRequest) chain.getRequest();
+        var input = forwarded.getInputStream();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add("error");
+            }
+        });
+
+        /// Assert
+        assertThat(events).containsExactly(BODY, "done");
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        return send(request, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        var request = new MockHttpServletRequest("POST", "/api/auth/signin");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Transfer-Encoding: chunked llega sin Content-Length
+    private static MockHttpServletRequest chunked(String body) {
+        var request = new MockHttpServletRequest("POST", "/api/auth/signin") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
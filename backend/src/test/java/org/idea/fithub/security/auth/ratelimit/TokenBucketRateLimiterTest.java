@@ -0,0 +1,79 @@
+package org.idea.fithub.security.auth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para TokenBucketRateLimiter.
+ * - Ráfaga hasta la capacidad, rechazo después y recarga con el tiempo.
+ * - Claves independientes y sin tokens de más bajo concurrencia.
+ */
+class TokenBucketRateLimiterTest {
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void shouldAllowBurstUpToCapacityAndThenReject() {
+        var limiter = new TokenBucketRateLimiter(3, MINUTE);
+        long now = 0;
+
+        assertThat(limiter.tryAcquire("ip", now)).isZero();
+        assertThat(limiter.tryAcquire("ip", now)).isZero();
+        assertThat(limiter.tryAcquire("ip", now)).isZero();
+        assertThat(limiter.tryAcquire("ip", now)).isPositive();
+    }
+
+    @Test
+    void shouldRefillOneTokenPerInterval() {
+        var limiter = new TokenBucketRateLimiter(3, MINUTE);
+        for (int i = 0; i < 3; i++)
+            limiter.tryAcquire("ip", 0);
+
+        long wait = limiter.tryAcquire("ip", 0);
+
+        assertThat(wait).isEqualTo(MINUTE / 3);
+        assertThat(limiter.tryAcquire("ip", wait)).isZero();
+        assertThat(limiter.tryAcquire("ip", wait)).isPositive();
+    }
+
+    @Test
+    void shouldKeepKeysIndependent() {
+        var limiter = new TokenBucketRateLimiter(1, MINUTE);
+
+        assertThat(limiter.tryAcquire("a@example.com", 0)).isZero();
+        assertThat(limiter.tryAcquire("a@example.com", 0)).isPositive();
+        assertThat(limiter.tryAcquire("b@example.com", 0)).isZero();
+    }
+
+    @Test
+    void shouldNeverGrantMoreThanCapacityUnderContention() throws InterruptedException {
+        var limiter = new TokenBucketRateLimiter(50, MINUTE);
+        var granted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 400; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (limiter.tryAcquire("ip", now) == 0)
+                    granted.incrementAndGet();
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(50);
+    }
+}
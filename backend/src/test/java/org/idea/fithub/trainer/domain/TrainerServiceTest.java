@@ -11,6 +11,8 @@ import org.idea.fithub.trainer.dto.TrainerResponseDto;
 import org.idea.fithub.trainer.infrastructure.TrainerRepository;
 import org.idea.fithub.user.domain.Gender;
 import org.idea.fithub.user.domain.Role;
+import org.idea.fithub.user.domain.UserAvailabilityIndex;
+import org.idea.fithub.user.domain.UserService;
 import org.idea.fithub.user.domain.UserStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,6 +46,11 @@ class TrainerServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserAvailabilityIndex availabilityIndex;
+    @Mock
+    private UserService userService;
+
     @InjectMocks
     private TrainerService trainerService;
 
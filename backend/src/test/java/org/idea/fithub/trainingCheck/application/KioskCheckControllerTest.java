@@ -0,0 +1,94 @@
+package org.idea.fithub.trainingCheck.application;
+
+import org.idea.fithub.exceptions.TooManyRequestsException;
+import org.idea.fithub.global.GlobalExceptionHandler;
+import org.idea.fithub.security.auth.jwt.JwtService;
+import org.idea.fithub.trainingCheck.domain.KioskCheckBuffer;
+import org.idea.fithub.trainingCheck.dto.KioskCheckResponseDto;
+import org.idea.fithub.user.domain.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(KioskCheckController.class)
+@Import(GlobalExceptionHandler.class)
+@ActiveProfiles("test")
+class KioskCheckControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private KioskCheckBuffer kioskCheckBuffer;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void shouldReturn202WithAcknowledgement() throws Exception {
+        /// Arrange
+        when(kioskCheckBuffer.offer(List.of(1L, 2L, 2L)))
+                .thenReturn(new KioskCheckResponseDto(LocalDate.of(2024, 4, 1), 2, 1));
+
+        /// Act & Assert
+        mockMvc.perform(post("/api/kiosk/checks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"learnerIds\":[1,2,2]}")
+                        .with(user("trainer").roles("TRAINER"))
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.date").value("01/04/2024"))
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.alreadyPending").value(1));
+
+        /// Verify
+        verify(kioskCheckBuffer).offer(List.of(1L, 2L, 2L));
+    }
+
+    @Test
+    void shouldReturn400WhenNoLearnerIds() throws Exception {
+        /// Act & Assert
+        mockMvc.perform(post("/api/kiosk/checks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"learnerIds\":[]}")
+                        .with(user("admin").roles("ADMIN"))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        /// Verify
+        verify(kioskCheckBuffer, never()).offer(any());
+    }
+
+    @Test
+    void shouldReturn429WhenBufferIsFull() throws Exception {
+        /// Arrange
+        when(kioskCheckBuffer.offer(List.of(1L)))
+                .thenThrow(new TooManyRequestsException("Kiosk check-in buffer is full, please retry"));
+
+        /// Act & Assert
+        mockMvc.perform(post("/api/kiosk/checks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"learnerIds\":[1]}")
+                        .with(user("admin").roles("ADMIN"))
+                        .with(csrf()))
+                .andExpect(status().isTooManyRequests());
+    }
+}
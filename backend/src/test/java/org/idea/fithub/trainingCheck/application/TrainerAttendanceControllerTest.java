@@ -0,0 +1,82 @@
+package org.idea.fithub.trainingCheck.application;
+
+import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.global.GlobalExceptionHandler;
+import org.idea.fithub.security.auth.jwt.JwtService;
+import org.idea.fithub.trainingCheck.domain.TrainerAttendanceService;
+import org.idea.fithub.trainingCheck.dto.TrainerAttendanceDto;
+import org.idea.fithub.trainingCheck.dto.TrainerAttendanceDto.PeriodCount;
+import org.idea.fithub.user.domain.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TrainerAttendanceController.class)
+@Import(GlobalExceptionHandler.class)
+@ActiveProfiles("test")
+class TrainerAttendanceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TrainerAttendanceService trainerAttendanceService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserService userService;
+
+    private final Long trainerId = 7L;
+
+    @Test
+    void shouldReturn200WithCohortAttendance() throws Exception {
+        /// Arrange
+        LocalDate from = LocalDate.of(2024, 4, 1);
+        LocalDate to = LocalDate.of(2024, 4, 2);
+        TrainerAttendanceDto dto = new TrainerAttendanceDto(trainerId, from, to, 3L, 4L, 0.667,
+                List.of(new PeriodCount(from, 3), new PeriodCount(to, 1)),
+                List.of(new PeriodCount(from, 4)));
+        when(trainerAttendanceService.getCohortAttendance(trainerId, from, to)).thenReturn(dto);
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/trainers/{trainerId}/attendance", trainerId)
+                        .param("from", "01/04/2024")
+                        .param("to", "02/04/2024")
+                        .with(user("trainer").roles("TRAINER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeLearners").value(3))
+                .andExpect(jsonPath("$.adherenceRate").value(0.667))
+                .andExpect(jsonPath("$.daily.length()").value(2))
+                .andExpect(jsonPath("$.weekly[0].checks").value(4));
+
+        /// Verify
+        verify(trainerAttendanceService).getCohortAttendance(trainerId, from, to);
+    }
+
+    @Test
+    void shouldReturn404WhenTrainerDoesNotExist() throws Exception {
+        /// Arrange
+        when(trainerAttendanceService.getCohortAttendance(99L, null, null))
+                .thenThrow(new ResourceNotFoundException("Trainer not found with id: 99"));
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/trainers/{trainerId}/attendance", 99L)
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Trainer not found with id: 99"));
+    }
+}
@@ -6,6 +6,12 @@ import org.idea.fithub.exceptions.DuplicateResourceException;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
 import org.idea.fithub.global.GlobalExceptionHandler;
 import org.idea.fithub.trainingCheck.domain.TrainingCheckService;
+import org.idea.fithub.trainingCheck.domain.AttendanceEncoding;
+import org.idea.fithub.trainingCheck.domain.CheckOutcome;
+import org.idea.fithub.trainingCheck.dto.BulkCheckResponseDto;
+import org.idea.fithub.trainingCheck.dto.CheckResultDto;
+import org.idea.fithub.trainingCheck.dto.CompactAttendanceDto;
+import org.idea.fithub.trainingCheck.dto.LearnerAttendanceStatsDto;
 import org.idea.fithub.trainingCheck.dto.TrainingCheckResponseDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +28,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -150,6 +157,48 @@ class TrainingCheckControllerTest {
     }
 
 
+    // --- Tests para markChecks (POST /{learnerId}/checks) ---
+
+    @Test
+    void shouldReturn200WithPerDateOutcomesWhenMarkingInBulk() throws Exception {
+        /// Arrange
+        BulkCheckResponseDto responseDto = new BulkCheckResponseDto(learnerId, 1, List.of(
+                new CheckResultDto(testDate, CheckOutcome.MARKED, null),
+                new CheckResultDto(testDate.minusDays(1), CheckOutcome.ALREADY_MARKED, null)));
+        when(trainingCheckService.markChecks(learnerId, List.of(testDate, testDate.minusDays(1))))
+                .thenReturn(responseDto);
+
+        /// Act & Assert
+        mockMvc.perform(post("/api/learners/{learnerId}/checks", learnerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dates\": [\"" + testDateString + "\", \""
+                                + testDate.minusDays(1).format(formatter) + "\"]}")
+                        .with(user("testuser").roles("LEARNER"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.marked").value(1))
+                .andExpect(jsonPath("$.results[0].date").value(testDateString))
+                .andExpect(jsonPath("$.results[0].outcome").value("MARKED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("ALREADY_MARKED"));
+
+        /// Verify
+        verify(trainingCheckService).markChecks(learnerId, List.of(testDate, testDate.minusDays(1)));
+    }
+
+    @Test
+    void shouldReturn400WhenBulkDatesAreEmpty() throws Exception {
+        /// Act & Assert
+        mockMvc.perform(post("/api/learners/{learnerId}/checks", learnerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dates\": []}")
+                        .with(user("testuser").roles("LEARNER"))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        /// Verify
+        verify(trainingCheckService, never()).markChecks(anyLong(), any());
+    }
+
     // --- Tests para unmarkCheck (DELETE /{learnerId}/check) ---
 
     @Test
@@ -194,7 +243,7 @@ class TrainingCheckControllerTest {
         /// Arrange
         TrainingCheckResponseDto responseDto = new TrainingCheckResponseDto(
                 learnerId, 5, "0 months and 10 days", Collections.emptyList());
-        when(trainingCheckService.getTrainingCheck(learnerId)).thenReturn(responseDto);
+        when(trainingCheckService.getTrainingCheck(learnerId, null, null)).thenReturn(responseDto);
 
         /// Act & Assert
         mockMvc.perform(get("/api/learners/{learnerId}/checks", learnerId)
@@ -206,7 +255,76 @@ class TrainingCheckControllerTest {
                 .andExpect(jsonPath("$.duration").value("0 months and 10 days"));
 
         /// Verify
-        verify(trainingCheckService).getTrainingCheck(learnerId);
+        verify(trainingCheckService).getTrainingCheck(learnerId, null, null);
+    }
+
+    @Test
+    void shouldPassDateRangeToServiceWhenProvided() throws Exception {
+        /// Arrange
+        LocalDate from = testDate.minusDays(30);
+        TrainingCheckResponseDto responseDto = new TrainingCheckResponseDto(
+                learnerId, 1, "0 months and 1 days", List.of(testDate));
+        when(trainingCheckService.getTrainingCheck(learnerId, from, testDate)).thenReturn(responseDto);
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/learners/{learnerId}/checks", learnerId)
+                        .param("from", from.format(formatter))
+                        .param("to", testDateString)
+                        .with(user("testuser").roles("LEARNER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalChecks").value(1));
+
+        /// Verify
+        verify(trainingCheckService).getTrainingCheck(learnerId, from, testDate);
+    }
+
+    @Test
+    void shouldReturnRunLengthEncodingWhenRequestedByParameter() throws Exception {
+        /// Arrange
+        CompactAttendanceDto dto = new CompactAttendanceDto(
+                learnerId, 3, "0 months and 5 days", testDate.minusDays(9), testDate, "rle", new int[]{1, 2, 2, 1}, null);
+        when(trainingCheckService.getCompactTrainingCheck(learnerId, null, null, AttendanceEncoding.RLE))
+                .thenReturn(dto);
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/learners/{learnerId}/checks", learnerId)
+                        .param("format", "rle")
+                        .with(user("testuser").roles("LEARNER")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AttendanceEncoding.RLE_MEDIA_TYPE))
+                .andExpect(jsonPath("$.runs.length()").value(4))
+                .andExpect(jsonPath("$.bits").doesNotExist())
+                .andExpect(jsonPath("$.checkDates").doesNotExist());
+    }
+
+    @Test
+    void shouldNegotiateBitmapEncodingFromAcceptHeader() throws Exception {
+        /// Arrange
+        CompactAttendanceDto dto = new CompactAttendanceDto(
+                learnerId, 1, "0 months and 1 days", testDate, testDate, "bitmap", null, "AQ");
+        when(trainingCheckService.getCompactTrainingCheck(learnerId, null, null, AttendanceEncoding.BITMAP))
+                .thenReturn(dto);
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/learners/{learnerId}/checks", learnerId)
+                        .accept(AttendanceEncoding.BITMAP_MEDIA_TYPE)
+                        .with(user("testuser").roles("LEARNER")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AttendanceEncoding.BITMAP_MEDIA_TYPE))
+                .andExpect(jsonPath("$.bits").value("AQ"));
+
+        /// Verify
+        verify(trainingCheckService, never()).getTrainingCheck(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturn400WhenFormatIsUnknown() throws Exception {
+        /// Act & Assert
+        mockMvc.perform(get("/api/learners/{learnerId}/checks", learnerId)
+                        .param("format", "xml")
+                        .with(user("testuser").roles("LEARNER")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported attendance format: xml"));
     }
 
     @Test
@@ -214,7 +332,7 @@ class TrainingCheckControllerTest {
         /// Arrange
         Long nonExistentId = 99L;
         String errorMessage = "Learner not found with id: " + nonExistentId;
-        when(trainingCheckService.getTrainingCheck(nonExistentId))
+        when(trainingCheckService.getTrainingCheck(nonExistentId, null, null))
                 .thenThrow(new ResourceNotFoundException(errorMessage));
 
         /// Act & Assert
@@ -224,6 +342,27 @@ class TrainingCheckControllerTest {
                 .andExpect(jsonPath("$.message").value(errorMessage));
 
         /// Verify
-        verify(trainingCheckService).getTrainingCheck(nonExistentId);
+        verify(trainingCheckService).getTrainingCheck(nonExistentId, null, null);
+    }
+
+    // --- Tests para getAttendanceStats (GET /{learnerId}/checks/stats) ---
+
+    @Test
+    void shouldReturn200OkWithAttendanceStats() throws Exception {
+        /// Arrange
+        LearnerAttendanceStatsDto statsDto = new LearnerAttendanceStatsDto(
+                learnerId, 12L, 3, 7, 2, 9, testDate.minusDays(40), testDate);
+        when(trainingCheckService.getAttendanceStats(learnerId)).thenReturn(statsDto);
+
+        /// Act & Assert
+        mockMvc.perform(get("/api/learners/{learnerId}/checks/stats", learnerId)
+                        .with(user("testuser").roles("LEARNER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalChecks").value(12))
+                .andExpect(jsonPath("$.currentStreak").value(3))
+                .andExpect(jsonPath("$.longestStreak").value(7));
+
+        /// Verify
+        verify(trainingCheckService).getAttendanceStats(learnerId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para AttendanceBitmap.
+ * - Marcado y desmarcado idempotentes.
+ * - Conteo y extremos en rangos que cruzan palabras de 64 bits.
+ * - Ida y vuelta a bytes.
+ */
+class AttendanceBitmapTest {
+
+    @Test
+    void shouldReportWhetherSetAndClearChangedTheBitmap() {
+        /// Arrange
+        var bitmap = new AttendanceBitmap();
+
+        /// Act & Assert
+        assertThat(bitmap.set(10)).isTrue();
+        assertThat(bitmap.set(10)).isFalse();
+        assertThat(bitmap.get(10)).isTrue();
+        assertThat(bitmap.clear(10)).isTrue();
+        assertThat(bitmap.clear(10)).isFalse();
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldCountAndLocateDaysAcrossWordBoundaries() {
+        /// Arrange
+        var bitmap = new AttendanceBitmap();
+        for (int day : new int[]{0, 63, 64, 127, 200, 365})
+            bitmap.set(day);
+
+        /// Act & Assert
+        assertThat(bitmap.count(0, 365)).isEqualTo(6);
+        assertThat(bitmap.count(63, 64)).isEqualTo(2);
+        assertThat(bitmap.count(65, 126)).isZero();
+        assertThat(bitmap.first(1, 365)).isEqualTo(63);
+        assertThat(bitmap.last(0, 364)).isEqualTo(200);
+        assertThat(bitmap.first(65, 126)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldIterateDaysInOrderWithinRange() {
+        /// Arrange
+        var bitmap = new AttendanceBitmap();
+        bitmap.set(300);
+        bitmap.set(5);
+        bitmap.set(70);
+        List<Integer> days = new ArrayList<>();
+
+        /// Act
+        bitmap.forEach(5, 299, days::add);
+
+        /// Assert
+        assertThat(days).containsExactly(5, 70);
+    }
+
+    @Test
+    void shouldRoundTripThroughBytes() {
+        /// Arrange
+        var bitmap = new AttendanceBitmap();
+        bitmap.set(1);
+        bitmap.set(365);
+
+        /// Act
+        var restored = AttendanceBitmap.fromBytes(bitmap.toBytes());
+
+        /// Assert
+        assertThat(bitmap.toBytes()).hasSize(AttendanceBitmap.BYTES);
+        assertThat(restored.count(0, 365)).isEqualTo(2);
+        assertThat(restored.get(365)).isTrue();
+    }
+}
@@ -0,0 +1,93 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.idea.fithub.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias para AttendanceEncoding.
+ * - RLE alternando huecos y rachas.
+ * - Bitmap decodificable y mucho menor que la lista de fechas.
+ */
+class AttendanceEncodingTest {
+
+    @Test
+    void shouldEncodeGapsAndRunsFromRangeStart() {
+        /// Arrange
+        var encoder = AttendanceEncoding.RLE.newEncoder(30);
+
+        /// Act
+        for (int offset : new int[]{2, 3, 4, 7, 11, 12})
+            encoder.accept(offset);
+
+        /// Assert
+        assertThat(encoder.runs()).containsExactly(2, 3, 2, 1, 3, 2);
+        assertThat(encoder.bits()).isNull();
+        assertThat(encoder.getCount()).isEqualTo(6);
+        assertThat(encoder.getFirst()).isEqualTo(2);
+        assertThat(encoder.getLast()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldReturnEmptyRunsWhenNothingIsMarked() {
+        /// Act
+        var encoder = AttendanceEncoding.RLE.newEncoder(30);
+
+        /// Assert
+        assertThat(encoder.runs()).isEmpty();
+        assertThat(encoder.getCount()).isZero();
+        assertThat(encoder.getFirst()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldEncodeOneBitPerDay() {
+        /// Arrange
+        var encoder = AttendanceEncoding.BITMAP.newEncoder(16);
+
+        /// Act
+        encoder.accept(0);
+        encoder.accept(9);
+
+        /// Assert
+        byte[] bits = Base64.getUrlDecoder().decode(encoder.bits());
+        assertThat(bits).containsExactly(0b0000_0001, 0b0000_0010);
+        assertThat(encoder.runs()).isNull();
+    }
+
+    @Test
+    void shouldBeFarSmallerThanIsoDatesForAYearOfTraining() {
+        /// Arrange
+        var from = LocalDate.of(2024, 1, 1);
+        var encoder = AttendanceEncoding.BITMAP.newEncoder(366);
+        List<String> isoDates = new ArrayList<>();
+        for (int offset = 0; offset < 366; offset++) {
+            if (offset % 7 == 0 || offset % 7 == 2 || offset % 7 == 4) {
+                encoder.accept(offset);
+                isoDates.add("\"" + from.plusDays(offset) + "\"");
+            }
+        }
+
+        /// Act
+        int compact = encoder.bits().length() + 2;
+        int iso = String.join(",", isoDates).length() + 2;
+
+        /// Assert
+        assertThat(iso / compact).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        /// Act & Assert
+        assertThat(AttendanceEncoding.fromFormat(" Bitmap ")).isEqualTo(AttendanceEncoding.BITMAP);
+        assertThatThrownBy(() -> AttendanceEncoding.fromFormat("xml"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unsupported attendance format: xml");
+    }
+}
@@ -0,0 +1,212 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.idea.fithub.learner.domain.Learner;
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.infrastructure.AttendanceYearRepository;
+import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckEntry;
+import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para BitmapAttendanceStore.
+ * - Marcado como cambio de bit sobre la fila del año, creada solo si falta.
+ * - Lecturas servidas desde la caché.
+ * - Migración desde training_check.
+ */
+@ExtendWith(MockitoExtension.class)
+class BitmapAttendanceStoreTest {
+
+    @Mock
+    private AttendanceYearRepository attendanceYearRepository;
+    @Mock
+    private TrainingCheckRepository trainingCheckRepository;
+    @Mock
+    private LearnerRepository learnerRepository;
+
+    @InjectMocks
+    private BitmapAttendanceStore store;
+
+    private final Long learnerId = 1L;
+    private final LocalDate date = LocalDate.of(2024, 3, 1);
+    private AttendanceYear row;
+
+    @BeforeEach
+    void setUp() {
+        /// Arrange global
+        ReflectionTestUtils.setField(store, "cacheSize", 100);
+        row = new AttendanceYear(new Learner(), 2024);
+        lenient().when(attendanceYearRepository.findByLearnerIdAndYear(learnerId, 2024))
+                .thenReturn(Optional.of(row));
+        lenient().when(attendanceYearRepository.findForUpdate(learnerId, 2024)).thenReturn(Optional.of(row));
+    }
+
+    @Test
+    void shouldFlipBitAndRejectDuplicateMark() {
+        /// Act
+        boolean first = store.mark(learnerId, date);
+        boolean second = store.mark(learnerId, date);
+
+        /// Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(AttendanceBitmap.fromBytes(row.getBits()).get(date.getDayOfYear() - 1)).isTrue();
+        verify(attendanceYearRepository, times(1)).save(row);
+    }
+
+    @Test
+    void shouldServeReadsFromCacheAfterFirstLoad() {
+        /// Arrange
+        store.mark(learnerId, date);
+        clearInvocations(attendanceYearRepository);
+
+        /// Act
+        boolean exists = store.exists(learnerId, date);
+        var dates = store.findDates(learnerId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        /// Assert
+        assertThat(exists).isTrue();
+        assertThat(dates).containsExactly(date);
+        verifyNoInteractions(attendanceYearRepository);
+    }
+
+    @Test
+    void shouldSummarizeWholeHistoryFromOneRead() {
+        /// Arrange
+        var older = new AttendanceYear(new Learner(), 2019);
+        var olderBitmap = new AttendanceBitmap();
+        olderBitmap.set(LocalDate.of(2019, 3, 4).getDayOfYear() - 1);
+        older.setBits(olderBitmap.toBytes());
+        store.mark(learnerId, date);
+        when(attendanceYearRepository.findByLearnerIdOrderByYear(learnerId)).thenReturn(List.of(older, row));
+
+        /// Act
+        var summary = store.summarize(learnerId);
+
+        /// Assert
+        assertThat(summary).isEqualTo(new AttendanceSummary(2, LocalDate.of(2019, 3, 4), date));
+        verify(attendanceYearRepository).findByLearnerIdOrderByYear(learnerId);
+    }
+
+    @Test
+    void shouldKeepCommittedBitmapWhenSlowerReaderCachesOldRow() {
+        /// Arrange: el lector carga la fila antigua y el escritor confirma antes de que la cachee
+        var stale = new AttendanceYear(new Learner(), 2024);
+        ReflectionTestUtils.setField(stale, "version", 1L);
+        ReflectionTestUtils.setField(row, "version", 1L);
+        when(attendanceYearRepository.save(row)).thenAnswer(invocation -> {
+            ReflectionTestUtils.setField(row, "version", 2L);
+            return row;
+        });
+        when(attendanceYearRepository.findByLearnerIdAndYear(learnerId, 2024)).thenAnswer(invocation -> {
+            store.mark(learnerId, date);
+            return Optional.of(stale);
+        });
+
+        /// Act
+        boolean slowRead = store.exists(learnerId, date);
+        boolean nextRead = store.exists(learnerId, date);
+
+        /// Assert
+        assertThat(slowRead).isFalse();
+        assertThat(nextRead).isTrue();
+        verify(attendanceYearRepository, times(1)).findByLearnerIdAndYear(learnerId, 2024);
+    }
+
+    @Test
+    void shouldReturnDatesAcrossYears() {
+        /// Arrange
+        var nextYear = new AttendanceYear(new Learner(), 2025);
+        when(attendanceYearRepository.findForUpdate(learnerId, 2025)).thenReturn(Optional.of(nextYear));
+        store.mark(learnerId, LocalDate.of(2024, 12, 31));
+        store.mark(learnerId, LocalDate.of(2025, 1, 2));
+
+        /// Act
+        var dates = store.findDates(learnerId, LocalDate.of(2024, 12, 1), LocalDate.of(2025, 1, 31));
+
+        /// Assert
+        assertThat(dates).containsExactly(LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 2));
+    }
+
+    @Test
+    void shouldScanDayOffsetsAcrossYears() {
+        /// Arrange
+        var nextYear = new AttendanceYear(new Learner(), 2025);
+        when(attendanceYearRepository.findForUpdate(learnerId, 2025)).thenReturn(Optional.of(nextYear));
+        store.mark(learnerId, LocalDate.of(2024, 12, 31));
+        store.mark(learnerId, LocalDate.of(2025, 1, 2));
+        List<Integer> offsets = new ArrayList<>();
+
+        /// Act
+        store.scanDays(learnerId, LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 31), offsets::add);
+
+        /// Assert
+        assertThat(offsets).containsExactly(1, 3);
+    }
+
+    @Test
+    void shouldMarkManyDaysWithOneWritePerYear() {
+        /// Arrange
+        store.mark(learnerId, date);
+        clearInvocations(attendanceYearRepository);
+
+        /// Act
+        var marked = store.markAll(learnerId, new TreeSet<>(Set.of(date, date.plusDays(1), date.plusDays(2))));
+
+        /// Assert
+        assertThat(marked).containsExactly(date.plusDays(1), date.plusDays(2));
+        verify(attendanceYearRepository, times(1)).save(row);
+    }
+
+    @Test
+    void shouldImportTrainingChecksIntoYearBitmaps() {
+        /// Arrange
+        when(attendanceYearRepository.findForUpdate(2L, 2024))
+                .thenReturn(Optional.empty(), Optional.of(new AttendanceYear(new Learner(), 2024)));
+        when(trainingCheckRepository.streamAllEntries()).thenReturn(Stream.of(
+                entry(learnerId, date), entry(learnerId, date.plusDays(1)), entry(2L, date)));
+
+        /// Act
+        long imported = store.importFromTrainingChecks();
+
+        /// Assert
+        assertThat(imported).isEqualTo(3);
+        assertThat(AttendanceBitmap.fromBytes(row.getBits()).count(0, 365)).isEqualTo(2);
+        var saved = ArgumentCaptor.forClass(AttendanceYear.class);
+        verify(attendanceYearRepository, times(2)).save(saved.capture());
+        assertThat(AttendanceBitmap.fromBytes(saved.getAllValues().get(1).getBits()).count(0, 365)).isEqualTo(1);
+        verify(attendanceYearRepository).insertIfAbsent(eq(2L), eq(2024), any(byte[].class));
+        verify(attendanceYearRepository, never()).insertIfAbsent(eq(learnerId), anyInt(), any(byte[].class));
+    }
+
+    private static TrainingCheckEntry entry(Long learnerId, LocalDate date) {
+        return new TrainingCheckEntry() {
+            @Override
+            public Long getLearnerId() {
+                return learnerId;
+            }
+
+            @Override
+            public LocalDate getCheckDate() {
+                return date;
+            }
+        };
+    }
+}
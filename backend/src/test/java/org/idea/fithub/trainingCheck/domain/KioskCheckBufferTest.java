@@ -0,0 +1,174 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.idea.fithub.exceptions.TooManyRequestsException;
+import org.idea.fithub.trainingCheck.dto.KioskCheckResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para KioskCheckBuffer.
+ * - El diario vive en un directorio temporal.
+ * - Una "caída" se simula creando otro buffer sobre el mismo directorio.
+ */
+class KioskCheckBufferTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final TrainingCheckService trainingCheckService = mock(TrainingCheckService.class);
+    private final LocalDate today = LocalDate.now();
+    private KioskCheckBuffer buffer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        buffer = newBuffer();
+    }
+
+    @Test
+    void shouldAcknowledgeWithoutTouchingTheDatabaseAndDeduplicate() {
+        /// Act
+        KioskCheckResponseDto first = buffer.offer(List.of(1L, 2L, 2L));
+        KioskCheckResponseDto second = buffer.offer(List.of(1L, 3L));
+
+        /// Assert
+        assertThat(first.getAccepted()).isEqualTo(2);
+        assertThat(first.getAlreadyPending()).isEqualTo(1);
+        assertThat(second.getAccepted()).isEqualTo(1);
+        assertThat(buffer.pendingCount()).isEqualTo(3);
+        verifyNoInteractions(trainingCheckService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFlushPendingChecksInBatchesAndClearTheJournal() throws Exception {
+        /// Arrange
+        ReflectionTestUtils.setField(buffer, "batchSize", 2);
+        buffer.offer(List.of(1L, 2L, 3L));
+        when(trainingCheckService.recordPendingChecks(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        /// Act
+        buffer.flush();
+
+        /// Assert
+        ArgumentCaptor<List<PendingCheck>> batches = ArgumentCaptor.forClass(List.class);
+        verify(trainingCheckService, times(2)).recordPendingChecks(batches.capture());
+        assertThat(batches.getAllValues()).flatMap(batch -> batch)
+                .containsExactlyInAnyOrder(
+                        new PendingCheck(1L, today), new PendingCheck(2L, today), new PendingCheck(3L, today));
+        assertThat(buffer.pendingCount()).isZero();
+        assertThat(Files.readString(journalDir.resolve("checks.journal"))).isEmpty();
+        assertThat(journalDir.resolve("checks.journal.flushing")).doesNotExist();
+    }
+
+    @Test
+    void shouldReplayJournalAfterCrashBeforeFlush() throws Exception {
+        /// Arrange
+        buffer.offer(List.of(1L, 2L));
+
+        /// Act
+        KioskCheckBuffer restarted = newBuffer();
+        restarted.flush();
+
+        /// Assert
+        verify(trainingCheckService).recordPendingChecks(argThat(batch -> batch.size() == 2
+                && batch.contains(new PendingCheck(1L, today)) && batch.contains(new PendingCheck(2L, today))));
+    }
+
+    @Test
+    void shouldRequeueChecksWhenFlushFails() throws Exception {
+        /// Arrange
+        buffer.offer(List.of(1L));
+        when(trainingCheckService.recordPendingChecks(anyList()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        /// Act
+        buffer.flush();
+        int pendingAfterFailure = buffer.pendingCount();
+        KioskCheckBuffer restarted = newBuffer();
+
+        /// Assert
+        assertThat(pendingAfterFailure).isEqualTo(1);
+        assertThat(restarted.pendingCount()).isEqualTo(1);
+        assertThat(journalDir.resolve("checks.journal.flushing")).doesNotExist();
+    }
+
+    @Test
+    void shouldRecoverInterruptedFlushAndSkipTornLines() throws Exception {
+        /// Arrange
+        Files.writeString(journalDir.resolve("checks.journal.flushing"), "1," + today + "\n4,20");
+
+        /// Act
+        KioskCheckBuffer restarted = newBuffer();
+
+        /// Assert
+        assertThat(restarted.pendingCount()).isEqualTo(1);
+        assertThat(journalDir.resolve("checks.journal.flushing")).doesNotExist();
+        assertThat(Files.readString(journalDir.resolve("checks.journal"))).contains("1," + today);
+    }
+
+    @Test
+    void shouldReturnLeftoverFlushingFileBeforeRotating() throws Exception {
+        /// Arrange: un reencolado fallido dejó sus marcas solo en el de volcado
+        buffer.offer(List.of(1L));
+        Files.writeString(journalDir.resolve("checks.journal.flushing"), "9," + today + "\n");
+
+        /// Act
+        buffer.flush();
+
+        /// Assert
+        verify(trainingCheckService).recordPendingChecks(argThat(batch -> batch.size() == 2
+                && batch.contains(new PendingCheck(1L, today)) && batch.contains(new PendingCheck(9L, today))));
+        assertThat(journalDir.resolve("checks.journal.flushing")).doesNotExist();
+    }
+
+    @Test
+    void shouldKeepAcceptingChecksWhenRotationFails() throws Exception {
+        /// Arrange: sin fichero que mover, la rotación falla tras cerrar el canal
+        buffer.offer(List.of(1L));
+        Files.delete(journalDir.resolve("checks.journal"));
+
+        /// Act
+        buffer.flush();
+        KioskCheckResponseDto next = buffer.offer(List.of(2L));
+
+        /// Assert
+        assertThat(next.getAccepted()).isEqualTo(1);
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+        assertThat(Files.readString(journalDir.resolve("checks.journal"))).contains("2," + today);
+        verifyNoInteractions(trainingCheckService);
+    }
+
+    @Test
+    void shouldRejectWhenBufferIsFull() {
+        /// Arrange
+        ReflectionTestUtils.setField(buffer, "maxPending", 2);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> buffer.offer(List.of(1L, 2L, 3L)))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    private KioskCheckBuffer newBuffer() throws Exception {
+        var kioskBuffer = new KioskCheckBuffer(trainingCheckService);
+        ReflectionTestUtils.setField(kioskBuffer, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(kioskBuffer, "batchSize", 10);
+        ReflectionTestUtils.setField(kioskBuffer, "maxPending", 100);
+        kioskBuffer.recover();
+        return kioskBuffer;
+    }
+}
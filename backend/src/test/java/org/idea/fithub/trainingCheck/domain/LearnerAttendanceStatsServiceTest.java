@@ -0,0 +1,165 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.infrastructure.LearnerAttendanceStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LearnerAttendanceStatsServiceTest {
+
+    @Mock
+    private LearnerAttendanceStatsRepository statsRepository;
+    @Mock
+    private LearnerRepository learnerRepository;
+    @Mock
+    private AttendanceStore attendanceStore;
+
+    @InjectMocks
+    private LearnerAttendanceStatsService statsService;
+
+    private final Long learnerId = 1L;
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void shouldAppendNewestCheckWithoutReadingHistory() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(learnerId);
+        stats.tryAppend(today.minusDays(1));
+        when(statsRepository.findForUpdate(learnerId)).thenReturn(Optional.of(stats));
+
+        /// Act
+        statsService.recordMark(learnerId, today);
+
+        /// Assert
+        assertThat(stats.getCurrentStreak()).isEqualTo(2);
+        verify(statsRepository).save(stats);
+        verify(attendanceStore, never()).findAllDates(any());
+    }
+
+    @Test
+    void shouldInsertIsolatedPastDateWithoutReadingHistory() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(learnerId);
+        stats.tryAppend(today);
+        when(statsRepository.findForUpdate(learnerId)).thenReturn(Optional.of(stats));
+
+        /// Act
+        statsService.recordMark(learnerId, today.minusDays(5));
+
+        /// Assert
+        assertThat(stats.getTotalChecks()).isEqualTo(2);
+        assertThat(stats.getFirstCheckDate()).isEqualTo(today.minusDays(5));
+        verify(attendanceStore, never()).findAllDates(any());
+    }
+
+    @Test
+    void shouldRebuildWhenMarkingPastDateNextToAnotherCheck() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(learnerId);
+        stats.tryAppend(today);
+        when(statsRepository.findForUpdate(learnerId)).thenReturn(Optional.of(stats));
+        when(attendanceStore.exists(eq(learnerId), any())).thenAnswer(inv -> today.equals(inv.getArgument(1)));
+        when(attendanceStore.findAllDates(learnerId)).thenReturn(List.of(today.minusDays(1), today));
+
+        /// Act
+        statsService.recordMark(learnerId, today.minusDays(1));
+
+        /// Assert
+        assertThat(stats.getTotalChecks()).isEqualTo(2);
+        assertThat(stats.getLongestStreak()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUnmarkDateOutsideCurrentStreakWithoutReadingHistory() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(learnerId);
+        stats.rebuild(List.of(today.minusDays(10), today.minusDays(6), today.minusDays(1), today));
+        when(statsRepository.findForUpdate(learnerId)).thenReturn(Optional.of(stats));
+
+        /// Act
+        statsService.recordUnmark(learnerId, today.minusDays(6));
+
+        /// Assert
+        assertThat(stats.getTotalChecks()).isEqualTo(3);
+        assertThat(stats.getCurrentStreak()).isEqualTo(2);
+        verify(statsRepository).save(stats);
+        verify(attendanceStore, never()).findAllDates(any());
+    }
+
+    @Test
+    void shouldRebuildWhenUnmarkingDateOfLongestStreak() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(learnerId);
+        stats.rebuild(List.of(today.minusDays(10), today.minusDays(2), today.minusDays(1), today));
+        when(statsRepository.findForUpdate(learnerId)).thenReturn(Optional.of(stats));
+        when(attendanceStore.findAllDates(learnerId)).thenReturn(List.of(today.minusDays(10), today.minusDays(2), today));
+
+        /// Act
+        statsService.recordUnmark(learnerId, today.minusDays(1));
+
+        /// Assert
+        assertThat(stats.getCurrentStreak()).isEqualTo(1);
+        assertThat(stats.getLongestStreak()).isEqualTo(1);
+        verify(attendanceStore).findAllDates(learnerId);
+    }
+
+    @Test
+    void shouldCreateStatsOnFirstCheck() {
+        /// Arrange
+        when(statsRepository.findForUpdate(learnerId))
+                .thenReturn(Optional.empty(), Optional.of(new LearnerAttendanceStats(learnerId)));
+
+        /// Act
+        statsService.recordMark(learnerId, today);
+
+        /// Assert
+        verify(statsRepository).insertIfAbsent(learnerId);
+        var saved = ArgumentCaptor.forClass(LearnerAttendanceStats.class);
+        verify(statsRepository).save(saved.capture());
+        assertThat(saved.getValue().getLearnerId()).isEqualTo(learnerId);
+        assertThat(saved.getValue().getTotalChecks()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnEmptyStatsForLearnerWithoutChecks() {
+        /// Arrange
+        when(statsRepository.findById(learnerId)).thenReturn(Optional.empty());
+        when(learnerRepository.existsById(learnerId)).thenReturn(true);
+
+        /// Act
+        var dto = statsService.getStats(learnerId);
+
+        /// Assert
+        assertThat(dto.getTotalChecks()).isZero();
+        assertThat(dto.getCurrentStreak()).isZero();
+        assertThat(dto.getLastCheckDate()).isNull();
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenLearnerDoesNotExist() {
+        /// Arrange
+        when(statsRepository.findById(99L)).thenReturn(Optional.empty());
+        when(learnerRepository.existsById(99L)).thenReturn(false);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> statsService.getStats(99L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Learner not found with id: 99");
+    }
+}
@@ -0,0 +1,157 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para LearnerAttendanceStats.
+ * - Rachas y contadores al añadir marcas en orden.
+ * - Reconstrucción desde el historial.
+ * - Valores relativos a la fecha de lectura.
+ * - Marcas pasadas y desmarcas sin historial, comparadas con una reconstrucción.
+ */
+class LearnerAttendanceStatsTest {
+    // Lunes
+    private final LocalDate monday = LocalDate.of(2024, 4, 1);
+
+    @Test
+    void shouldExtendStreakOnConsecutiveDaysAndResetAfterGap() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(1L);
+
+        /// Act
+        stats.tryAppend(monday);
+        stats.tryAppend(monday.plusDays(1));
+        stats.tryAppend(monday.plusDays(2));
+        stats.tryAppend(monday.plusDays(5));
+
+        /// Assert
+        assertThat(stats.getCurrentStreak()).isEqualTo(1);
+        assertThat(stats.getLongestStreak()).isEqualTo(3);
+        assertThat(stats.getTotalChecks()).isEqualTo(4);
+        assertThat(stats.getFirstCheckDate()).isEqualTo(monday);
+        assertThat(stats.getLastCheckDate()).isEqualTo(monday.plusDays(5));
+        assertThat(stats.checksInWeekOf(monday.plusDays(6))).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRefuseToAppendDatesNotAfterLastCheck() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(1L);
+        stats.tryAppend(monday.plusDays(3));
+
+        /// Act & Assert
+        assertThat(stats.tryAppend(monday)).isFalse();
+        assertThat(stats.tryAppend(monday.plusDays(3))).isFalse();
+        assertThat(stats.getTotalChecks()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRebuildFromHistory() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(1L);
+        stats.tryAppend(monday.plusDays(10));
+
+        /// Act
+        stats.rebuild(List.of(monday, monday.plusDays(1), monday.plusDays(9), monday.plusDays(10)));
+
+        /// Assert
+        assertThat(stats.getTotalChecks()).isEqualTo(4);
+        assertThat(stats.getCurrentStreak()).isEqualTo(2);
+        assertThat(stats.getLongestStreak()).isEqualTo(2);
+        assertThat(stats.getFirstCheckDate()).isEqualTo(monday);
+    }
+
+    @Test
+    void shouldExpireStreakAndPeriodCountersWhenRead() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(1L);
+        stats.tryAppend(monday);
+        stats.tryAppend(monday.plusDays(1));
+
+        /// Act & Assert
+        assertThat(stats.currentStreakOn(monday.plusDays(2))).isEqualTo(2);
+        assertThat(stats.currentStreakOn(monday.plusDays(3))).isZero();
+        assertThat(stats.checksInWeekOf(monday.plusDays(7))).isZero();
+        assertThat(stats.checksInMonthOf(monday.plusDays(20))).isEqualTo(2);
+        assertThat(stats.checksInMonthOf(monday.plusMonths(1))).isZero();
+    }
+
+    @Test
+    void shouldMatchRebuildWhenRemovingWithoutHistory() {
+        /// Arrange
+        var history = new TreeSet<>(List.of(monday, monday.plusDays(1), monday.plusDays(2), monday.plusDays(5),
+                monday.plusDays(9), monday.plusDays(30), monday.plusDays(31)));
+        int appliedCount = 0;
+
+        for (var date : history) {
+            var stats = new LearnerAttendanceStats(1L);
+            stats.rebuild(List.copyOf(history));
+            var remaining = new TreeSet<>(history);
+            remaining.remove(date);
+
+            /// Act
+            boolean applied = stats.tryRemove(date, hasNeighbour(remaining, date));
+
+            /// Assert
+            if (applied) {
+                appliedCount++;
+                assertThat(stats).usingRecursiveComparison().ignoringFields("version").isEqualTo(rebuilt(remaining));
+            }
+        }
+        // Solo el primer día y los de la racha más larga necesitan el historial
+        assertThat(appliedCount).isEqualTo(4);
+    }
+
+    @Test
+    void shouldMatchRebuildWhenInsertingIsolatedPastDate() {
+        /// Arrange
+        var history = new TreeSet<>(List.of(monday.plusDays(3), monday.plusDays(4), monday.plusDays(12), monday.plusDays(40)));
+
+        for (int day = 0; day < 40; day++) {
+            var date = monday.plusDays(day);
+            if (history.contains(date))
+                continue;
+            var stats = new LearnerAttendanceStats(1L);
+            stats.rebuild(List.copyOf(history));
+            var updated = new TreeSet<>(history);
+            updated.add(date);
+
+            /// Act
+            boolean applied = stats.tryInsertIsolated(date, hasNeighbour(updated, date));
+
+            /// Assert
+            assertThat(applied).isEqualTo(!hasNeighbour(updated, date));
+            if (applied)
+                assertThat(stats).usingRecursiveComparison().ignoringFields("version").isEqualTo(rebuilt(updated));
+        }
+    }
+
+    @Test
+    void shouldRefuseToRemoveDateThatMayChangeLongestStreak() {
+        /// Arrange
+        var stats = new LearnerAttendanceStats(1L);
+        stats.rebuild(List.of(monday, monday.plusDays(5), monday.plusDays(6), monday.plusDays(7)));
+
+        /// Act & Assert
+        assertThat(stats.tryRemove(monday.plusDays(6), true)).isFalse();
+        assertThat(stats.tryRemove(monday, false)).isFalse();
+        assertThat(stats.getTotalChecks()).isEqualTo(4);
+    }
+
+    private static boolean hasNeighbour(Set<LocalDate> dates, LocalDate date) {
+        return dates.contains(date.minusDays(1)) || dates.contains(date.plusDays(1));
+    }
+
+    private static LearnerAttendanceStats rebuilt(Set<LocalDate> dates) {
+        var stats = new LearnerAttendanceStats(1L);
+        stats.rebuild(List.copyOf(dates));
+        return stats;
+    }
+}
@@ -0,0 +1,78 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RowAttendanceStoreTest {
+
+    @Mock
+    private TrainingCheckRepository trainingCheckRepository;
+    @Mock
+    private LearnerRepository learnerRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private RowAttendanceStore store;
+
+    private final Long learnerId = 1L;
+    private final LocalDate date = LocalDate.now();
+
+    @Test
+    void shouldMarkWithSingleInsertAndNoPriorSelect() {
+        /// Arrange
+        when(trainingCheckRepository.insertIfAbsent(learnerId, date)).thenReturn(1);
+
+        /// Act
+        boolean marked = store.mark(learnerId, date);
+
+        /// Assert
+        assertThat(marked).isTrue();
+        verify(trainingCheckRepository, never()).existsByLearnerIdAndDate(any(), any());
+        verify(trainingCheckRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReportDuplicateWhenInsertHitsTheConstraint() {
+        /// Arrange
+        when(trainingCheckRepository.insertIfAbsent(learnerId, date)).thenReturn(0);
+
+        /// Act
+        boolean marked = store.mark(learnerId, date);
+
+        /// Assert
+        assertThat(marked).isFalse();
+    }
+
+    @Test
+    void shouldSendPendingChecksAsOneBatchAndReturnOnlyInsertedRows() {
+        /// Arrange
+        var fresh = new PendingCheck(learnerId, date);
+        var duplicate = new PendingCheck(2L, date);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+
+        /// Act
+        List<PendingCheck> marked = store.markBatch(List.of(fresh, duplicate));
+
+        /// Assert
+        assertThat(marked).containsExactly(fresh);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(trainingCheckRepository, never()).insertIfAbsent(any(), any());
+    }
+}
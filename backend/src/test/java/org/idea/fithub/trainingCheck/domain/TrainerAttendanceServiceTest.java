@@ -0,0 +1,136 @@
+package org.idea.fithub.trainingCheck.domain;
+
+import org.idea.fithub.exceptions.BadRequestException;
+import org.idea.fithub.exceptions.ResourceNotFoundException;
+import org.idea.fithub.program.infrastructure.ProgramRepository;
+import org.idea.fithub.trainer.infrastructure.TrainerRepository;
+import org.idea.fithub.trainingCheck.dto.TrainerAttendanceDto;
+import org.idea.fithub.trainingCheck.dto.TrainerAttendanceDto.PeriodCount;
+import org.idea.fithub.trainingCheck.infrastructure.DailyCheckCount;
+import org.idea.fithub.trainingCheck.infrastructure.TrainerDailyAttendanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrainerAttendanceServiceTest {
+
+    @Mock
+    private TrainerDailyAttendanceRepository dailyAttendanceRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private TrainerRepository trainerRepository;
+
+    @InjectMocks
+    private TrainerAttendanceService trainerAttendanceService;
+
+    private final Long trainerId = 7L;
+    // Lunes a domingo de la misma semana más el lunes siguiente
+    private final LocalDate from = LocalDate.of(2024, 4, 1);
+    private final LocalDate to = LocalDate.of(2024, 4, 8);
+
+    @BeforeEach
+    void setUp() {
+        /// Arrange global
+        lenient().when(trainerRepository.existsById(trainerId)).thenReturn(true);
+    }
+
+    @Test
+    void shouldBuildDailyAndWeeklySeriesWithAdherence() {
+        /// Arrange
+        when(dailyAttendanceRepository.findDailyCounts(trainerId, from, to)).thenReturn(List.of(
+                count(from, 2), count(from.plusDays(2), 1), count(to, 3)));
+        when(programRepository.countActiveLearners(trainerId, to)).thenReturn(2L);
+
+        /// Act
+        TrainerAttendanceDto dto = trainerAttendanceService.getCohortAttendance(trainerId, from, to);
+
+        /// Assert
+        assertThat(dto.getDaily()).hasSize(8);
+        assertThat(dto.getDaily().get(1)).isEqualTo(new PeriodCount(from.plusDays(1), 0));
+        assertThat(dto.getWeekly()).containsExactly(new PeriodCount(from, 3), new PeriodCount(to, 3));
+        assertThat(dto.getTotalChecks()).isEqualTo(6);
+        assertThat(dto.getActiveLearners()).isEqualTo(2);
+        // 6 marcas / (2 learners * 8 días)
+        assertThat(dto.getAdherenceRate()).isEqualTo(0.375);
+    }
+
+    @Test
+    void shouldReportZeroAdherenceWithoutActiveLearners() {
+        /// Arrange
+        when(dailyAttendanceRepository.findDailyCounts(trainerId, from, to)).thenReturn(List.of());
+        when(programRepository.countActiveLearners(trainerId, to)).thenReturn(0L);
+
+        /// Act
+        TrainerAttendanceDto dto = trainerAttendanceService.getCohortAttendance(trainerId, from, to);
+
+        /// Assert
+        assertThat(dto.getAdherenceRate()).isZero();
+        assertThat(dto.getTotalChecks()).isZero();
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionWhenRangeIsTooLong() {
+        /// Act & Assert
+        assertThatThrownBy(() -> trainerAttendanceService.getCohortAttendance(trainerId, from.minusYears(2), to))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Date range cannot exceed");
+
+        /// Verify
+        verify(dailyAttendanceRepository, never()).findDailyCounts(any(), any(), any());
+    }
+
+    @Test
+    void shouldThrowResourceNotFoundExceptionWhenTrainerDoesNotExist() {
+        /// Arrange
+        when(trainerRepository.existsById(99L)).thenReturn(false);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> trainerAttendanceService.getCohortAttendance(99L, from, to))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Trainer not found with id: 99");
+    }
+
+    @Test
+    void shouldRebuildCountsFromTheConfiguredStorage() {
+        /// Arrange
+        when(dailyAttendanceRepository.insertCountsFromCredits()).thenReturn(5);
+
+        /// Act
+        int rows = trainerAttendanceService.rebuildDailyAttendance(true);
+
+        /// Assert
+        assertThat(rows).isEqualTo(5);
+        var order = inOrder(dailyAttendanceRepository);
+        order.verify(dailyAttendanceRepository).creditBitmapChecks();
+        order.verify(dailyAttendanceRepository).deleteAllCounts();
+        order.verify(dailyAttendanceRepository).insertCountsFromCredits();
+        verify(dailyAttendanceRepository, never()).creditRowChecks();
+    }
+
+    private static DailyCheckCount count(LocalDate date, long checks) {
+        return new DailyCheckCount() {
+            @Override
+            public LocalDate getAttendanceDate() {
+                return date;
+            }
+
+            @Override
+            public Long getChecks() {
+                return checks;
+            }
+        };
+    }
+}
@@ -5,8 +5,10 @@ import org.idea.fithub.exceptions.DuplicateResourceException;
 import org.idea.fithub.exceptions.ResourceNotFoundException;
 import org.idea.fithub.learner.domain.Learner;
 import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.trainingCheck.dto.BulkCheckResponseDto;
+import org.idea.fithub.trainingCheck.dto.CheckResultDto;
+import org.idea.fithub.trainingCheck.dto.CompactAttendanceDto;
 import org.idea.fithub.trainingCheck.dto.TrainingCheckResponseDto;
-import org.idea.fithub.trainingCheck.infrastructure.TrainingCheckRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,10 +20,14 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -30,7 +36,11 @@ class TrainingCheckServiceTest {
 
     // --- Mocks (Dependencias Falsas) ---
     @Mock
-    private TrainingCheckRepository trainingCheckRepository;
+    private AttendanceStore attendanceStore;
+    @Mock
+    private LearnerAttendanceStatsService attendanceStatsService;
+    @Mock
+    private TrainerAttendanceService trainerAttendanceService;
     @Mock
     private LearnerRepository learnerRepository;
 
@@ -62,13 +72,15 @@ class TrainingCheckServiceTest {
     void shouldSaveCheckWhenLearnerExistsAndDateIsValidAndNotDuplicate() {
         /// Arrange (Happy Path)
 
-        when(trainingCheckRepository.existsByLearnerAndDate(testLearner, validPastDate)).thenReturn(false);
+        when(attendanceStore.mark(learnerId, validPastDate)).thenReturn(true);
 
         /// Act
         trainingCheckService.markCheck(learnerId, validPastDate);
 
         /// Assert / Verify
-        verify(trainingCheckRepository, times(1)).save(any(TrainingCheck.class));
+        verify(attendanceStore, times(1)).mark(learnerId, validPastDate);
+        verify(attendanceStatsService).recordMark(learnerId, validPastDate);
+        verify(trainerAttendanceService).recordMark(learnerId, validPastDate);
     }
 
     @Test
@@ -83,8 +95,7 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("Learner not found with id: " + nonExistentId);
 
         /// Verify
-        verify(trainingCheckRepository, never()).existsByLearnerAndDate(any(), any());
-        verify(trainingCheckRepository, never()).save(any());
+        verify(attendanceStore, never()).mark(any(), any());
     }
 
     @Test
@@ -98,7 +109,7 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("Date cannot be null");
 
         /// Verify
-        verify(trainingCheckRepository, never()).save(any());
+        verify(attendanceStore, never()).mark(any(), any());
     }
 
     @Test
@@ -112,7 +123,7 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("Cannot mark attendance for a future date");
 
         /// Verify
-        verify(trainingCheckRepository, never()).save(any());
+        verify(attendanceStore, never()).mark(any(), any());
     }
 
     @Test
@@ -126,13 +137,13 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("Cannot mark attendance for dates older than 1 year");
 
         /// Verify
-        verify(trainingCheckRepository, never()).save(any());
+        verify(attendanceStore, never()).mark(any(), any());
     }
 
     @Test
     void shouldThrowDuplicateResourceExceptionWhenMarkingCheckThatAlreadyExists() {
         /// Arrange
-        when(trainingCheckRepository.existsByLearnerAndDate(testLearner, validPastDate)).thenReturn(true);
+        when(attendanceStore.mark(learnerId, validPastDate)).thenReturn(false);
 
         /// Act & Assert
         assertThatThrownBy(() -> trainingCheckService.markCheck(learnerId, validPastDate))
@@ -140,7 +151,48 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("Learner has already marked attendance for this day");
 
         /// Verify
-        verify(trainingCheckRepository, never()).save(any());
+        verify(attendanceStore).mark(learnerId, validPastDate);
+        verify(attendanceStatsService, never()).recordMark(any(), any());
+    }
+
+    // --- Tests para markChecks ---
+
+    @Test
+    void shouldReportOutcomePerDateWhenMarkingInBulk() {
+        /// Arrange
+        LocalDate alreadyMarked = today.minusDays(2);
+        LocalDate future = today.plusDays(1);
+        when(attendanceStore.markAll(eq(learnerId), any())).thenReturn(Set.of(validPastDate));
+
+        /// Act
+        BulkCheckResponseDto response = trainingCheckService.markChecks(
+                learnerId, List.of(validPastDate, alreadyMarked, future, validPastDate));
+
+        /// Assert
+        assertThat(response.getMarked()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(CheckResultDto::getOutcome).containsExactly(
+                CheckOutcome.MARKED, CheckOutcome.ALREADY_MARKED, CheckOutcome.INVALID, CheckOutcome.ALREADY_MARKED);
+        assertThat(response.getResults().get(2).getMessage()).contains("Cannot mark attendance for a future date");
+
+        /// Verify
+        verify(attendanceStore).markAll(learnerId, new TreeSet<>(Set.of(validPastDate, alreadyMarked)));
+        verify(attendanceStatsService).recordMarks(learnerId, new TreeSet<>(Set.of(validPastDate)));
+    }
+
+    @Test
+    void shouldNotTouchStoreWhenEveryBulkDateIsInvalid() {
+        /// Act
+        BulkCheckResponseDto response = trainingCheckService.markChecks(
+                learnerId, List.of(today.plusDays(1), today.minusYears(2)));
+
+        /// Assert
+        assertThat(response.getMarked()).isZero();
+        assertThat(response.getResults()).extracting(CheckResultDto::getOutcome)
+                .containsOnly(CheckOutcome.INVALID);
+
+        /// Verify
+        verify(attendanceStore, never()).markAll(any(), any());
+        verify(attendanceStatsService, never()).recordMarks(any(), any());
     }
 
     // --- Tests para unmarkCheck ---
@@ -148,15 +200,15 @@ class TrainingCheckServiceTest {
     @Test
     void shouldDeleteCheckWhenLearnerAndCheckExist() {
         /// Arrange (Happy Path)
-        TrainingCheck existingCheck = new TrainingCheck(validPastDate, testLearner);
-        when(trainingCheckRepository.findByLearnerAndDate(testLearner, validPastDate))
-                .thenReturn(Optional.of(existingCheck));
+        when(attendanceStore.unmark(learnerId, validPastDate)).thenReturn(true);
 
         /// Act
         trainingCheckService.unmarkCheck(learnerId, validPastDate);
 
         /// Assert / Verify
-        verify(trainingCheckRepository, times(1)).delete(existingCheck);
+        verify(attendanceStore, times(1)).unmark(learnerId, validPastDate);
+        verify(attendanceStatsService).recordUnmark(learnerId, validPastDate);
+        verify(trainerAttendanceService).recordUnmark(learnerId, validPastDate);
     }
 
     @Test
@@ -171,8 +223,7 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("Learner not found with id: " + nonExistentId);
 
         /// Verify
-        verify(trainingCheckRepository, never()).findByLearnerAndDate(any(), any());
-        verify(trainingCheckRepository, never()).delete(any());
+        verify(attendanceStore, never()).unmark(any(), any());
     }
 
     @Test
@@ -186,14 +237,13 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("Date cannot be null");
 
         /// Verify
-        verify(trainingCheckRepository, never()).delete(any());
+        verify(attendanceStore, never()).unmark(any(), any());
     }
 
     @Test
     void shouldThrowResourceNotFoundExceptionWhenUnmarkingCheckThatDoesNotExist() {
         /// Arrange
-        when(trainingCheckRepository.findByLearnerAndDate(testLearner, validPastDate))
-                .thenReturn(Optional.empty());
+        when(attendanceStore.unmark(learnerId, validPastDate)).thenReturn(false);
 
         /// Act & Assert
         assertThatThrownBy(() -> trainingCheckService.unmarkCheck(learnerId, validPastDate))
@@ -201,7 +251,7 @@ class TrainingCheckServiceTest {
                 .hasMessageContaining("There is no register for that day");
 
         /// Verify
-        verify(trainingCheckRepository, never()).delete(any());
+        verify(attendanceStore).unmark(learnerId, validPastDate);
     }
 
     // --- Tests para getTrainingCheck ---
@@ -209,37 +259,150 @@ class TrainingCheckServiceTest {
     @Test
     void shouldReturnCorrectDtoWhenLearnerExists() {
         /// Arrange (Happy Path)
-        TrainingCheck check1 = new TrainingCheck(today.minusDays(2), testLearner);
-        TrainingCheck check2 = new TrainingCheck(today, testLearner);
-        List<TrainingCheck> checks = List.of(check1, check2);
-
-        when(trainingCheckRepository.findByLearner(testLearner)).thenReturn(checks);
+        LocalDate from = today.minusYears(1);
+        when(attendanceStore.summarize(learnerId))
+                .thenReturn(summary(2, today.minusDays(2), today));
+        when(attendanceStore.findDates(learnerId, from, today))
+                .thenReturn(List.of(today.minusDays(2), today));
 
         /// Act
-        TrainingCheckResponseDto responseDto = trainingCheckService.getTrainingCheck(learnerId);
+        TrainingCheckResponseDto responseDto = trainingCheckService.getTrainingCheck(learnerId, null, null);
 
         /// Assert
         assertThat(responseDto).isNotNull();
         assertThat(responseDto.getLearnerId()).isEqualTo(learnerId);
         assertThat(responseDto.getTotalChecks()).isEqualTo(2);
+        assertThat(responseDto.getDuration()).isEqualTo("0 months and 3 days");
         assertThat(responseDto.getCheckDates()).containsExactly(today.minusDays(2), today);
     }
 
     @Test
     void shouldReturnDtoWithEmptyListWhenLearnerHasNoChecks() {
         /// Arrange
-        when(trainingCheckRepository.findByLearner(testLearner)).thenReturn(Collections.emptyList());
+        LocalDate from = today.minusYears(1);
+        when(attendanceStore.summarize(learnerId))
+                .thenReturn(summary(0, null, null));
+        when(attendanceStore.findDates(learnerId, from, today))
+                .thenReturn(Collections.emptyList());
 
         /// Act
-        TrainingCheckResponseDto responseDto = trainingCheckService.getTrainingCheck(learnerId);
+        TrainingCheckResponseDto responseDto = trainingCheckService.getTrainingCheck(learnerId, null, null);
 
         /// Assert
         assertThat(responseDto).isNotNull();
         assertThat(responseDto.getLearnerId()).isEqualTo(learnerId);
         assertThat(responseDto.getTotalChecks()).isZero();
+        assertThat(responseDto.getDuration()).isEqualTo("Without registers");
         assertThat(responseDto.getCheckDates()).isEmpty();
     }
 
+    @Test
+    void shouldLimitOnlyTheDateListToTheRequestedRange() {
+        /// Arrange: el historial empieza hace más de tres meses, el rango pedido es de 20 días
+        LocalDate from = today.minusDays(30);
+        LocalDate to = today.minusDays(10);
+        when(attendanceStore.summarize(learnerId))
+                .thenReturn(summary(40, today.minusMonths(3).minusDays(4), today));
+        when(attendanceStore.findDates(learnerId, from, to))
+                .thenReturn(List.of(to));
+
+        /// Act
+        TrainingCheckResponseDto responseDto = trainingCheckService.getTrainingCheck(learnerId, from, to);
+
+        /// Assert
+        assertThat(responseDto.getTotalChecks()).isEqualTo(40);
+        assertThat(responseDto.getDuration()).startsWith("3 months");
+        assertThat(responseDto.getCheckDates()).containsExactly(to);
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionWhenRangeIsInverted() {
+        /// Act & Assert
+        assertThatThrownBy(() -> trainingCheckService.getTrainingCheck(learnerId, today, today.minusDays(1)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("'from' date must not be after 'to' date");
+
+        /// Verify
+        verify(attendanceStore, never()).findDates(any(), any(), any());
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionWhenRangeIsTooLong() {
+        /// Arrange
+        var from = LocalDate.of(1, 1, 1);
+
+        /// Act & Assert
+        assertThatThrownBy(() -> trainingCheckService.getTrainingCheck(learnerId, from, today))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Date range cannot exceed");
+        assertThatThrownBy(() -> trainingCheckService.getCompactTrainingCheck(
+                learnerId, from, today, AttendanceEncoding.BITMAP))
+                .isInstanceOf(BadRequestException.class);
+
+        /// Verify
+        verify(attendanceStore, never()).findDates(any(), any(), any());
+        verify(attendanceStore, never()).scanDays(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldEncodeChecksWhileScanningStore() {
+        /// Arrange
+        LocalDate from = today.minusDays(9);
+        when(attendanceStore.summarize(learnerId))
+                .thenReturn(summary(3, today.minusDays(8), today.minusDays(4)));
+        doAnswer(invocation -> {
+            IntConsumer offsets = invocation.getArgument(3);
+            offsets.accept(1);
+            offsets.accept(2);
+            offsets.accept(5);
+            return null;
+        }).when(attendanceStore).scanDays(eq(learnerId), eq(from), eq(today), any());
+
+        /// Act
+        CompactAttendanceDto dto = trainingCheckService.getCompactTrainingCheck(
+                learnerId, from, today, AttendanceEncoding.RLE);
+
+        /// Assert
+        assertThat(dto.getEncoding()).isEqualTo("rle");
+        assertThat(dto.getRuns()).containsExactly(1, 2, 2, 1);
+        assertThat(dto.getBits()).isNull();
+        assertThat(dto.getTotalChecks()).isEqualTo(3);
+        assertThat(dto.getDuration()).isEqualTo("0 months and 5 days");
+
+        /// Verify
+        verify(attendanceStore, never()).findDates(any(), any(), any());
+    }
+
+    @Test
+    void shouldReportSameTotalAndDurationInJsonAndCompactFormats() {
+        /// Arrange
+        LocalDate from = today.minusDays(9);
+        when(attendanceStore.summarize(learnerId))
+                .thenReturn(summary(6, today.minusDays(60), today.minusDays(4)));
+        when(attendanceStore.findDates(learnerId, from, today))
+                .thenReturn(List.of(today.minusDays(8), today.minusDays(4)));
+        doAnswer(invocation -> {
+            IntConsumer offsets = invocation.getArgument(3);
+            offsets.accept(1);
+            offsets.accept(5);
+            return null;
+        }).when(attendanceStore).scanDays(eq(learnerId), eq(from), eq(today), any());
+
+        /// Act
+        TrainingCheckResponseDto json = trainingCheckService.getTrainingCheck(learnerId, from, today);
+        CompactAttendanceDto rle = trainingCheckService.getCompactTrainingCheck(
+                learnerId, from, today, AttendanceEncoding.RLE);
+        CompactAttendanceDto bitmap = trainingCheckService.getCompactTrainingCheck(
+                learnerId, from, today, AttendanceEncoding.BITMAP);
+
+        /// Assert
+        assertThat(json.getTotalChecks()).isEqualTo(6);
+        assertThat(rle.getTotalChecks()).isEqualTo(json.getTotalChecks());
+        assertThat(bitmap.getTotalChecks()).isEqualTo(json.getTotalChecks());
+        assertThat(rle.getDuration()).isEqualTo(json.getDuration());
+        assertThat(bitmap.getDuration()).isEqualTo(json.getDuration());
+    }
+
     @Test
     void shouldThrowResourceNotFoundExceptionWhenGettingChecksForNonExistentLearner() {
         /// Arrange
@@ -247,11 +410,35 @@ class TrainingCheckServiceTest {
         when(learnerRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         /// Act & Assert
-        assertThatThrownBy(() -> trainingCheckService.getTrainingCheck(nonExistentId))
+        assertThatThrownBy(() -> trainingCheckService.getTrainingCheck(nonExistentId, null, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Learner not found with id: " + nonExistentId);
 
         /// Verify
-        verify(trainingCheckRepository, never()).findByLearner(any());
+        verify(attendanceStore, never()).findDates(any(), any(), any());
+    }
+
+    // --- Tests para recordPendingChecks ---
+
+    @Test
+    void shouldUpdateCountersOnlyForNewlyMarkedPendingChecks() {
+        /// Arrange
+        var fresh = new PendingCheck(learnerId, today);
+        var duplicate = new PendingCheck(2L, today);
+        when(attendanceStore.markBatch(List.of(fresh, duplicate))).thenReturn(List.of(fresh));
+
+        /// Act
+        int written = trainingCheckService.recordPendingChecks(List.of(fresh, duplicate));
+
+        /// Assert
+        assertThat(written).isEqualTo(1);
+        verify(attendanceStatsService).recordMark(learnerId, today);
+        verify(trainerAttendanceService).recordMark(learnerId, today);
+        verify(attendanceStatsService, never()).recordMark(eq(2L), any());
+        verify(learnerRepository, never()).findById(any());
+    }
+
+    private static AttendanceSummary summary(long total, LocalDate firstDate, LocalDate lastDate) {
+        return new AttendanceSummary(total, firstDate, lastDate);
     }
-}
\ No newline at end of file
+}
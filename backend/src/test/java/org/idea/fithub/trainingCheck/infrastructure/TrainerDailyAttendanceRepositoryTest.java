@@ -0,0 +1,167 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import org.idea.fithub.BaseRepositoryTest;
+import org.idea.fithub.learner.domain.Learner;
+import org.idea.fithub.program.domain.Program;
+import org.idea.fithub.trainer.domain.Trainer;
+import org.idea.fithub.trainingCheck.domain.TrainingCheck;
+import org.idea.fithub.user.domain.Gender;
+import org.idea.fithub.user.domain.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrainerDailyAttendanceRepositoryTest extends BaseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TrainerDailyAttendanceRepository dailyAttendanceRepository;
+
+    private Learner learner;
+    private Trainer trainer;
+    private Trainer formerTrainer;
+    private LocalDate today;
+
+    private Learner createTestLearner() {
+        Learner learner = new Learner();
+        learner.setEmail("learner@test.com");
+        learner.setUsername("learner");
+        learner.setPhoneNumber("111111");
+        learner.setFirstName("Test");
+        learner.setLastName("Learner");
+        learner.setPassword("password");
+        learner.setRole(Role.LEARNER);
+        learner.setGender(Gender.MALE);
+        learner.setHeight(175.0);
+        learner.setWeight(70.0);
+        return entityManager.persist(learner);
+    }
+
+    private Trainer createTestTrainer(String email, String username, String phone) {
+        Trainer trainer = new Trainer();
+        trainer.setEmail(email);
+        trainer.setUsername(username);
+        trainer.setPhoneNumber(phone);
+        trainer.setFirstName("Test");
+        trainer.setLastName("Trainer");
+        trainer.setPassword("password");
+        trainer.setRole(Role.TRAINER);
+        trainer.setGender(Gender.FEMALE);
+        trainer.setHeight(165.0);
+        trainer.setWeight(60.0);
+        return entityManager.persist(trainer);
+    }
+
+    private void createTestProgram(String name, Trainer trainer, LocalDate startDate, LocalDate endDate) {
+        Program program = new Program();
+        program.setName(name);
+        program.setLearner(learner);
+        program.setTrainer(trainer);
+        program.setStartDate(startDate);
+        program.setEndDate(endDate);
+        entityManager.persist(program);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Arrange global
+        today = LocalDate.now();
+        learner = createTestLearner();
+        trainer = createTestTrainer("trainer@test.com", "trainer", "222222");
+        formerTrainer = createTestTrainer("former@test.com", "former", "333333");
+
+        // Dos programas activos con el mismo entrenador cuentan una sola vez
+        createTestProgram("Active A", trainer, today.minusDays(30), null);
+        createTestProgram("Active B", trainer, today.minusDays(10), today.plusDays(10));
+        createTestProgram("Finished", formerTrainer, today.minusDays(60), today.minusDays(31));
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldIncrementOnlyTrainersWithActiveProgramOnThatDay() {
+        // Act
+        dailyAttendanceRepository.increment(learner.getId(), today);
+        dailyAttendanceRepository.increment(learner.getId(), today);
+        dailyAttendanceRepository.increment(learner.getId(), today.minusDays(40));
+        entityManager.clear();
+
+        // Assert
+        List<DailyCheckCount> counts = dailyAttendanceRepository.findDailyCounts(
+                trainer.getId(), today.minusDays(60), today);
+        List<DailyCheckCount> former = dailyAttendanceRepository.findDailyCounts(
+                formerTrainer.getId(), today.minusDays(60), today);
+
+        // Repetir la marca del mismo día no vuelve a sumar
+        assertThat(counts).hasSize(1);
+        assertThat(counts.getFirst().getAttendanceDate()).isEqualTo(today);
+        assertThat(counts.getFirst().getChecks()).isEqualTo(1);
+        assertThat(former).extracting(DailyCheckCount::getAttendanceDate).containsExactly(today.minusDays(40));
+    }
+
+    @Test
+    void shouldDecrementWithoutGoingBelowZero() {
+        // Arrange
+        dailyAttendanceRepository.increment(learner.getId(), today);
+
+        // Act
+        dailyAttendanceRepository.decrement(learner.getId(), today);
+        dailyAttendanceRepository.decrement(learner.getId(), today);
+        entityManager.clear();
+
+        // Assert
+        List<DailyCheckCount> counts = dailyAttendanceRepository.findDailyCounts(trainer.getId(), today, today);
+        assertThat(counts).singleElement()
+                .extracting(DailyCheckCount::getChecks)
+                .isEqualTo(0L);
+    }
+
+    @Test
+    void shouldDecrementTrainersCreditedAtMarkTime() {
+        // Arrange
+        dailyAttendanceRepository.increment(learner.getId(), today);
+        var newTrainer = createTestTrainer("new@test.com", "new", "444444");
+        entityManager.getEntityManager().createQuery("UPDATE Program p SET p.trainer = :trainer")
+                .setParameter("trainer", newTrainer)
+                .executeUpdate();
+
+        // Act
+        dailyAttendanceRepository.decrement(learner.getId(), today);
+        entityManager.clear();
+
+        // Assert
+        assertThat(dailyAttendanceRepository.findDailyCounts(trainer.getId(), today, today))
+                .singleElement()
+                .extracting(DailyCheckCount::getChecks)
+                .isEqualTo(0L);
+        assertThat(dailyAttendanceRepository.findDailyCounts(newTrainer.getId(), today, today)).isEmpty();
+    }
+
+    @Test
+    void shouldBackfillCountsFromTrainingChecks() {
+        // Arrange
+        entityManager.persist(new TrainingCheck(today, learner));
+        dailyAttendanceRepository.increment(learner.getId(), today);
+        entityManager.flush();
+
+        // Act
+        dailyAttendanceRepository.creditRowChecks();
+        dailyAttendanceRepository.deleteAllCounts();
+        int rows = dailyAttendanceRepository.insertCountsFromCredits();
+        entityManager.clear();
+
+        // Assert: la marca ya acreditada no se cuenta dos veces
+        assertThat(rows).isEqualTo(1);
+        assertThat(dailyAttendanceRepository.findDailyCounts(trainer.getId(), today, today))
+                .singleElement()
+                .extracting(DailyCheckCount::getChecks)
+                .isEqualTo(1L);
+    }
+}
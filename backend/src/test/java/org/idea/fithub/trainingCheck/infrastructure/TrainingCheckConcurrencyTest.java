@@ -0,0 +1,84 @@
+package org.idea.fithub.trainingCheck.infrastructure;
+
+import org.idea.fithub.BaseRepositoryTest;
+import org.idea.fithub.learner.domain.Learner;
+import org.idea.fithub.learner.infrastructure.LearnerRepository;
+import org.idea.fithub.user.domain.Gender;
+import org.idea.fithub.user.domain.Role;
+import org.idea.fithub.user.domain.UserStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Marcados simultáneos del mismo día contra Postgres real. Sin transacción
+ * de test: cada hilo confirma la suya, como harían dos peticiones de la app.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrainingCheckConcurrencyTest extends BaseRepositoryTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TrainingCheckRepository trainingCheckRepository;
+
+    @Autowired
+    private LearnerRepository learnerRepository;
+
+    @AfterEach
+    void tearDown() {
+        trainingCheckRepository.deleteAll();
+        learnerRepository.deleteAll();
+    }
+
+    @Test
+    void shouldStoreSingleCheckWhenSameDayIsMarkedInParallel() throws Exception {
+        // Arrange
+        Learner learner = learnerRepository.save(Learner.builder()
+                .email("race@test.com")
+                .username("race")
+                .phoneNumber("999999")
+                .firstName("Race")
+                .lastName("Learner")
+                .password("password123!")
+                .role(Role.LEARNER)
+                .gender(Gender.MALE)
+                .weight(75.0)
+                .height(175.0)
+                .userStatus(UserStatus.AVAILABLE)
+                .build());
+        LocalDate today = LocalDate.now();
+        var startGate = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return trainingCheckRepository.insertIfAbsent(learner.getId(), today);
+                }));
+            }
+            startGate.countDown();
+
+            int inserted = 0;
+            for (var result : results)
+                inserted += result.get(30, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(inserted).isEqualTo(1);
+        }
+        assertThat(trainingCheckRepository.countByLearner(learner)).isEqualTo(1);
+    }
+}
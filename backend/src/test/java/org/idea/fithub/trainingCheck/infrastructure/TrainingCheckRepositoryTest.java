@@ -189,4 +189,58 @@ class TrainingCheckRepositoryTest extends BaseRepositoryTest {
         // Assert
         assertThat(foundAfterDeletion).isNotPresent();
     }
-}
\ No newline at end of file
+
+    // --- Pruebas para insertIfAbsent ---
+
+    @Test
+    void shouldInsertOnlyWhenDayIsNotMarked() {
+        // Act
+        int inserted = trainingCheckRepository.insertIfAbsent(learner2.getId(), yesterday);
+        int duplicated = trainingCheckRepository.insertIfAbsent(learner2.getId(), yesterday);
+
+        // Assert
+        assertThat(inserted).isEqualTo(1);
+        assertThat(duplicated).isZero();
+        assertThat(trainingCheckRepository.existsByLearnerIdAndDate(learner2.getId(), yesterday)).isTrue();
+    }
+
+    // --- Pruebas para las consultas por rango ---
+
+    @Test
+    void shouldReturnOrderedDatesWithinRange() {
+        // Act
+        List<LocalDate> dates = trainingCheckRepository.findDatesByLearnerIdBetween(
+                learner1.getId(), yesterday, today);
+        List<LocalDate> onlyToday = trainingCheckRepository.findDatesByLearnerIdBetween(
+                learner1.getId(), today, today);
+
+        // Assert
+        assertThat(dates).containsExactly(yesterday, today);
+        assertThat(onlyToday).containsExactly(today);
+    }
+
+    @Test
+    void shouldSummarizeWholeHistory() {
+        // Act
+        TrainingCheckSummary summary = trainingCheckRepository.summarizeByLearnerId(learner1.getId());
+
+        // Assert
+        assertThat(summary.getTotal()).isEqualTo(2);
+        assertThat(summary.getFirstDate()).isEqualTo(yesterday);
+        assertThat(summary.getLastDate()).isEqualTo(today);
+    }
+
+    @Test
+    void shouldReturnEmptySummaryWhenLearnerHasNoChecks() {
+        // Arrange
+        Learner withoutChecks = createTestLearner("learner3@test.com", "learner3", "333333");
+
+        // Act
+        TrainingCheckSummary summary = trainingCheckRepository.summarizeByLearnerId(withoutChecks.getId());
+
+        // Assert
+        assertThat(summary.getTotal()).isZero();
+        assertThat(summary.getFirstDate()).isNull();
+        assertThat(summary.getLastDate()).isNull();
+    }
+}
@@ -0,0 +1,102 @@
+package org.idea.fithub.user.domain;
+
+import org.idea.fithub.user.infrastructure.BaseUserRepository;
+import org.idea.fithub.user.infrastructure.UserIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para UserAvailabilityIndex.
+ * - Mientras el índice está frío nada se considera libre.
+ * - Tras el calentamiento solo los valores nunca vistos se consideran libres.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserAvailabilityIndexTest {
+
+    @Mock
+    private BaseUserRepository<User> baseUserRepository;
+
+    @InjectMocks
+    private UserAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(availabilityIndex, "expectedUsers", 1000L);
+        ReflectionTestUtils.setField(availabilityIndex, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    void shouldNotReportFreeBeforeWarmUp() {
+        assertThat(availabilityIndex.isEmailFree("nuevo@example.com")).isFalse();
+        assertThat(availabilityIndex.isUsernameFree("nuevo")).isFalse();
+    }
+
+    @Test
+    void shouldReportOnlyUnseenValuesAsFreeAfterWarmUp() {
+        /// Arrange
+        when(baseUserRepository.findIdentitiesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(identity(1L, "ana@example.com", "ana")));
+
+        /// Act
+        availabilityIndex.warmUp();
+
+        /// Assert
+        assertThat(availabilityIndex.isEmailFree("ana@example.com")).isFalse();
+        assertThat(availabilityIndex.isUsernameFree("ana")).isFalse();
+        assertThat(availabilityIndex.isEmailFree("nuevo@example.com")).isTrue();
+        assertThat(availabilityIndex.isUsernameFree("nuevo")).isTrue();
+    }
+
+    @Test
+    void shouldStopReportingFreeOnceRecorded() {
+        /// Arrange
+        when(baseUserRepository.findIdentitiesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        availabilityIndex.warmUp();
+        User user = User.builder().id(2L).email("luis@example.com").username("luis").build();
+
+        /// Act
+        availabilityIndex.record(user);
+
+        /// Assert
+        assertThat(availabilityIndex.isEmailFree("luis@example.com")).isFalse();
+        assertThat(availabilityIndex.isUsernameFree("luis")).isFalse();
+    }
+
+    @Test
+    void shouldKeepUsersRecordedWhileRebuilding() {
+        /// Arrange: el alta llega mientras se recorre la tabla
+        User user = User.builder().id(3L).email("eva@example.com").username("eva").build();
+        when(baseUserRepository.findIdentitiesAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            availabilityIndex.record(user);
+            return List.of();
+        });
+
+        /// Act
+        availabilityIndex.warmUp();
+
+        /// Assert
+        assertThat(availabilityIndex.isEmailFree("eva@example.com")).isFalse();
+        assertThat(availabilityIndex.isUsernameFree("eva")).isFalse();
+    }
+
+    private static UserIdentity identity(Long id, String email, String username) {
+        return new UserIdentity() {
+            public Long getId() { return id; }
+            public String getEmail() { return email; }
+            public String getUsername() { return username; }
+        };
+    }
+}
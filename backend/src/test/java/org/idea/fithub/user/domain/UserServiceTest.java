@@ -1,5 +1,6 @@
 package org.idea.fithub.user.domain;
 
+import org.idea.fithub.security.auth.domain.TokenPrincipal;
 import org.idea.fithub.user.infrastructure.BaseUserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,11 +10,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -96,4 +102,123 @@ class UserServiceTest {
         // Verificamos que findByEmail fue llamado.
         verify(baseUserRepository).findByEmail(nonExistentEmail);
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba el método: isSecurityVersionCurrent
+     * Caso: la versión del token coincide; la segunda consulta se sirve de memoria.
+     */
+    @Test
+    void shouldAcceptMatchingSecurityVersionAndQueryDatabaseOnlyOnce() {
+        /// Arrange
+        ReflectionTestUtils.setField(userService, "securityVersionTtl", 60_000L);
+        var principal = new TokenPrincipal(1L, userEmail, 0, List.of());
+        when(baseUserRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(0));
+
+        /// Act
+        boolean first = userService.isSecurityVersionCurrent(principal);
+        boolean second = userService.isSecurityVersionCurrent(principal);
+
+        /// Assert
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(baseUserRepository, times(1)).findSecurityVersionById(1L);
+    }
+
+    /**
+     * Prueba el método: isSecurityVersionCurrent
+     * Caso: el token se emitió antes de un cambio de contraseña.
+     */
+    @Test
+    void shouldRejectOutdatedSecurityVersion() {
+        /// Arrange
+        ReflectionTestUtils.setField(userService, "securityVersionTtl", 60_000L);
+        var principal = new TokenPrincipal(1L, userEmail, 0, List.of());
+        when(baseUserRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(1));
+
+        /// Act & Assert
+        assertThat(userService.isSecurityVersionCurrent(principal)).isFalse();
+    }
+
+    /**
+     * Prueba el método: isSecurityVersionCurrent
+     * Caso: el usuario del token ya no existe.
+     */
+    @Test
+    void shouldRejectSecurityVersionWhenUserNoLongerExists() {
+        /// Arrange
+        var principal = new TokenPrincipal(1L, userEmail, 0, List.of());
+        when(baseUserRepository.findSecurityVersionById(1L)).thenReturn(Optional.empty());
+
+        /// Act & Assert
+        assertThat(userService.isSecurityVersionCurrent(principal)).isFalse();
+    }
+
+    /**
+     * Prueba el método: bumpSecurityVersion
+     * Caso: la versión en memoria se descarta y el token anterior deja de valer
+     * sin esperar al TTL.
+     */
+    @Test
+    void shouldForgetRememberedSecurityVersionWhenBumped() {
+        /// Arrange
+        ReflectionTestUtils.setField(userService, "securityVersionTtl", 60_000L);
+        var principal = new TokenPrincipal(1L, userEmail, 0, List.of());
+        when(baseUserRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        userService.isSecurityVersionCurrent(principal);
+
+        /// Act
+        userService.bumpSecurityVersion(testUser);
+
+        /// Assert
+        assertThat(testUser.getSecurityVersion()).isEqualTo(1);
+        assertThat(userService.isSecurityVersionCurrent(principal)).isFalse();
+        verify(baseUserRepository, times(2)).findSecurityVersionById(1L);
+    }
+
+    /**
+     * Prueba el método: bumpSecurityVersion
+     * Caso: dentro de una transacción la versión se descarta solo al confirmar.
+     */
+    @Test
+    void shouldForgetRememberedSecurityVersionOnlyAfterCommit() {
+        /// Arrange
+        ReflectionTestUtils.setField(userService, "securityVersionTtl", 60_000L);
+        var principal = new TokenPrincipal(1L, userEmail, 0, List.of());
+        when(baseUserRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        userService.isSecurityVersionCurrent(principal);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            /// Act
+            userService.bumpSecurityVersion(testUser);
+
+            /// Assert: sin commit se sigue usando la versión en memoria
+            assertThat(userService.isSecurityVersionCurrent(principal)).isTrue();
+
+            /// Act
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            /// Assert
+            assertThat(userService.isSecurityVersionCurrent(principal)).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Prueba el método: updatePassword
+     * Caso: re-hash en el login, se guarda el nuevo hash en la cuenta.
+     */
+    @Test
+    void shouldStoreRehashedPassword() {
+        /// Arrange
+        when(baseUserRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
+        when(baseUserRepository.save(testUser)).thenReturn(testUser);
+
+        /// Act
+        UserDetails updated = userService.updatePassword(testUser, "rehashedPassword");
+
+        /// Assert
+        assertThat(updated.getPassword()).isEqualTo("rehashedPassword");
+        verify(baseUserRepository).save(testUser);
+    }
+}